@@ -0,0 +1,175 @@
+package spot;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Scanner;
+import java.util.stream.Stream;
+import spot.command.CommandType;
+import spot.command.ParsedCommand;
+import spot.command.Parser;
+import spot.storage.Storage;
+import spot.task.Deadline;
+import spot.task.TaskList;
+import spot.task.Todo;
+import spot.ui.Ui;
+
+/**
+ * End-to-end replay benchmark: runs a command script through Spot exactly as typed commands are run
+ * (parsing, handlers, output formatting and saving to a real data file) and reports commands/sec and
+ * latency percentiles per command type. Unlike a microbenchmark, it catches regressions anywhere on
+ * the path of a command, including storage.
+ *
+ * <p>Options (all optional): {@code --commands n} (default 20000), {@code --tasks n} tasks already in the
+ * list (default 1000), {@code --seed n}, {@code --mix todo=30,find=10,...}, {@code --warmup n} commands
+ * replayed first and not measured (default 2000), and {@code --script file} to replay a recorded script
+ * instead of a generated one. Each replay uses a fresh data file in a temporary directory.
+ */
+final class ReplayBenchmark {
+    private static final double[] PERCENTILES = { 50, 90, 99 };
+    private static final LocalDate FIRST_DATE = LocalDate.of(2025, 1, 1);
+
+    private final Map<CommandType, long[]> latencies = new EnumMap<>(CommandType.class);
+    private final Map<CommandType, Integer> counts = new EnumMap<>(CommandType.class);
+    private int commandCount;
+    private long elapsedNanos;
+
+    /**
+     * Runs the benchmark and prints the report to standard output.
+     *
+     * @param args options, see the class comment
+     * @throws IOException if the script or the temporary data file cannot be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = parseOptions(args);
+        int commands = Integer.parseInt(options.getOrDefault("commands", "20000"));
+        int initialTasks = Integer.parseInt(options.getOrDefault("tasks", "1000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "1"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "2000"));
+        String mix = options.get("mix");
+
+        List<String> script = options.containsKey("script")
+                ? Files.readAllLines(Paths.get(options.get("script")))
+                : new WorkloadGenerator(seed, initialTasks, mix).script(commands);
+        if (warmup > 0) {
+            replay(new WorkloadGenerator(seed + 1, initialTasks, mix).script(warmup), initialTasks);
+        }
+        replay(script, initialTasks).print(System.out);
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 == args.length) {
+                throw new IllegalArgumentException("Expected --option value, got: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+
+    /**
+     * Replays the script against a fresh data file holding the given number of tasks.
+     *
+     * @param script       command lines
+     * @param initialTasks tasks to put in the data file first
+     * @return the measurements
+     * @throws IOException if the temporary data file cannot be created or removed
+     */
+    static ReplayBenchmark replay(List<String> script, int initialTasks) throws IOException {
+        Path directory = Files.createTempDirectory("spot-bench");
+        Path dataFile = directory.resolve("spot.txt");
+        writeInitialTasks(dataFile, initialTasks);
+
+        Spot spot = new Spot(dataFile.toString());
+        Spot session = spot.session(new Ui(new Scanner(""), new PrintStream(OutputStream.nullOutputStream())));
+        // Wait for loading outside the measurement: "on" needs the task list and prints almost nothing.
+        session.execute(Parser.parse("on 1900-01-01"));
+
+        ReplayBenchmark result = new ReplayBenchmark();
+        long replayStart = System.nanoTime();
+        for (String line : script) {
+            String trimmedLine = line.trim();
+            if (trimmedLine.isEmpty()) {
+                continue;
+            }
+            ParsedCommand parsedCommand = Parser.parse(trimmedLine);
+            long start = System.nanoTime();
+            boolean keepGoing = session.execute(parsedCommand);
+            result.record(parsedCommand.type(), System.nanoTime() - start);
+            if (!keepGoing) {
+                break;
+            }
+        }
+        result.elapsedNanos = System.nanoTime() - replayStart;
+
+        spot.stopServices();
+        deleteRecursively(directory);
+        return result;
+    }
+
+    private static void writeInitialTasks(Path dataFile, int count) {
+        TaskList tasks = new TaskList();
+        for (int i = 0; i < count; i++) {
+            if (i % 4 == 0) {
+                tasks.add(new Deadline("seeded deadline " + i, FIRST_DATE.plusDays(i % 365).atStartOfDay()));
+            } else {
+                tasks.add(new Todo("seeded task " + i));
+            }
+        }
+        new Storage(dataFile.toString()).save(tasks);
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private void record(CommandType type, long nanos) {
+        int count = counts.getOrDefault(type, 0);
+        long[] samples = latencies.computeIfAbsent(type, unused -> new long[64]);
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+            latencies.put(type, samples);
+        }
+        samples[count] = nanos;
+        counts.put(type, count + 1);
+        commandCount++;
+    }
+
+    /**
+     * Prints overall throughput, then count and latency percentiles (in microseconds) per command type.
+     *
+     * @param out destination
+     */
+    void print(PrintStream out) {
+        double seconds = elapsedNanos / 1e9;
+        out.printf("Replayed %d commands in %.2f s: %.1f commands/sec%n", commandCount, seconds,
+                commandCount / seconds);
+        out.printf("%-12s %8s %10s %10s %10s %10s%n", "command", "count", "p50 us", "p90 us", "p99 us", "max us");
+        for (CommandType type : counts.keySet()) {
+            int count = counts.get(type);
+            long[] sorted = Arrays.copyOf(latencies.get(type), count);
+            Arrays.sort(sorted);
+            out.printf("%-12s %8d", type.name().toLowerCase(), count);
+            for (double percentile : PERCENTILES) {
+                int index = (int) Math.ceil(percentile / 100 * count) - 1;
+                out.printf(" %10.1f", sorted[Math.max(0, index)] / 1e3);
+            }
+            out.printf(" %10.1f%n", sorted[count - 1] / 1e3);
+        }
+    }
+}
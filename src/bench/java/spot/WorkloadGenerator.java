@@ -0,0 +1,170 @@
+package spot;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import spot.command.CommandType;
+
+/**
+ * Generates realistic command scripts for benchmarking: a weighted mix of adds, marks, finds, "on" queries,
+ * deletes and listings. It tracks how many tasks the script has created so far, so most marks and deletes
+ * name an existing task; a small share name a missing one, as real users do. The same seed always
+ * produces the same script.
+ *
+ * <p>Run directly to print a script: {@code WorkloadGenerator <commands> [seed] [initialTasks] [mix]}.
+ */
+final class WorkloadGenerator {
+    /** Default mix, in percent. */
+    private static final String DEFAULT_MIX =
+            "todo=30,deadline=15,event=5,mark=15,unmark=5,delete=8,find=12,on=7,list=3";
+    private static final double MISSING_TASK_RATE = 0.02;
+    private static final String[] WORDS = {
+        "report", "book", "meeting", "groceries", "laundry", "tutorial", "lecture", "project", "email",
+        "dentist", "gym", "budget", "slides", "review", "invoice", "call", "plan", "essay", "quiz", "lab",
+    };
+    private static final String[] EVENT_TIMES = { "Mon 2pm", "Tue 10am", "Wed 4pm", "Thu 9am", "Fri 1pm" };
+    private static final LocalDate FIRST_DATE = LocalDate.of(2025, 1, 1);
+    private static final int DATE_RANGE_DAYS = 365;
+
+    private final Random random;
+    private final CommandType[] kinds;
+    private final int[] cumulativeWeights;
+    private int taskCount;
+
+    /**
+     * Creates a generator.
+     *
+     * @param seed         random seed
+     * @param initialTasks number of tasks already in the list when the script starts
+     * @param mix          comma-separated weights per command (e.g. "todo=30,find=10"); null for the default
+     */
+    WorkloadGenerator(long seed, int initialTasks, String mix) {
+        this.random = new Random(seed);
+        this.taskCount = initialTasks;
+        Map<CommandType, Integer> weights = parseMix(mix == null ? DEFAULT_MIX : mix);
+        this.kinds = weights.keySet().toArray(new CommandType[0]);
+        this.cumulativeWeights = new int[kinds.length];
+        int total = 0;
+        for (int i = 0; i < kinds.length; i++) {
+            total += weights.get(kinds[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("The mix has no positive weights: " + mix);
+        }
+    }
+
+    private static Map<CommandType, Integer> parseMix(String mix) {
+        Map<CommandType, Integer> weights = new EnumMap<>(CommandType.class);
+        for (String entry : mix.split(",")) {
+            String[] nameAndWeight = entry.trim().split("=");
+            if (nameAndWeight.length != 2) {
+                throw new IllegalArgumentException("Expected command=weight, got: " + entry);
+            }
+            weights.put(CommandType.valueOf(nameAndWeight[0].trim().toUpperCase()),
+                    Integer.parseInt(nameAndWeight[1].trim()));
+        }
+        return weights;
+    }
+
+    /**
+     * Returns the next command line.
+     *
+     * @return a command as a user would type it
+     */
+    String next() {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int kind = 0;
+        while (pick >= cumulativeWeights[kind]) {
+            kind++;
+        }
+        switch (kinds[kind]) {
+        case TODO:
+            taskCount++;
+            return "todo " + description();
+        case DEADLINE:
+            taskCount++;
+            return "deadline " + description() + " /by " + date();
+        case EVENT:
+            taskCount++;
+            return "event " + description() + " /from " + pickOf(EVENT_TIMES) + " /to " + pickOf(EVENT_TIMES);
+        case MARK:
+            return "mark " + taskNumber();
+        case UNMARK:
+            return "unmark " + taskNumber();
+        case DELETE:
+            int number = taskNumber();
+            if (number <= taskCount) {
+                taskCount--;
+            }
+            return "delete " + number;
+        case FIND:
+            return "find " + pickOf(WORDS);
+        case ON:
+            return "on " + date();
+        case LIST:
+            return "list";
+        default:
+            throw new IllegalStateException("Cannot generate " + kinds[kind] + " commands");
+        }
+    }
+
+    /**
+     * Returns the given number of command lines.
+     *
+     * @param count number of commands
+     * @return the script, one command per element
+     */
+    List<String> script(int count) {
+        List<String> lines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            lines.add(next());
+        }
+        return lines;
+    }
+
+    /** Returns a task number: usually an existing task, occasionally one past the end. */
+    private int taskNumber() {
+        if (taskCount == 0 || random.nextDouble() < MISSING_TASK_RATE) {
+            return taskCount + 1;
+        }
+        return 1 + random.nextInt(taskCount);
+    }
+
+    private String description() {
+        return pickOf(WORDS) + " " + pickOf(WORDS) + " " + random.nextInt(1000);
+    }
+
+    private String date() {
+        return FIRST_DATE.plusDays(random.nextInt(DATE_RANGE_DAYS)).toString();
+    }
+
+    private String pickOf(String[] choices) {
+        return choices[random.nextInt(choices.length)];
+    }
+
+    /**
+     * Prints a generated script.
+     *
+     * @param args number of commands, then optionally seed, initial task count and mix
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: WorkloadGenerator <commands> [seed] [initialTasks] [mix]");
+            System.exit(2);
+        }
+        int count = Integer.parseInt(args[0]);
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+        int initialTasks = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+        String mix = args.length > 3 ? args[3] : null;
+        WorkloadGenerator generator = new WorkloadGenerator(seed, initialTasks, mix);
+        StringBuilder script = new StringBuilder();
+        for (String line : generator.script(count)) {
+            script.append(line).append('\n');
+        }
+        System.out.print(script);
+    }
+}
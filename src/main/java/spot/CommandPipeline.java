@@ -0,0 +1,189 @@
+package spot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Scanner;
+import spot.command.CommandType;
+import spot.command.ParsedCommand;
+import spot.command.Parser;
+import spot.storage.Storage;
+import spot.task.TaskList;
+import spot.ui.Ui;
+import spot.util.SpscRingQueue;
+
+/**
+ * Runs a stream of commands (e.g. a piped script) as stages on separate threads:
+ * reading and parsing, execution against the task list, printing, and persistence.
+ * Output is formatted by the executor while it holds the task list, since formatting reads the tasks;
+ * the printing stage only writes the finished text, so a slow terminal or pipe does not stall execution.
+ * Parsed commands and formatted output flow through bounded lock-free queues in order, so the output
+ * is exactly that of running the commands one by one. Saves are coalesced: each change only requests
+ * a save, and the persistence stage writes the latest state whenever it gets to it, so a burst of
+ * changes costs one save instead of one per command.
+ */
+final class CommandPipeline {
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final ParsedCommand END_OF_INPUT = new ParsedCommand(CommandType.BYE, null);
+    private static final String END_OF_OUTPUT = new String();
+
+    private final Ui ui;
+    private final Spot spot;
+    private final SpscRingQueue<ParsedCommand> parsedCommands = new SpscRingQueue<>(QUEUE_CAPACITY);
+    private final SpscRingQueue<String> formattedOutput = new SpscRingQueue<>(QUEUE_CAPACITY);
+    /** Held while a command executes or the list is encoded, so a save never sees a half-applied command. */
+    private final Object taskLock = new Object();
+    private TaskList saveRequested;
+    private boolean finished;
+
+    private CommandPipeline(Spot spot, Ui ui) {
+        this.spot = spot;
+        this.ui = ui;
+    }
+
+    /**
+     * Reads commands from the UI until "bye" or end-of-input and runs them through the pipeline stages.
+     * Returns once all output is printed and the last change is saved.
+     *
+     * @param spot the instance owning the task list and storage
+     * @param ui   UI to read commands from and print output to
+     */
+    static void run(Spot spot, Ui ui) {
+        new CommandPipeline(spot, ui).run();
+    }
+
+    private void run() {
+        // After "bye" the reader may still be blocked on input, so it must not keep the JVM alive.
+        startStage(this::readAndParse, "spot-reader", true);
+        Thread printer = startStage(this::print, "spot-printer", false);
+        Thread persister = startStage(this::persist, "spot-persister", false);
+        try {
+            execute();
+        } finally {
+            formattedOutput.put(END_OF_OUTPUT);
+            synchronized (taskLock) {
+                finished = true;
+                taskLock.notifyAll();
+            }
+            join(printer);
+            join(persister);
+        }
+    }
+
+    private static Thread startStage(Runnable stage, String name, boolean isDaemon) {
+        Thread thread = new Thread(stage, name);
+        thread.setDaemon(isDaemon);
+        thread.start();
+        return thread;
+    }
+
+    private static void join(Thread stage) {
+        boolean interrupted = false;
+        while (stage.isAlive()) {
+            try {
+                stage.join();
+            } catch (InterruptedException interruptedException) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Stage 1: reads lines and parses them. Ends at end-of-input (a "bye" needs no special handling). */
+    private void readAndParse() {
+        String userInput;
+        while ((userInput = ui.readCommand()) != null) {
+            String trimmedInput = userInput.trim();
+            if (!trimmedInput.isEmpty()) {
+                parsedCommands.put(Parser.parse(trimmedInput));
+            }
+        }
+        parsedCommands.put(END_OF_INPUT);
+    }
+
+    /**
+     * Stage 2, on the calling thread: executes each command against the task list, with a session UI that
+     * formats into a buffer, and hands each command's output to the printer.
+     */
+    private void execute() {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        Ui bufferUi = new Ui(new Scanner(""), new PrintStream(buffer, false, StandardCharsets.UTF_8));
+        Spot session = spot.session(bufferUi, this::requestSave);
+        boolean keepGoing = true;
+        while (keepGoing) {
+            ParsedCommand parsedCommand = parsedCommands.take();
+            if (parsedCommand == END_OF_INPUT) {
+                break;
+            }
+            synchronized (taskLock) {
+                keepGoing = session.execute(parsedCommand);
+            }
+            bufferUi.flush();
+            if (buffer.size() > 0) {
+                formattedOutput.put(buffer.toString(StandardCharsets.UTF_8));
+                buffer.reset();
+            }
+        }
+    }
+
+    /** Stage 3: prints formatted output, batching whatever is queued into one write. */
+    private void print() {
+        StringBuilder batch = new StringBuilder();
+        while (true) {
+            String output = formattedOutput.take();
+            while (output != null && output != END_OF_OUTPUT) {
+                batch.append(output);
+                output = formattedOutput.poll();
+            }
+            if (batch.length() > 0) {
+                ui.showRendered(batch.toString());
+                batch.setLength(0);
+            }
+            if (output == END_OF_OUTPUT) {
+                ui.flush();
+                return;
+            }
+        }
+    }
+
+    /** Called by the executor (holding the task lock) after a change: records that the list needs saving. */
+    private void requestSave(TaskList tasks) {
+        saveRequested = tasks;
+        taskLock.notifyAll();
+    }
+
+    /**
+     * Stage 4: saves the list whenever a save was requested, until the executor has finished. The list is
+     * encoded under the task lock, but written to disk outside it, so the executor keeps running meanwhile.
+     */
+    private void persist() {
+        Storage storage = spot.storage();
+        while (true) {
+            TaskList tasks;
+            Storage.EncodedList encoded;
+            synchronized (taskLock) {
+                while (saveRequested == null && !finished) {
+                    try {
+                        taskLock.wait();
+                    } catch (InterruptedException interruptedException) {
+                        // Keep waiting: the final save must still happen.
+                    }
+                }
+                if (saveRequested == null) {
+                    return;
+                }
+                tasks = saveRequested;
+                saveRequested = null;
+                encoded = storage.encode(tasks);
+            }
+            if (!storage.write(encoded)) {
+                // Another process changed the file: merging updates the list, so it needs the lock.
+                synchronized (taskLock) {
+                    spot.save(tasks);
+                }
+            }
+        }
+    }
+}
@@ -1,13 +1,29 @@
 package spot;
 
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Clock;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
 import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import spot.command.CommandType;
+import spot.command.CompletionService;
 import spot.command.ParsedCommand;
 import spot.command.Parser;
+import spot.reminder.ReminderService;
+import spot.service.TaskService;
 import spot.storage.Storage;
+import spot.storage.TaskExporter;
+import spot.storage.TaskImporter;
 import spot.task.Task;
 import spot.task.TaskList;
 import spot.ui.Ui;
@@ -15,32 +31,124 @@ import spot.util.CheerQuotes;
 
 /**
  * Main application class for Spot, a command-line task manager.
- * Coordinates storage, task list, and UI to process user commands.
+ * Coordinates storage, task list, and UI to process user commands; the task operations themselves
+ * are run through a {@link TaskService}, and handlers only turn its results into output.
+ * Tasks are loaded on a background thread so the prompt appears at once; the first command
+ * that needs the task list waits for loading to finish.
  */
 public class Spot {
+    private static final int FUZZY_FIND_LIMIT = 10;
+    private static final int COMPLETION_LIMIT = 10;
+    private static final int DEFAULT_NEXT_COUNT = 5;
+    /** Set this system property (-Dspot.startupTiming) to print time-to-prompt and time-to-loaded to stderr. */
+    private static final String STARTUP_TIMING_PROPERTY = "spot.startupTiming";
+    /** Set this system property (-Dspot.socket=path) to choose the daemon's socket file. */
+    private static final String SOCKET_PROPERTY = "spot.socket";
+    private static final String DATA_FILE = "data/spot.txt";
+    private static final String DEFAULT_SOCKET_FILE = "data/spot.sock";
+    private static final String DAEMON_FLAG = "--daemon";
+    private static final String CLIENT_FLAG = "--client";
+    private static final String TASK_FLAG = "--task";
+    /**
+     * Set this system property (-Dspot.autoArchive=n) to archive done tasks at start-up once there are at
+     * least n of them; 0 turns automatic archiving off.
+     */
+    private static final String AUTO_ARCHIVE_PROPERTY = "spot.autoArchive";
+    private static final int DEFAULT_AUTO_ARCHIVE_THRESHOLD = 1000;
+    /**
+     * Set this system property (-Dspot.pipeline=true) to run commands in pipelined stages, e.g. for a long
+     * piped script. Off by default: Java 17 cannot tell whether stdin alone is a terminal.
+     */
+    private static final String PIPELINE_PROPERTY = "spot.pipeline";
+    /**
+     * Set this system property (-Dspot.memoryBudget=size, in bytes or with a k, m or g suffix) to keep task
+     * descriptions within that much heap, spilling the rest to a temporary file.
+     */
+    private static final String MEMORY_BUDGET_PROPERTY = "spot.memoryBudget";
+
     private final Storage storage;
-    private final TaskList tasks;
+    private final CompletableFuture<TaskList> loadedTasks;
     private final Ui ui;
+    private final ReminderService reminders;
+    private final CompletionService completions;
+    /** Saves the task list after a change; a pipelined session hands it to the persistence stage instead. */
+    private final Consumer<TaskList> persistence;
+    /** Task operations for this session, created once the task list has loaded; see {@link #service()}. */
+    private TaskService service;
 
     /**
-     * Creates a Spot instance with storage at the given path and initializes from disk.
+     * Creates a Spot instance with storage at the given path and starts loading tasks from disk
+     * in the background.
      *
      * @param filePath path to the task data file (e.g. "data/spot.txt")
      */
     public Spot(String filePath) {
-        ui = new Ui(new Scanner(System.in));
+        this(filePath, new Ui(new Scanner(System.in)), Spot::startLoaderThread);
+    }
+
+    /**
+     * Creates a Spot instance with the given UI that loads tasks on the given executor.
+     *
+     * @param filePath path to the task data file
+     * @param ui       UI for the main session
+     * @param loader   runs the loading job in the background
+     */
+    Spot(String filePath, Ui ui, Executor loader) {
+        this.ui = ui;
         storage = new Storage(filePath);
-        List<Task> loaded = storage.load();
-        tasks = new TaskList(loaded);
+        reminders = new ReminderService(ui::formatTask, ui::showReminder, Clock.systemDefaultZone());
+        completions = new CompletionService();
+        persistence = storage::save;
+        loadedTasks = CompletableFuture.supplyAsync(this::loadTasks, loader);
+    }
+
+    /**
+     * Creates a session that shares another instance's storage, tasks and services but talks through its own UI.
+     *
+     * @param shared      the instance owning the task list
+     * @param sessionUi   UI for this session
+     * @param persistence what to do with the task list after each change
+     */
+    private Spot(Spot shared, Ui sessionUi, Consumer<TaskList> persistence) {
+        ui = sessionUi;
+        storage = shared.storage;
+        reminders = shared.reminders;
+        completions = shared.completions;
+        loadedTasks = shared.loadedTasks;
+        this.persistence = persistence;
     }
 
     /**
      * Entry point. Runs Spot with default data file "data/spot.txt".
+     * With {@code --daemon}, keeps the task list in memory and serves commands over a Unix domain socket;
+     * with {@code --client [command]}, sends one command (or standard input) to a running daemon;
+     * with {@code --task <number> [mark|unmark|delete]}, shows or changes one task without loading the list.
+     * The socket path defaults to "data/spot.sock" and can be changed with -Dspot.socket.
      *
-     * @param args command-line arguments (unused)
+     * @param args command-line arguments
      */
     public static void main(String[] args) {
-        new Spot("data/spot.txt").run();
+        String mode = args.length > 0 ? args[0] : "";
+        switch (mode) {
+        case DAEMON_FLAG:
+            SpotDaemon.serve(new Spot(DATA_FILE), socketPath());
+            break;
+        case CLIENT_FLAG:
+            String command = String.join(" ", Arrays.copyOfRange(args, 1, args.length));
+            System.exit(SpotClient.send(socketPath(), command));
+            break;
+        case TASK_FLAG:
+            Ui taskUi = new Ui(new Scanner(""));
+            System.exit(SpotTaskCommand.run(DATA_FILE, Arrays.copyOfRange(args, 1, args.length), taskUi));
+            break;
+        default:
+            new Spot(DATA_FILE).run();
+            break;
+        }
+    }
+
+    private static Path socketPath() {
+        return Paths.get(System.getProperty(SOCKET_PROPERTY, DEFAULT_SOCKET_FILE));
     }
 
     /**
@@ -48,14 +156,235 @@ public class Spot {
      */
     public void run() {
         ui.showWelcome();
+        if (Boolean.getBoolean(STARTUP_TIMING_PROPERTY)) {
+            reportStartupTiming();
+        }
+        reminders.start();
         try {
-            runCommandLoop();
+            if (isPipelined()) {
+                CommandPipeline.run(this, ui);
+            } else {
+                runCommandLoop();
+            }
         } finally {
+            reminders.stop();
+            storage.stopWatching();
             ui.close();
         }
         ui.showFarewell();
     }
 
+    /**
+     * Returns a session that shares this instance's task list and services but reads commands from,
+     * and writes responses to, the given UI.
+     *
+     * @param sessionUi UI for the session
+     * @return the session
+     */
+    Spot session(Ui sessionUi) {
+        return new Spot(this, sessionUi, persistence);
+    }
+
+    /**
+     * Returns a session like {@link #session(Ui)} that, instead of saving after each change, passes the
+     * task list to the given consumer.
+     *
+     * @param sessionUi   UI for the session
+     * @param persistence receives the task list after each change
+     * @return the session
+     */
+    Spot session(Ui sessionUi, Consumer<TaskList> persistence) {
+        return new Spot(this, sessionUi, persistence);
+    }
+
+    /**
+     * Returns whether background loading has finished.
+     *
+     * @return true once the task list is loaded (or loading failed)
+     */
+    boolean isLoaded() {
+        return loadedTasks.isDone();
+    }
+
+    /**
+     * Returns the storage for this instance's data file.
+     *
+     * @return the storage
+     */
+    Storage storage() {
+        return storage;
+    }
+
+    /**
+     * Saves the task list to this instance's data file.
+     *
+     * @param tasks the task list
+     */
+    void save(TaskList tasks) {
+        storage.save(tasks);
+    }
+
+    /** Returns whether commands run in pipelined stages: only when -Dspot.pipeline=true is set. */
+    private static boolean isPipelined() {
+        return Boolean.getBoolean(PIPELINE_PROPERTY);
+    }
+
+    /** Processes commands from this instance's UI until "bye" or end-of-input, without welcome or farewell. */
+    void runSession() {
+        runCommandLoop();
+    }
+
+    /** Starts background services (reminders) for a long-running instance. */
+    void startServices() {
+        reminders.start();
+    }
+
+    /** Stops the background services started by {@link #startServices()}, and the data file watcher. */
+    void stopServices() {
+        reminders.stop();
+        storage.stopWatching();
+    }
+
+    /**
+     * Loads tasks from storage and attaches the services that watch them. Runs on a background thread.
+     * The data file is watched from before it is read, so no outside change is missed.
+     *
+     * @return the loaded task list
+     */
+    private TaskList loadTasks() {
+        storage.startWatching();
+        TaskList taskList = new TaskList();
+        long memoryBudget = parseByteSize(System.getProperty(MEMORY_BUDGET_PROPERTY));
+        if (memoryBudget > 0) {
+            try {
+                taskList.limitDescriptionMemory(memoryBudget);
+            } catch (IOException ioException) {
+                // Without a spill file every description stays on the heap, as with no budget.
+            }
+        }
+        taskList.addAll(storage.load());
+        storage.track(taskList);
+        reminders.watch(taskList);
+        completions.watch(taskList);
+        autoArchive(taskList);
+        return taskList;
+    }
+
+    /**
+     * Parses a size such as "65536", "512k", "64m" or "1g".
+     *
+     * @param size the size text; may be null
+     * @return the size in bytes, or 0 if absent or not a valid size
+     */
+    static long parseByteSize(String size) {
+        if (size == null || size.isBlank()) {
+            return 0;
+        }
+        String trimmed = size.trim().toLowerCase();
+        int shift = switch (trimmed.charAt(trimmed.length() - 1)) {
+        case 'k' -> 10;
+        case 'm' -> 20;
+        case 'g' -> 30;
+        default -> 0;
+        };
+        String digits = shift == 0 ? trimmed : trimmed.substring(0, trimmed.length() - 1);
+        try {
+            long value = Long.parseLong(digits);
+            return value < 0 || value > Long.MAX_VALUE >> shift ? 0 : value << shift;
+        } catch (NumberFormatException numberFormatException) {
+            return 0;
+        }
+    }
+
+    /**
+     * Archives done tasks if there are at least as many as the auto-archive threshold, so that later
+     * start-ups load only the working set. Runs while loading, before any command can use the list.
+     *
+     * @param tasks the freshly loaded task list
+     */
+    private void autoArchive(TaskList tasks) {
+        int threshold = Integer.getInteger(AUTO_ARCHIVE_PROPERTY, DEFAULT_AUTO_ARCHIVE_THRESHOLD);
+        if (threshold <= 0) {
+            return;
+        }
+        int doneCount = 0;
+        for (Task task : tasks.asUnmodifiableList()) {
+            doneCount += task.isDone() ? 1 : 0;
+        }
+        if (doneCount < threshold) {
+            return;
+        }
+        try {
+            archiveDoneTasks(tasks);
+        } catch (IOException ioException) {
+            // Keep the done tasks in the list; archiving is retried on the next start.
+        }
+    }
+
+    /**
+     * Moves every done task into a new archive segment and saves the remaining list.
+     *
+     * @param tasks the task list
+     * @return the number of tasks archived
+     * @throws IOException if the segment cannot be written (the list is then left unchanged)
+     */
+    private int archiveDoneTasks(TaskList tasks) throws IOException {
+        List<Task> done = new ArrayList<>();
+        for (Task task : tasks.asUnmodifiableList()) {
+            if (task.isDone()) {
+                done.add(task);
+            }
+        }
+        if (done.isEmpty()) {
+            return 0;
+        }
+        storage.archive(done);
+        tasks.removeMatching(Task::isDone);
+        storage.save(tasks);
+        return done.size();
+    }
+
+    /**
+     * Runs the loading job on a daemon thread, so that quitting before loading finishes does not wait for it.
+     *
+     * @param loadingJob the job to run
+     */
+    private static void startLoaderThread(Runnable loadingJob) {
+        Thread loader = new Thread(loadingJob, "spot-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Returns the task list, waiting for background loading to finish if it has not yet.
+     *
+     * @return the loaded task list
+     */
+    private TaskList tasks() {
+        return loadedTasks.join();
+    }
+
+    /**
+     * Returns the service that runs this session's task operations, waiting for loading if needed.
+     * Changes made through it are saved through this session's persistence before they return.
+     *
+     * @return the task service
+     */
+    private TaskService service() {
+        if (service == null) {
+            service = new TaskService(tasks(), persistence, Runnable::run);
+        }
+        return service;
+    }
+
+    /** Prints milliseconds from JVM start to the prompt, and (once loaded) to the task list being ready. */
+    private void reportStartupTiming() {
+        long jvmStartMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+        System.err.println("time-to-prompt: " + (System.currentTimeMillis() - jvmStartMillis) + " ms");
+        loadedTasks.thenAccept(taskList -> System.err.println("time-to-loaded: "
+                + (System.currentTimeMillis() - jvmStartMillis) + " ms (" + taskList.size() + " tasks)"));
+    }
+
     /**
      * Reads and dispatches user commands until "bye" or end-of-input.
      */
@@ -71,49 +400,111 @@ public class Spot {
                 continue;
             }
 
-            ParsedCommand parsedCommand = Parser.parse(trimmedInput);
-
-            switch (parsedCommand.type()) {
-            case BYE:
+            if (!execute(Parser.parse(trimmedInput))) {
                 return;
-            case LIST:
-                ui.showList(tasks);
-                break;
-            case FIND:
-                handleFind(parsedCommand);
-                break;
-            case MARK:
-            case UNMARK:  // fall through: both use handleMark
-                handleMark(parsedCommand);
-                break;
-            case DELETE:
-                handleDelete(parsedCommand);
-                break;
-            case TODO:
-            case DEADLINE:
-            case EVENT:
-            case ADD:  // fall through: all add-type commands use handleAddTask
-                handleAddTask(parsedCommand);
-                break;
-            case HELP:
-                ui.showHelp();
-                break;
-            case CHEER:
-                handleCheer();
-                break;
-            case ON:
-                handleOn(parsedCommand);
-                break;
-            case UNKNOWN:
-                ui.showFramedMessage(
-                        "Spot: I don't know what you mean :( Type \"help\" to view a list of functions.");
-                break;
-            default:
-                break;
             }
         }
     }
 
+    /**
+     * Merges outside changes to the data file, then runs one command.
+     *
+     * @param parsedCommand the parsed command
+     * @return false if the command was "bye"
+     */
+    boolean execute(ParsedCommand parsedCommand) {
+        mergeExternalChanges();
+        return dispatch(parsedCommand);
+    }
+
+    /**
+     * Runs one command through its handler.
+     *
+     * @param parsedCommand the parsed command
+     * @return false if the command was "bye"
+     */
+    private boolean dispatch(ParsedCommand parsedCommand) {
+        switch (parsedCommand.type()) {
+        case BYE:
+            return false;
+        case LIST:
+            handleList(parsedCommand);
+            break;
+        case FIND:
+            handleFind(parsedCommand);
+            break;
+        case FIND_ALL:
+            handleFindAll(parsedCommand);
+            break;
+        case FUZZY_FIND:
+            handleFuzzyFind(parsedCommand);
+            break;
+        case MARK:
+        case UNMARK:  // fall through: both use handleMark
+            handleMark(parsedCommand);
+            break;
+        case DELETE:
+            handleDelete(parsedCommand);
+            break;
+        case LABEL:
+            handleLabel(parsedCommand);
+            break;
+        case TODO:
+        case DEADLINE:
+        case EVENT:
+        case ADD:  // fall through: all add-type commands use handleAddTask
+            handleAddTask(parsedCommand);
+            break;
+        case HELP:
+            ui.showHelp();
+            break;
+        case CHEER:
+            handleCheer();
+            break;
+        case ON:
+            handleOn(parsedCommand);
+            break;
+        case COMPLETE:
+            handleComplete(parsedCommand);
+            break;
+        case IMPORT:
+            handleImport(parsedCommand);
+            break;
+        case EXPORT:
+            handleExport(parsedCommand);
+            break;
+        case ARCHIVE:
+            handleArchive();
+            break;
+        case BATCH:
+            handleBatch(parsedCommand);
+            break;
+        case SUMMARY:
+            ui.showSummary(service().summary(LocalDateTime.now()));
+            break;
+        case NEXT:
+            handleNext(parsedCommand);
+            break;
+        case UNKNOWN:
+            ui.showFramedMessage(
+                    "Spot: I don't know what you mean :( Type \"help\" to view a list of functions.");
+            break;
+        default:
+            break;
+        }
+        return true;
+    }
+
+    /**
+     * Merges edits that other programs made to the data file, so that the next save does not overwrite them.
+     * Skipped while tasks are still loading (loading reads the latest file anyway).
+     */
+    private void mergeExternalChanges() {
+        if (loadedTasks.isDone() && storage.reloadChanges(tasks())) {
+            ui.showFramedMessage("Spot: The data file was changed outside Spot, so I merged in the changes.");
+        }
+    }
+
     /**
      * Handles the "cheer" command: shows a random motivational quote from data/cheer.txt.
      */
@@ -128,6 +519,30 @@ public class Spot {
         ui.showCheer(quote);
     }
 
+    /**
+     * Handles "list", "list by deadline" and "list by status": shows all tasks in the requested order.
+     *
+     * @param parsedCommand parsed LIST command with optional ordering argument
+     */
+    private void handleList(ParsedCommand parsedCommand) {
+        TaskList tasks = tasks();
+        String order = parsedCommand.argument() == null ? "" : parsedCommand.argument();
+        switch (order) {
+        case "":
+            ui.showList(tasks);
+            break;
+        case "by deadline":
+            ui.showSortedList(tasks, tasks.sortedByDeadline(LocalDateTime.now()), "deadline");
+            break;
+        case "by status":
+            ui.showSortedList(tasks, tasks.sortedByStatus(), "status");
+            break;
+        default:
+            ui.showFramedMessage("Spot: I can only sort by deadline or status (e.g. list by deadline).");
+            break;
+        }
+    }
+
     /**
      * Handles the "find &lt;keyword&gt;" command: shows tasks whose description contains the keyword.
      *
@@ -135,7 +550,154 @@ public class Spot {
      */
     private void handleFind(ParsedCommand parsedCommand) {
         String keyword = parsedCommand.argument() == null ? "" : parsedCommand.argument();
-        ui.showMatchingTasks(tasks.findTasks(keyword));
+        ui.showMatchingTasks(service().find(keyword));
+    }
+
+    /**
+     * Handles the "find --all &lt;keyword&gt;" command: searches the list and the archived tasks.
+     *
+     * @param parsedCommand parsed FIND_ALL command with keyword argument
+     */
+    private void handleFindAll(ParsedCommand parsedCommand) {
+        String keyword = parsedCommand.argument() == null ? "" : parsedCommand.argument();
+        List<Task> archivedMatching;
+        try {
+            archivedMatching = storage.findArchived(keyword);
+        } catch (IOException ioException) {
+            ui.showFramedMessage("Spot: I couldn't read the archive. " + ioException.getMessage());
+            return;
+        }
+        ui.showMatchingTasksWithArchive(service().find(keyword), archivedMatching);
+    }
+
+    /**
+     * Handles the "archive" command: moves done tasks out of the list into a compressed archive segment.
+     */
+    private void handleArchive() {
+        int archived;
+        try {
+            archived = archiveDoneTasks(tasks());
+        } catch (IOException ioException) {
+            ui.showFramedMessage("Spot: I couldn't write the archive. " + ioException.getMessage());
+            return;
+        }
+        if (archived == 0) {
+            ui.showFramedMessage("Spot: There are no done tasks to archive.");
+            return;
+        }
+        ui.showFramedMessage("Spot: Archived " + archived + " done task" + (archived == 1 ? "" : "s")
+                + ". Use find --all to search them.");
+    }
+
+    /**
+     * Handles a batch ("todo a; todo b; mark 1"): checks every command against the list as the earlier
+     * commands would leave it, and only if all are valid runs them and saves once. Otherwise nothing changes.
+     *
+     * @param parsedCommand parsed BATCH command with the whole line as argument
+     */
+    private void handleBatch(ParsedCommand parsedCommand) {
+        List<ParsedCommand> commands = Parser.parseBatch(parsedCommand.argument());
+        TaskList tasks = tasks();
+        int taskCount = tasks.size();
+        for (int i = 0; i < commands.size(); i++) {
+            ParsedCommand command = commands.get(i);
+            String error = validateBatchCommand(command, taskCount);
+            if (error != null) {
+                ui.showFramedMessage("Spot: I didn't change anything, because command " + (i + 1) + " has a problem. "
+                        + error);
+                return;
+            }
+            if (command.type() == CommandType.DELETE) {
+                taskCount--;
+            } else if (command.type() != CommandType.MARK && command.type() != CommandType.UNMARK) {
+                taskCount++;
+            }
+        }
+
+        Spot batchSession = new Spot(this, ui, unsavedTasks -> { });
+        for (ParsedCommand command : commands) {
+            batchSession.dispatch(command);
+        }
+        persistence.accept(tasks);
+    }
+
+    /**
+     * Checks a command of a batch without running it. Only commands that add, mark, unmark or delete
+     * tasks may be batched.
+     *
+     * @param command   the command
+     * @param taskCount number of tasks the list will have when the command runs
+     * @return the problem, or null if the command will succeed
+     */
+    private static String validateBatchCommand(ParsedCommand command, int taskCount) {
+        switch (command.type()) {
+        case TODO:
+        case DEADLINE:
+        case EVENT:
+        case ADD:  // fall through: all add-type commands need a valid task
+            if (command.type() == CommandType.TODO && (command.argument() == null || command.argument().isEmpty())) {
+                return "You can't todo nothing..";
+            }
+            return Parser.createTask(command) == null ? Parser.getAddTaskErrorMessage(command.type()) : null;
+        case MARK:
+        case UNMARK:
+        case DELETE:  // fall through: all take an existing task number
+            int oneBasedIndex;
+            try {
+                oneBasedIndex = Integer.parseInt(command.argument() == null ? "" : command.argument());
+            } catch (NumberFormatException numberFormatException) {
+                return "You have to give me the task number!";
+            }
+            return oneBasedIndex < 1 || oneBasedIndex > taskCount ? "That task doesn't exist!" : null;
+        default:
+            return "Only todo, deadline, event, mark, unmark and delete can be combined with \";\".";
+        }
+    }
+
+    /**
+     * Handles the "find~ &lt;words&gt;" command: shows the closest typo-tolerant matches, best first.
+     *
+     * @param parsedCommand parsed FUZZY_FIND command with search words argument
+     */
+    private void handleFuzzyFind(ParsedCommand parsedCommand) {
+        String query = parsedCommand.argument() == null ? "" : parsedCommand.argument();
+        ui.showMatchingTasks(tasks().fuzzyFind(query, FUZZY_FIND_LIMIT));
+    }
+
+    /**
+     * Handles the "complete &lt;prefix&gt;" command: suggests command keywords and task descriptions.
+     *
+     * @param parsedCommand parsed COMPLETE command with prefix argument
+     */
+    private void handleComplete(ParsedCommand parsedCommand) {
+        String prefix = parsedCommand.argument() == null ? "" : parsedCommand.argument();
+        if (prefix.isEmpty()) {
+            ui.showFramedMessage("Spot: Give me the start of a command or task (e.g. complete dead).");
+            return;
+        }
+        ui.showCompletions(prefix, completions.complete(prefix, COMPLETION_LIMIT));
+    }
+
+    /**
+     * Handles the "next [n]" command: shows the n most urgent open tasks (5 if n is not given).
+     *
+     * @param parsedCommand parsed NEXT command with optional count argument
+     */
+    private void handleNext(ParsedCommand parsedCommand) {
+        String countArg = parsedCommand.argument() == null ? "" : parsedCommand.argument();
+        int count = DEFAULT_NEXT_COUNT;
+        if (!countArg.isEmpty()) {
+            try {
+                count = Integer.parseInt(countArg);
+            } catch (NumberFormatException numberFormatException) {
+                count = -1;
+            }
+        }
+        if (count <= 0) {
+            ui.showFramedMessage("Spot: Use next, or next <number> with a number above 0.");
+            return;
+        }
+        ui.showNext(service().next(count, LocalDateTime.now()));
     }
 
     /**
@@ -152,7 +714,61 @@ public class Spot {
             return;
         }
 
-        ui.showDeadlinesOn(tasks.getDeadlinesOn(queriedDate), queriedDate);
+        ui.showDeadlinesOn(service().deadlinesOn(queriedDate), queriedDate);
+    }
+
+    /**
+     * Handles "import &lt;file&gt;": streams tasks from a CSV or JSON file into the list and persists once.
+     *
+     * @param parsedCommand parsed IMPORT command with file path argument
+     */
+    private void handleImport(ParsedCommand parsedCommand) {
+        TaskList tasks = tasks();
+        String fileArg = parsedCommand.argument() == null ? "" : parsedCommand.argument();
+        if (fileArg.isEmpty()) {
+            ui.showFramedMessage("Spot: Tell me which file to import (e.g. import tasks.csv).");
+            return;
+        }
+
+        TaskImporter.Result result;
+        try {
+            result = TaskImporter.importInto(Paths.get(fileArg), tasks);
+        } catch (IOException ioException) {
+            ui.showFramedMessage("Spot: I couldn't import that file. " + ioException.getMessage());
+            return;
+        }
+
+        if (result.imported() > 0) {
+            persistence.accept(tasks);
+        }
+        String message = "Spot: Imported " + result.imported() + " task" + (result.imported() == 1 ? "" : "s")
+                + (result.skipped() > 0 ? ", skipped " + result.skipped() + " invalid" : "") + ".";
+        if (result.error() != null) {
+            message += " Stopped early: " + result.error();
+        }
+        ui.showFramedMessage(message);
+    }
+
+    /**
+     * Handles "export &lt;file&gt;": streams all tasks to a CSV or JSON file.
+     *
+     * @param parsedCommand parsed EXPORT command with file path argument
+     */
+    private void handleExport(ParsedCommand parsedCommand) {
+        String fileArg = parsedCommand.argument() == null ? "" : parsedCommand.argument();
+        if (fileArg.isEmpty()) {
+            ui.showFramedMessage("Spot: Tell me where to export (e.g. export tasks.json).");
+            return;
+        }
+
+        Path exportPath = Paths.get(fileArg);
+        try {
+            int written = TaskExporter.export(exportPath, tasks().asUnmodifiableList());
+            ui.showFramedMessage("Spot: Exported " + written + " task" + (written == 1 ? "" : "s")
+                    + " to " + exportPath + ".");
+        } catch (IOException ioException) {
+            ui.showFramedMessage("Spot: I couldn't export to that file. " + ioException.getMessage());
+        }
     }
 
     /**
@@ -171,21 +787,52 @@ public class Spot {
             return;
         }
 
-        int taskIndex = oneBasedIndex - 1;
-        if (taskIndex < 0 || taskIndex >= tasks.size()) {
+        Task task;
+        try {
+            task = markAsDone ? service().mark(oneBasedIndex - 1) : service().unmark(oneBasedIndex - 1);
+        } catch (IndexOutOfBoundsException indexOutOfBoundsException) {
             ui.showFramedMessage("Spot: That task doesn't exist!");
             return;
         }
 
-        Task task = tasks.get(taskIndex);
-        task.setDone(markAsDone);
-
         if (markAsDone) {
             ui.showTaskMarked(task);
         } else {
             ui.showTaskUnmarked(task);
         }
-        storage.save(tasks);
+    }
+
+    /**
+     * Handles label: replaces the tags and priority of the task at the given 1-based index and persists.
+     * Every word after the number must be a label ({@code #work}, {@code !high}); none clears the labels.
+     *
+     * @param parsedCommand parsed LABEL command with task number and labels
+     */
+    private void handleLabel(ParsedCommand parsedCommand) {
+        String[] parts = (parsedCommand.argument() == null ? "" : parsedCommand.argument()).split("\\s+", 2);
+        int oneBasedIndex;
+        try {
+            oneBasedIndex = Integer.parseInt(parts[0]);
+        } catch (NumberFormatException numberFormatException) {
+            ui.showFramedMessage("Spot: You have to give me the task number!");
+            return;
+        }
+        String labels = parts.length > 1 ? parts[1].trim() : "";
+        for (String word : labels.split("\\s+")) {
+            if (!word.isEmpty() && !Parser.isTypedLabel(word)) {
+                ui.showFramedMessage("Spot: \"" + word + "\" is not a label. Use #tag or !low, !medium, !high.");
+                return;
+            }
+        }
+
+        Task task;
+        try {
+            task = service().relabel(oneBasedIndex - 1, labels);
+        } catch (IndexOutOfBoundsException indexOutOfBoundsException) {
+            ui.showFramedMessage("Spot: That task doesn't exist!");
+            return;
+        }
+        ui.showTaskRelabelled(task);
     }
 
     /**
@@ -202,15 +849,14 @@ public class Spot {
             return;
         }
 
-        int taskIndex = oneBasedIndex - 1;
-        if (taskIndex < 0 || taskIndex >= tasks.size()) {
+        Task removed;
+        try {
+            removed = service().delete(oneBasedIndex - 1);
+        } catch (IndexOutOfBoundsException indexOutOfBoundsException) {
             ui.showFramedMessage("Spot: That task doesn't exist!");
             return;
         }
-
-        Task removed = tasks.remove(taskIndex);
-        ui.showTaskDeleted(removed, tasks.size());
-        storage.save(tasks);
+        ui.showTaskDeleted(removed, tasks().size());
     }
 
     /**
@@ -234,8 +880,7 @@ public class Spot {
             return;
         }
 
-        tasks.add(newTask);
-        ui.showTaskAdded(newTask, tasks.size());
-        storage.save(tasks);
+        int taskCount = service().add(newTask);
+        ui.showTaskAdded(newTask, taskCount);
     }
 }
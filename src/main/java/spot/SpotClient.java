@@ -0,0 +1,87 @@
+package spot;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Thin client for {@link SpotDaemon}: forwards commands over the socket and copies the responses to the output.
+ * It loads no tasks, so a one-shot command costs a socket round-trip rather than a full start-up.
+ */
+final class SpotClient {
+    private static final int BUFFER_SIZE = 8192;
+
+    private SpotClient() {
+    }
+
+    /**
+     * Sends one command, or all of standard input if the command is empty, to the daemon and prints the responses.
+     *
+     * @param socketPath path of the daemon's socket file
+     * @param command    the command line, or "" to forward standard input
+     * @return the process exit status: 0 on success, 1 if the daemon could not be reached
+     */
+    static int send(Path socketPath, String command) {
+        return send(socketPath, command, System.in, System.out);
+    }
+
+    /**
+     * Sends one command, or all of {@code input} if the command is empty, and copies the responses to {@code output}.
+     *
+     * @param socketPath path of the daemon's socket file
+     * @param command    the command line, or "" to forward {@code input}
+     * @param input      commands to forward when no command is given
+     * @param output     destination for the daemon's responses
+     * @return 0 on success, 1 if the daemon could not be reached
+     */
+    static int send(Path socketPath, String command, InputStream input, OutputStream output) {
+        try (SocketChannel channel = SocketChannel.open(UnixDomainSocketAddress.of(socketPath))) {
+            if (command.isEmpty()) {
+                // Forward on another thread: the daemon answers as it reads, so a long script must not
+                // wait for its responses to be drained before it is fully written.
+                Thread forwarder = new Thread(() -> forward(input, channel), "spot-client-forwarder");
+                forwarder.setDaemon(true);
+                forwarder.start();
+            } else {
+                writeFully(channel, ByteBuffer.wrap((command + "\n").getBytes(StandardCharsets.UTF_8)));
+                channel.shutdownOutput();
+            }
+            // The channel is read and written directly: its stream adapters would share one lock.
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            while (channel.read(buffer) >= 0) {
+                output.write(buffer.array(), 0, buffer.position());
+                buffer.clear();
+            }
+            output.flush();
+            return 0;
+        } catch (IOException ioException) {
+            System.err.println("Spot: I couldn't reach the daemon at " + socketPath
+                    + " (start one with --daemon). " + ioException.getMessage());
+            return 1;
+        }
+    }
+
+    private static void forward(InputStream input, SocketChannel channel) {
+        try {
+            byte[] chunk = new byte[BUFFER_SIZE];
+            int length;
+            while ((length = input.read(chunk)) >= 0) {
+                writeFully(channel, ByteBuffer.wrap(chunk, 0, length));
+            }
+            channel.shutdownOutput();
+        } catch (IOException ioException) {
+            System.err.println("Spot: I couldn't send the commands. " + ioException.getMessage());
+        }
+    }
+
+    private static void writeFully(SocketChannel channel, ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package spot;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Scanner;
+import spot.ui.Ui;
+
+/**
+ * Resident Spot process that keeps one task list loaded and serves commands over a Unix domain socket.
+ * Each connection is a session: the client sends command lines and closes its side, and the daemon
+ * writes the responses and closes the connection. Connections are served one at a time, so the task
+ * list is only ever touched by one session.
+ */
+final class SpotDaemon implements Closeable {
+    private final Spot spot;
+    private final Path socketPath;
+    private final ServerSocketChannel server;
+
+    private SpotDaemon(Spot spot, Path socketPath, ServerSocketChannel server) {
+        this.spot = spot;
+        this.socketPath = socketPath;
+        this.server = server;
+    }
+
+    /**
+     * Runs a daemon until the process is stopped: binds the socket, starts reminders and serves connections.
+     * The socket file is removed on shutdown.
+     *
+     * @param spot       the instance whose task list is served
+     * @param socketPath path of the socket file
+     */
+    static void serve(Spot spot, Path socketPath) {
+        SpotDaemon daemon;
+        try {
+            daemon = bind(spot, socketPath);
+        } catch (IOException ioException) {
+            System.err.println("Spot: I couldn't start the daemon. " + ioException.getMessage());
+            return;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(daemon::close, "spot-daemon-shutdown"));
+        spot.startServices();
+        System.out.println("Spot: Listening on " + socketPath);
+        daemon.acceptLoop();
+    }
+
+    /**
+     * Binds a daemon to the socket file, replacing a stale file left by a daemon that is no longer running.
+     *
+     * @param spot       the instance whose task list is served
+     * @param socketPath path of the socket file
+     * @return the bound daemon
+     * @throws IOException if another daemon is listening there or the socket cannot be bound
+     */
+    static SpotDaemon bind(Spot spot, Path socketPath) throws IOException {
+        if (Files.exists(socketPath)) {
+            if (isListening(socketPath)) {
+                throw new IOException("Another daemon is already listening on " + socketPath);
+            }
+            Files.delete(socketPath);
+        }
+        if (socketPath.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(socketPath.toAbsolutePath().getParent());
+        }
+        ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        try {
+            server.bind(UnixDomainSocketAddress.of(socketPath));
+        } catch (IOException ioException) {
+            server.close();
+            throw ioException;
+        }
+        return new SpotDaemon(spot, socketPath, server);
+    }
+
+    /** Accepts and serves connections until the daemon is closed. */
+    void acceptLoop() {
+        while (server.isOpen()) {
+            SocketChannel connection;
+            try {
+                connection = server.accept();
+            } catch (ClosedChannelException closedChannelException) {
+                return;
+            } catch (IOException ioException) {
+                System.err.println("Spot: I couldn't accept a connection. " + ioException.getMessage());
+                continue;
+            }
+            serveConnection(connection);
+        }
+    }
+
+    /**
+     * Runs one session over the connection, then closes it. A failing session is logged and does not
+     * stop the daemon.
+     */
+    private void serveConnection(SocketChannel connection) {
+        try (connection) {
+            Scanner in = new Scanner(Channels.newInputStream(connection), StandardCharsets.UTF_8);
+            PrintStream out = new PrintStream(new BufferedOutputStream(Channels.newOutputStream(connection)),
+                    false, StandardCharsets.UTF_8);
+            spot.session(new Ui(in, out)).runSession();
+            out.flush();
+        } catch (IOException | RuntimeException exception) {
+            System.err.println("Spot: A client session failed. " + exception);
+        }
+    }
+
+    /** Stops accepting connections, stops background services and removes the socket file. */
+    @Override
+    public void close() {
+        try {
+            server.close();
+            Files.deleteIfExists(socketPath);
+        } catch (IOException ioException) {
+            System.err.println("Spot: I couldn't remove " + socketPath + ". " + ioException.getMessage());
+        }
+        spot.stopServices();
+    }
+
+    private static boolean isListening(Path socketPath) {
+        try (SocketChannel probe = SocketChannel.open(UnixDomainSocketAddress.of(socketPath))) {
+            return probe.isConnected();
+        } catch (IOException ioException) {
+            return false;
+        }
+    }
+}
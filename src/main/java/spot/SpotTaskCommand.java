@@ -0,0 +1,85 @@
+package spot;
+
+import java.io.IOException;
+import spot.storage.IndexedStorage;
+import spot.task.Task;
+import spot.ui.Ui;
+
+/**
+ * Low-memory one-shot mode ({@code --task <number> [mark|unmark|delete]}): shows, marks, unmarks or deletes
+ * a single task through {@link IndexedStorage}'s offset table, without loading the task list. Only the
+ * offset table is held on the heap, and the one task is read with a single positional read.
+ */
+final class SpotTaskCommand {
+    private static final String SHOW = "show";
+    private static final String MARK = "mark";
+    private static final String UNMARK = "unmark";
+    private static final String DELETE = "delete";
+
+    private SpotTaskCommand() {
+    }
+
+    /**
+     * Runs one command against one task of the data file.
+     *
+     * @param filePath path to the task data file
+     * @param args     the task number (1-based, as in {@code list}), then optionally mark, unmark or delete
+     * @param ui       UI for the result
+     * @return the process exit status: 0 on success, 1 if the command or number is invalid or the file fails
+     */
+    static int run(String filePath, String[] args, Ui ui) {
+        String action = args.length > 1 ? args[1] : SHOW;
+        if (args.length == 0 || args.length > 2 || !isAction(action)) {
+            ui.showFramedMessage("Spot: Use --task <number> [mark|unmark|delete].");
+            return 1;
+        }
+        int index;
+        try {
+            index = Integer.parseInt(args[0].replace(",", "")) - 1;
+        } catch (NumberFormatException numberFormatException) {
+            ui.showFramedMessage("Spot: \"" + args[0] + "\" is not a task number.");
+            return 1;
+        }
+        try (IndexedStorage storage = IndexedStorage.open(filePath)) {
+            int count = storage.size();
+            if (index < 0 || index >= count) {
+                ui.showFramedMessage("Spot: There is no task " + (index + 1) + "; you have " + count + ".");
+                return 1;
+            }
+            Task task = storage.read(index);
+            if (task == null) {
+                ui.showFramedMessage("Spot: Task " + (index + 1) + " could not be read from the data file.");
+                return 1;
+            }
+            switch (action) {
+            case MARK:
+                storage.setDone(index, true);
+                task.setDone(true);
+                ui.showTaskMarked(task);
+                break;
+            case UNMARK:
+                storage.setDone(index, false);
+                task.setDone(false);
+                ui.showTaskUnmarked(task);
+                break;
+            case DELETE:
+                storage.delete(index);
+                ui.showTaskDeleted(task, count - 1);
+                break;
+            default:
+                ui.showTask(index + 1, task);
+                break;
+            }
+            return 0;
+        } catch (IOException ioException) {
+            ui.showFramedMessage("Spot: I couldn't update the data file. " + ioException.getMessage());
+            return 1;
+        } finally {
+            ui.flush();
+        }
+    }
+
+    private static boolean isAction(String action) {
+        return action.equals(SHOW) || action.equals(MARK) || action.equals(UNMARK) || action.equals(DELETE);
+    }
+}
@@ -1,20 +1,32 @@
 package spot.command;
 
 /**
- * Supported command types for Spot (list, find, mark, unmark, delete, todo, deadline, event, on, bye, help, cheer).
+ * Supported command types for Spot (list, find, find --all, find~, mark, unmark, delete, label, todo,
+ * deadline, event, on, import, export, complete, archive, summary, next, bye, help, cheer), and batches of commands
+ * joined with ';'.
  */
 public enum CommandType {
     LIST,
     CHEER,
     FIND,
+    FIND_ALL,
+    FUZZY_FIND,
     MARK,
     UNMARK,
     DELETE,
+    LABEL,
     TODO,
     DEADLINE,
     EVENT,
     ADD,
     ON,
+    IMPORT,
+    EXPORT,
+    COMPLETE,
+    ARCHIVE,
+    SUMMARY,
+    NEXT,
+    BATCH,
     BYE,
     HELP,
     UNKNOWN
@@ -0,0 +1,79 @@
+package spot.command;
+
+import java.util.ArrayList;
+import java.util.List;
+import spot.task.Task;
+import spot.task.TaskList;
+import spot.task.TaskListListener;
+
+/**
+ * Suggests completions for partially typed input: command keywords understood by {@link Parser}
+ * and descriptions of tasks in the watched {@link TaskList}. Descriptions are kept in a
+ * {@link PrefixTrie} updated on every add and delete, so a lookup costs the length of the prefix
+ * plus the number of suggestions, independent of how many tasks there are. Safe to call from
+ * front-end threads.
+ * Under a memory budget (see {@link TaskList#limitDescriptionMemory}) only descriptions the list holds
+ * on the heap are indexed: a description leaves the trie when it is spilled, so the index stays within
+ * the budget too, and spilled descriptions are not suggested.
+ */
+public class CompletionService implements TaskListListener {
+    private final PrefixTrie commands = new PrefixTrie();
+    private final PrefixTrie descriptions = new PrefixTrie();
+
+    /** Creates a completion service that knows every command keyword and no descriptions yet. */
+    public CompletionService() {
+        for (String keyword : Parser.commandKeywords()) {
+            commands.add(keyword);
+        }
+    }
+
+    /**
+     * Indexes the descriptions of every task in the list that are not spilled, and subscribes to its changes.
+     *
+     * @param tasks the task list to watch
+     */
+    public synchronized void watch(TaskList tasks) {
+        for (Task task : tasks.asUnmodifiableList()) {
+            if (!task.isDescriptionSpilled()) {
+                descriptions.add(task.getDescription());
+            }
+        }
+        tasks.addListener(this);
+    }
+
+    /**
+     * Returns up to {@code limit} completions for the prefix (case-insensitive): matching command
+     * keywords first, then matching task descriptions, each group in alphabetical order.
+     *
+     * @param prefix the text typed so far (non-null)
+     * @param limit  maximum number of suggestions
+     * @return suggestions in display order (may be empty)
+     */
+    public synchronized List<String> complete(String prefix, int limit) {
+        List<String> suggestions = new ArrayList<>(commands.complete(prefix, limit));
+        if (suggestions.size() < limit) {
+            suggestions.addAll(descriptions.complete(prefix, limit - suggestions.size()));
+        }
+        return suggestions;
+    }
+
+    @Override
+    public synchronized void taskAdded(Task task) {
+        descriptions.add(task.getDescription());
+    }
+
+    @Override
+    public synchronized void taskRemoved(Task task) {
+        descriptions.remove(task.getDescription());
+    }
+
+    @Override
+    public synchronized void descriptionSpilled(Task task, String description) {
+        descriptions.remove(description);
+    }
+
+    @Override
+    public synchronized void descriptionRestored(Task task) {
+        descriptions.add(task.getDescription());
+    }
+}
@@ -4,10 +4,14 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
 import spot.task.Deadline;
 import spot.task.Event;
+import spot.task.Recurrence;
 import spot.task.Task;
 import spot.task.Todo;
+import spot.util.StringPool;
 
 /**
  * Parses user input into commands and creates Task instances from command arguments.
@@ -21,18 +25,43 @@ public class Parser {
     private static final String CMD_DEADLINE = "deadline";
     private static final String CMD_EVENT = "event";
     private static final String CMD_DELETE = "delete";
+    private static final String CMD_LABEL = "label";
     private static final String CMD_HELP = "help";
     private static final String CMD_CHEER = "cheer";
     private static final String CMD_ON = "on";
     private static final String CMD_FIND = "find";
+    private static final String CMD_FUZZY_FIND = "find~";
+    private static final String CMD_IMPORT = "import";
+    private static final String CMD_EXPORT = "export";
+    private static final String CMD_COMPLETE = "complete";
+    private static final String CMD_ARCHIVE = "archive";
+    private static final String CMD_SUMMARY = "summary";
+    private static final String CMD_NEXT = "next";
+    /** Option of "find" that also searches archived tasks. */
+    private static final String FIND_ALL_OPTION = "--all";
+    /** Separates the commands of a batch (e.g. "todo a; todo b; mark 1"). */
+    private static final String BATCH_SEPARATOR = ";";
+
+    private static final List<String> COMMAND_KEYWORDS = List.of(
+            CMD_LIST, CMD_BYE, CMD_MARK, CMD_UNMARK, CMD_TODO, CMD_DEADLINE, CMD_EVENT, CMD_DELETE,
+            CMD_HELP, CMD_CHEER, CMD_ON, CMD_FIND, CMD_FUZZY_FIND, CMD_IMPORT, CMD_EXPORT, CMD_COMPLETE,
+            CMD_ARCHIVE, CMD_SUMMARY, CMD_NEXT, CMD_LABEL);
+    /** Commands that can be combined in a batch; a ';' followed by any other word is part of a description. */
+    private static final List<String> BATCH_KEYWORDS = List.of(
+            CMD_TODO, CMD_DEADLINE, CMD_EVENT, CMD_MARK, CMD_UNMARK, CMD_DELETE);
 
     /**
      * Parses a trimmed user input line into a {@link ParsedCommand}.
      *
      * @param trimmedInput non-null trimmed input (e.g. "list", "mark 1", "deadline x /by 2025-01-01")
-     * @return the parsed command (type UNKNOWN if unrecognized)
+     * @return the parsed command (type UNKNOWN if unrecognized; BATCH, with the whole line as argument,
+     *         if it is a batch, see {@link #isBatch})
      */
     public static ParsedCommand parse(String trimmedInput) {
+        if (isBatch(trimmedInput)) {
+            return new ParsedCommand(CommandType.BATCH, trimmedInput);
+        }
+
         if (trimmedInput.equalsIgnoreCase(CMD_BYE)) {
             return new ParsedCommand(CommandType.BYE, null);
         }
@@ -49,15 +78,43 @@ public class Parser {
             return new ParsedCommand(CommandType.CHEER, null);
         }
 
+        if (trimmedInput.equalsIgnoreCase(CMD_ARCHIVE)) {
+            return new ParsedCommand(CommandType.ARCHIVE, null);
+        }
+
+        if (trimmedInput.equalsIgnoreCase(CMD_SUMMARY)) {
+            return new ParsedCommand(CommandType.SUMMARY, null);
+        }
+
         String[] parts = trimmedInput.split("\\s+", 2);
         String rawCommand = parts[0];
         String lowerCommand = rawCommand.toLowerCase();
 
+        if (lowerCommand.equals(CMD_LIST)) {
+            String argument = parts.length > 1 ? parts[1].trim().toLowerCase() : "";
+            return new ParsedCommand(CommandType.LIST, argument);
+        }
+
         if (lowerCommand.equals(CMD_FIND)) {
             String argument = parts.length > 1 ? parts[1].trim() : "";
+            String[] optionAndKeyword = argument.split("\\s+", 2);
+            if (optionAndKeyword[0].equalsIgnoreCase(FIND_ALL_OPTION)) {
+                String keyword = optionAndKeyword.length > 1 ? optionAndKeyword[1].trim() : "";
+                return new ParsedCommand(CommandType.FIND_ALL, keyword);
+            }
             return new ParsedCommand(CommandType.FIND, argument);
         }
 
+        if (lowerCommand.equals(CMD_FUZZY_FIND)) {
+            String argument = parts.length > 1 ? parts[1].trim() : "";
+            return new ParsedCommand(CommandType.FUZZY_FIND, argument);
+        }
+
+        if (lowerCommand.equals(CMD_NEXT)) {
+            String argument = parts.length > 1 ? parts[1].trim() : "";
+            return new ParsedCommand(CommandType.NEXT, argument);
+        }
+
         if (lowerCommand.equals(CMD_ON)) {
             String argument = parts.length > 1 ? parts[1].trim() : "";
             return new ParsedCommand(CommandType.ON, argument);
@@ -69,6 +126,11 @@ public class Parser {
             return new ParsedCommand(type, argument);
         }
 
+        if (lowerCommand.equals(CMD_LABEL)) {
+            String argument = parts.length > 1 ? parts[1].trim() : "";
+            return new ParsedCommand(CommandType.LABEL, argument);
+        }
+
         if (lowerCommand.equals(CMD_DELETE)) {
             String argument = parts.length > 1 ? parts[1].trim() : "";
             return new ParsedCommand(CommandType.DELETE, argument);
@@ -89,9 +151,77 @@ public class Parser {
             return new ParsedCommand(CommandType.EVENT, argument);
         }
 
+        if (lowerCommand.equals(CMD_COMPLETE)) {
+            String argument = parts.length > 1 ? parts[1].trim() : "";
+            return new ParsedCommand(CommandType.COMPLETE, argument);
+        }
+
+        if (lowerCommand.equals(CMD_IMPORT)) {
+            String argument = parts.length > 1 ? parts[1].trim() : "";
+            return new ParsedCommand(CommandType.IMPORT, argument);
+        }
+
+        if (lowerCommand.equals(CMD_EXPORT)) {
+            String argument = parts.length > 1 ? parts[1].trim() : "";
+            return new ParsedCommand(CommandType.EXPORT, argument);
+        }
+
         return new ParsedCommand(CommandType.UNKNOWN, null);
     }
 
+    /**
+     * Returns whether a line is a batch: it has at least two non-blank ';'-separated parts and each starts
+     * with a command that can be batched (todo, deadline, event, mark, unmark or delete). A ';' inside a
+     * description (e.g. "todo buy milk; bread" or "todo buy snacks; on sale") does not make a batch.
+     *
+     * @param trimmedInput trimmed input line
+     * @return true if the line should be parsed with {@link #parseBatch}
+     */
+    static boolean isBatch(String trimmedInput) {
+        if (!trimmedInput.contains(BATCH_SEPARATOR)) {
+            return false;
+        }
+        int commandCount = 0;
+        for (String part : trimmedInput.split(BATCH_SEPARATOR)) {
+            String trimmedPart = part.trim();
+            if (trimmedPart.isEmpty()) {
+                continue;
+            }
+            String keyword = trimmedPart.split("\\s+", 2)[0].toLowerCase();
+            if (!BATCH_KEYWORDS.contains(keyword)) {
+                return false;
+            }
+            commandCount++;
+        }
+        return commandCount > 1;
+    }
+
+    /**
+     * Splits a batch line on ';' and parses each non-blank part as a command.
+     *
+     * @param batch the argument of a BATCH command (e.g. "todo a; todo b; mark 1")
+     * @return the commands, in order
+     */
+    public static List<ParsedCommand> parseBatch(String batch) {
+        List<ParsedCommand> commands = new ArrayList<>();
+        for (String part : batch.split(BATCH_SEPARATOR)) {
+            String trimmedPart = part.trim();
+            if (!trimmedPart.isEmpty()) {
+                commands.add(parse(trimmedPart));
+            }
+        }
+        return commands;
+    }
+
+    /**
+     * Returns the keywords of every command this parser understands (e.g. for completion).
+     *
+     * @return unmodifiable list of lowercase command keywords
+     */
+    public static List<String> commandKeywords() {
+        return COMMAND_KEYWORDS;
+    }
+
     /**
      * Returns a user-facing error message when add/todo/deadline/event parsing fails.
      *
@@ -100,8 +230,8 @@ public class Parser {
      */
     public static String getAddTaskErrorMessage(CommandType type) {
         return switch (type) {
-        case DEADLINE -> "Deadline must have a description and /by <date>. "
-                + "Example: deadline submit report /by 2025-02-01";
+        case DEADLINE -> "Deadline must have a description and /by <date>, and optionally "
+                + "/every day|weekday|week|month. Example: deadline submit report /by 2025-02-01";
         case EVENT -> "Event must have a description, /from <start>, and /to <end>. "
                 + "Example: event team meeting /from Mon 2pm /to 3pm";
         default -> "I need more details. Use: deadline <description> /by <date>, "
@@ -110,27 +240,76 @@ public class Parser {
     }
 
     /**
-     * Creates a Task from a parsed add/todo/deadline/event command.
+     * Creates a Task from a parsed add/todo/deadline/event command. Tag ({@code #work}) and priority
+     * ({@code !high}) words in the description are taken out of it and set as the task's labels.
      *
      * @param parsedCommand the parsed command (TODO, DEADLINE, EVENT, or ADD)
      * @return the created task, or null if the argument format is invalid
      */
     public static Task createTask(ParsedCommand parsedCommand) {
         String argument = parsedCommand.argument() == null ? "" : parsedCommand.argument();
-        return switch (parsedCommand.type()) {
-        case TODO, ADD -> argument.isEmpty() ? null : new Todo(argument);
+        int descriptionEnd = switch (parsedCommand.type()) {
+        case DEADLINE -> argument.indexOf(" /by ");
+        case EVENT -> argument.indexOf(" /from ");
+        default -> argument.length();
+        };
+        if (descriptionEnd < 0) {
+            return null;
+        }
+        StringBuilder labels = new StringBuilder();
+        String description = withoutLabels(argument.substring(0, descriptionEnd), labels);
+        Task task = createUnlabelledTask(parsedCommand.type(), description + argument.substring(descriptionEnd));
+        if (task != null && labels.length() > 0) {
+            task.setLabels(labels.toString());
+        }
+        return task;
+    }
+
+    /**
+     * Returns whether a typed word is a label: a priority ({@code !high}) or a tag, which must start with a
+     * letter after the '#', so that e.g. "#1234" (an issue number) stays part of the description.
+     *
+     * @param word one word of input
+     * @return true if it is a label
+     */
+    public static boolean isTypedLabel(String word) {
+        return Task.isPriorityWord(word) || (Task.isTagWord(word) && Character.isLetter(word.charAt(1)));
+    }
+
+    /** Returns the description without its label words, appending those to {@code labels}. */
+    private static String withoutLabels(String description, StringBuilder labels) {
+        if (description.indexOf('#') < 0 && description.indexOf('!') < 0) {
+            return description;
+        }
+        StringBuilder remaining = new StringBuilder();
+        for (String word : description.trim().split("\\s+")) {
+            StringBuilder target = isTypedLabel(word) ? labels : remaining;
+            target.append(target.length() == 0 ? "" : " ").append(word);
+        }
+        return remaining.toString();
+    }
+
+    private static Task createUnlabelledTask(CommandType type, String argument) {
+        StringPool pool = StringPool.shared();
+        return switch (type) {
+        case TODO, ADD -> argument.isEmpty() ? null : new Todo(pool.intern(argument));
         case DEADLINE -> {
             int byIndex = argument.indexOf(" /by ");
             if (byIndex < 0) {
                 yield null;
             }
+            int everyIndex = argument.indexOf(" /every ", byIndex);
             String description = argument.substring(0, byIndex).trim();
-            String byStr = argument.substring(byIndex + 5).trim();
+            String byStr = argument.substring(byIndex + 5, everyIndex < 0 ? argument.length() : everyIndex).trim();
             if (description.isEmpty() || byStr.isEmpty()) {
                 yield null;
             }
+            Recurrence recurrence = everyIndex < 0 ? null : Recurrence.of(argument.substring(everyIndex + 8));
+            if (everyIndex >= 0 && recurrence == null) {
+                yield null;
+            }
             LocalDateTime by = parseDateTime(byStr);
-            yield by == null ? null : new Deadline(description, by);
+            yield by == null ? null : new Deadline(pool.intern(description), by, recurrence);
         }
         case EVENT -> {
             int fromIndex = argument.indexOf(" /from ");
@@ -142,7 +321,7 @@ public class Parser {
             String from = argument.substring(fromIndex + 7, toIndex).trim();
             String to = argument.substring(toIndex + 5).trim();
             yield description.isEmpty() || from.isEmpty() || to.isEmpty()
-                    ? null : new Event(description, from, to);
+                    ? null : new Event(pool.intern(description), pool.intern(from), pool.intern(to));
         }
         default -> null;
         };
@@ -0,0 +1,206 @@
+package spot.command;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Compressed (radix) trie of strings for case-insensitive prefix completion.
+ * Each edge holds a run of characters, so the trie has at most about two nodes per distinct string.
+ * Children are kept sorted, so completions come out in alphabetical order; a lookup walks the prefix
+ * and then visits only as many nodes as it takes to collect the requested number of completions.
+ * Duplicate strings are counted, and a string disappears once every copy has been removed.
+ */
+class PrefixTrie {
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node root = new Node("");
+
+    private static final class Node {
+        private String label;
+        private Node[] children = NO_CHILDREN;
+        /** Number of copies of the string ending at this node; 0 if none ends here. */
+        private int count;
+        /** Original spelling of the string ending here, as first inserted. */
+        private String value;
+
+        Node(String label) {
+            this.label = label;
+        }
+    }
+
+    /**
+     * Adds one copy of a string.
+     *
+     * @param value the string to add
+     */
+    void add(String value) {
+        String key = value.toLowerCase(Locale.ROOT);
+        Node node = root;
+        int offset = 0;
+        while (offset < key.length()) {
+            int childIndex = findChild(node, key.charAt(offset));
+            if (childIndex < 0) {
+                Node leaf = new Node(key.substring(offset));
+                leaf.count = 1;
+                leaf.value = value;
+                insertChild(node, -childIndex - 1, leaf);
+                return;
+            }
+            Node child = node.children[childIndex];
+            int common = commonPrefixLength(child.label, key, offset);
+            if (common < child.label.length()) {
+                Node middle = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.children = new Node[] { child };
+                node.children[childIndex] = middle;
+                child = middle;
+            }
+            node = child;
+            offset += common;
+        }
+        if (node.count++ == 0) {
+            node.value = value;
+        }
+    }
+
+    /**
+     * Removes one copy of a string. Does nothing if the string is not present.
+     *
+     * @param value the string to remove
+     */
+    void remove(String value) {
+        String key = value.toLowerCase(Locale.ROOT);
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        int offset = 0;
+        path.add(node);
+        while (offset < key.length()) {
+            int childIndex = findChild(node, key.charAt(offset));
+            if (childIndex < 0) {
+                return;
+            }
+            Node child = node.children[childIndex];
+            if (!key.startsWith(child.label, offset)) {
+                return;
+            }
+            node = child;
+            offset += child.label.length();
+            path.add(node);
+        }
+        if (node.count == 0 || --node.count > 0) {
+            return;
+        }
+        node.value = null;
+        prune(path);
+    }
+
+    /**
+     * Returns up to {@code limit} stored strings starting with the prefix (case-insensitive),
+     * in alphabetical order and in their original spelling.
+     *
+     * @param prefix the prefix to complete
+     * @param limit  maximum number of completions
+     * @return the completions (may be empty)
+     */
+    List<String> complete(String prefix, int limit) {
+        String key = prefix.toLowerCase(Locale.ROOT);
+        Node node = root;
+        int offset = 0;
+        while (offset < key.length()) {
+            int childIndex = findChild(node, key.charAt(offset));
+            if (childIndex < 0) {
+                return List.of();
+            }
+            Node child = node.children[childIndex];
+            int common = commonPrefixLength(child.label, key, offset);
+            if (offset + common < key.length() && common < child.label.length()) {
+                return List.of();
+            }
+            node = child;
+            offset += common;
+        }
+        List<String> completions = new ArrayList<>(Math.min(limit, 16));
+        collect(node, completions, limit);
+        return completions;
+    }
+
+    private static void collect(Node node, List<String> completions, int limit) {
+        if (completions.size() >= limit) {
+            return;
+        }
+        if (node.count > 0) {
+            completions.add(node.value);
+        }
+        for (Node child : node.children) {
+            if (completions.size() >= limit) {
+                return;
+            }
+            collect(child, completions, limit);
+        }
+    }
+
+    /** Removes nodes left without strings or children, and merges single-child chains, bottom-up. */
+    private static void prune(List<Node> path) {
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node node = path.get(i);
+            Node parent = path.get(i - 1);
+            if (node.count > 0) {
+                return;
+            }
+            if (node.children.length == 0) {
+                removeChild(parent, node);
+                continue;
+            }
+            if (node.children.length == 1) {
+                Node onlyChild = node.children[0];
+                onlyChild.label = node.label + onlyChild.label;
+                parent.children[findChild(parent, node.label.charAt(0))] = onlyChild;
+            }
+            return;
+        }
+    }
+
+    /** Binary search by first character; returns the index, or (-(insertion point) - 1) if absent. */
+    private static int findChild(Node node, char firstChar) {
+        int low = 0;
+        int high = node.children.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char midChar = node.children[mid].label.charAt(0);
+            if (midChar < firstChar) {
+                low = mid + 1;
+            } else if (midChar > firstChar) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static void insertChild(Node node, int index, Node child) {
+        Node[] children = new Node[node.children.length + 1];
+        System.arraycopy(node.children, 0, children, 0, index);
+        children[index] = child;
+        System.arraycopy(node.children, index, children, index + 1, node.children.length - index);
+        node.children = children;
+    }
+
+    private static void removeChild(Node parent, Node child) {
+        int index = findChild(parent, child.label.charAt(0));
+        Node[] children = Arrays.copyOf(parent.children, parent.children.length - 1);
+        System.arraycopy(parent.children, index + 1, children, index, parent.children.length - index - 1);
+        parent.children = children.length == 0 ? NO_CHILDREN : children;
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int length = 0;
+        while (length < max && label.charAt(length) == key.charAt(offset + length)) {
+            length++;
+        }
+        return length;
+    }
+}
@@ -0,0 +1,207 @@
+package spot.reminder;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import spot.task.Deadline;
+import spot.task.Task;
+import spot.task.TaskList;
+import spot.task.TaskListListener;
+
+/**
+ * Background service that notifies when open deadlines come due.
+ * All deadlines share one {@link TimingWheel} with one-minute ticks, and a single daemon thread
+ * advances it once per minute; adding, deleting or marking a deadline reschedules it in O(1).
+ * A recurring deadline is scheduled for its next occurrence only, and for the one after when it fires.
+ * The text of each reminder is captured when it is scheduled, on the thread changing the list, so the
+ * reminder thread never reads a live task (whose description may be moving to or from disk meanwhile).
+ */
+public class ReminderService implements TaskListListener {
+    private static final long TICK_MILLIS = 60_000L;
+
+    private final Function<Deadline, String> describer;
+    private final Consumer<String> notifier;
+    private final Clock clock;
+    private final TimingWheel<Reminder> wheel;
+    private final Map<Deadline, TimingWheel.Entry<Reminder>> scheduled = new HashMap<>();
+    private Thread worker;
+
+    /**
+     * A scheduled reminder: the deadline, used only as a key and for its immutable due date and
+     * recurrence, and the text captured when it was first scheduled.
+     */
+    private static final class Reminder {
+        private final Deadline deadline;
+        private final String text;
+
+        Reminder(Deadline deadline, String text) {
+            this.deadline = deadline;
+            this.text = text;
+        }
+    }
+
+    /**
+     * Creates a reminder service whose wheel starts at the clock's current minute.
+     *
+     * @param describer turns a deadline into its reminder text; called on the thread changing the list
+     * @param notifier  called (on the reminder thread) with the text of each deadline as it comes due
+     * @param clock     source of the current time and time zone
+     */
+    public ReminderService(Function<Deadline, String> describer, Consumer<String> notifier, Clock clock) {
+        this.describer = describer;
+        this.notifier = notifier;
+        this.clock = clock;
+        this.wheel = new TimingWheel<>(clock.millis() / TICK_MILLIS);
+    }
+
+    /**
+     * Schedules every open, not-yet-due deadline in the list and subscribes to its changes.
+     *
+     * @param tasks the task list to watch
+     */
+    public synchronized void watch(TaskList tasks) {
+        for (Task task : tasks.asUnmodifiableList()) {
+            taskAdded(task);
+        }
+        tasks.addListener(this);
+    }
+
+    /** Starts the daemon thread that advances the wheel once per minute. Does nothing if already started. */
+    public synchronized void start() {
+        if (worker != null) {
+            return;
+        }
+        worker = new Thread(this::runTicks, "spot-reminders");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /** Stops the reminder thread. Pending reminders stay scheduled but no longer fire. */
+    public synchronized void stop() {
+        if (worker != null) {
+            worker.interrupt();
+            worker = null;
+        }
+    }
+
+    /**
+     * Returns the number of deadlines waiting to fire.
+     *
+     * @return the pending reminder count
+     */
+    public synchronized int pendingCount() {
+        return wheel.size();
+    }
+
+    @Override
+    public synchronized void taskAdded(Task task) {
+        if (task instanceof Deadline deadline && !deadline.isDone()) {
+            schedule(deadline, null);
+        }
+    }
+
+    @Override
+    public synchronized void taskRemoved(Task task) {
+        if (task instanceof Deadline deadline) {
+            cancel(deadline);
+        }
+    }
+
+    @Override
+    public synchronized void taskDoneChanged(Task task) {
+        if (!(task instanceof Deadline deadline)) {
+            return;
+        }
+        if (deadline.isDone()) {
+            cancel(deadline);
+        } else {
+            schedule(deadline, null);
+        }
+    }
+
+    @Override
+    public synchronized void taskLabelsChanged(Task task, String previousLabels) {
+        // The reminder text shows the labels, so capture it again.
+        if (task instanceof Deadline deadline && scheduled.containsKey(deadline)) {
+            cancel(deadline);
+            schedule(deadline, null);
+        }
+    }
+
+    /**
+     * Advances the wheel to the given time and notifies every deadline that came due. A recurring deadline
+     * is rescheduled with the text it already has.
+     *
+     * @param epochMillis the current time in epoch milliseconds
+     */
+    void advanceTo(long epochMillis) {
+        List<Reminder> due = new ArrayList<>();
+        synchronized (this) {
+            wheel.advanceTo(epochMillis / TICK_MILLIS, reminder -> {
+                scheduled.remove(reminder.deadline);
+                due.add(reminder);
+            });
+            for (Reminder reminder : due) {
+                if (reminder.deadline.getRecurrence() != null) {
+                    schedule(reminder.deadline, reminder.text);
+                }
+            }
+        }
+        for (Reminder reminder : due) {
+            notifier.accept(reminder.text);
+        }
+    }
+
+    /** Sleeps until each minute boundary and advances the wheel, until interrupted. */
+    private void runTicks() {
+        while (!Thread.currentThread().isInterrupted()) {
+            long now = clock.millis();
+            long nextTickMillis = (now / TICK_MILLIS + 1) * TICK_MILLIS;
+            try {
+                Thread.sleep(nextTickMillis - now);
+            } catch (InterruptedException interruptedException) {
+                return;
+            }
+            advanceTo(clock.millis());
+        }
+    }
+
+    /**
+     * Schedules a deadline for its next due minute after the wheel's current minute, unless it is already
+     * scheduled or is a one-off deadline already past due.
+     *
+     * @param text the reminder text, or null to capture it now from the deadline
+     */
+    private void schedule(Deadline deadline, String text) {
+        if (scheduled.containsKey(deadline)) {
+            return;
+        }
+        LocalDateTime nextTickStart = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli((wheel.currentTick() + 1) * TICK_MILLIS), clock.getZone());
+        LocalDateTime nextDue = deadline.getRecurrence() == null
+                ? deadline.getBy() : deadline.nextDueAtOrAfter(nextTickStart);
+        long dueTick = toEpochMillis(nextDue) / TICK_MILLIS;
+        if (dueTick < wheel.currentTick()) {
+            return;
+        }
+        String reminderText = text != null ? text : describer.apply(deadline);
+        scheduled.put(deadline, wheel.schedule(new Reminder(deadline, reminderText), dueTick));
+    }
+
+    private void cancel(Deadline deadline) {
+        TimingWheel.Entry<Reminder> entry = scheduled.remove(deadline);
+        if (entry != null) {
+            wheel.cancel(entry);
+        }
+    }
+
+    private long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(clock.getZone()).toInstant().toEpochMilli();
+    }
+}
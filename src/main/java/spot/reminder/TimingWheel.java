@@ -0,0 +1,228 @@
+package spot.reminder;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel: schedules items to fire at a future tick with O(1) insert and cancel.
+ * Four levels of 64 slots cover 2^24 ticks (about 31 years at one-minute ticks); later expiries are
+ * parked in the furthest slot and re-placed when they cascade down. Each slot is an intrusive
+ * doubly-linked list, so an item costs one small {@link Entry} and no per-item timer.
+ * Not thread-safe; callers synchronize.
+ *
+ * @param <T> the type of scheduled item
+ */
+public class TimingWheel<T> {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOT_COUNT = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOT_COUNT - 1;
+    private static final int LEVEL_COUNT = 4;
+    private static final long MAX_SPAN = 1L << (SLOT_BITS * LEVEL_COUNT);
+
+    private final Entry<T>[] slots;
+    /** Next tick to be processed; entries due at or before it fire on the next advance. */
+    private long currentTick;
+    private int size;
+
+    /**
+     * A scheduled item. Keep the returned entry to cancel it later.
+     *
+     * @param <T> the type of scheduled item
+     */
+    public static final class Entry<T> {
+        private final T item;
+        private final long expiryTick;
+        private Entry<T> prev;
+        private Entry<T> next;
+        private int slot = -1;
+
+        private Entry(T item, long expiryTick) {
+            this.item = item;
+            this.expiryTick = expiryTick;
+        }
+
+        /**
+         * Returns the scheduled item.
+         *
+         * @return the item
+         */
+        public T item() {
+            return item;
+        }
+
+        /**
+         * Returns the tick at which the item fires.
+         *
+         * @return the expiry tick
+         */
+        public long expiryTick() {
+            return expiryTick;
+        }
+
+        /**
+         * Returns whether the entry is still waiting in the wheel.
+         *
+         * @return true if scheduled, false once fired or cancelled
+         */
+        public boolean isScheduled() {
+            return slot >= 0;
+        }
+    }
+
+    /**
+     * Creates an empty wheel whose clock starts at the given tick.
+     *
+     * @param startTick the first tick to be processed
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long startTick) {
+        this.slots = (Entry<T>[]) new Entry<?>[SLOT_COUNT * LEVEL_COUNT];
+        this.currentTick = startTick;
+    }
+
+    /**
+     * Schedules an item to fire at the given tick. Ticks already passed fire on the next advance.
+     *
+     * @param item       the item to schedule
+     * @param expiryTick the tick at which to fire
+     * @return the entry, for cancellation
+     */
+    public Entry<T> schedule(T item, long expiryTick) {
+        Entry<T> entry = new Entry<>(item, expiryTick);
+        place(entry);
+        size++;
+        return entry;
+    }
+
+    /**
+     * Cancels a scheduled entry. Does nothing if it already fired or was cancelled.
+     *
+     * @param entry the entry returned by {@link #schedule}
+     */
+    public void cancel(Entry<T> entry) {
+        if (!entry.isScheduled()) {
+            return;
+        }
+        unlink(entry);
+        size--;
+    }
+
+    /**
+     * Returns the number of entries waiting in the wheel.
+     *
+     * @return the pending entry count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the next tick that will be processed.
+     *
+     * @return the current tick
+     */
+    public long currentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Processes every tick up to and including the given one, firing entries that come due.
+     * Higher levels are cascaded into lower ones as the lower wheel wraps around.
+     *
+     * @param tick  the last tick to process
+     * @param fired receives the item of every entry that fires, tick by tick
+     */
+    public void advanceTo(long tick, Consumer<T> fired) {
+        while (currentTick <= tick) {
+            int index = (int) (currentTick & SLOT_MASK);
+            if (index == 0) {
+                cascadeFrom(1);
+            }
+            Entry<T> entry = detachSlot(index);
+            while (entry != null) {
+                Entry<T> next = entry.next;
+                entry.prev = null;
+                entry.next = null;
+                if (entry.expiryTick <= currentTick) {
+                    size--;
+                    fired.accept(entry.item);
+                } else {
+                    place(entry);
+                }
+                entry = next;
+            }
+            currentTick++;
+        }
+    }
+
+    /** Re-places the entries of the current slot at each level whose lower level has just wrapped. */
+    private void cascadeFrom(int level) {
+        for (int currentLevel = level; currentLevel < LEVEL_COUNT; currentLevel++) {
+            int index = (int) ((currentTick >>> (SLOT_BITS * currentLevel)) & SLOT_MASK);
+            Entry<T> entry = detachSlot(currentLevel * SLOT_COUNT + index);
+            while (entry != null) {
+                Entry<T> next = entry.next;
+                entry.prev = null;
+                entry.next = null;
+                place(entry);
+                entry = next;
+            }
+            if (index != 0) {
+                return;
+            }
+        }
+    }
+
+    /** Links the entry into the slot matching its distance from the current tick. */
+    private void place(Entry<T> entry) {
+        long delta = entry.expiryTick - currentTick;
+        long placementTick = entry.expiryTick;
+        if (delta < 0) {
+            delta = 0;
+            placementTick = currentTick;
+        } else if (delta >= MAX_SPAN) {
+            delta = MAX_SPAN - 1;
+            placementTick = currentTick + delta;
+        }
+        int level = 0;
+        while (delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        int index = (int) ((placementTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        link(level * SLOT_COUNT + index, entry);
+    }
+
+    private void link(int slot, Entry<T> entry) {
+        Entry<T> head = slots[slot];
+        entry.next = head;
+        entry.prev = null;
+        if (head != null) {
+            head.prev = entry;
+        }
+        slots[slot] = entry;
+        entry.slot = slot;
+    }
+
+    private void unlink(Entry<T> entry) {
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else {
+            slots[entry.slot] = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+        entry.slot = -1;
+    }
+
+    /** Empties a slot and returns its former head; entries are marked unscheduled but keep their links. */
+    private Entry<T> detachSlot(int slot) {
+        Entry<T> head = slots[slot];
+        slots[slot] = null;
+        for (Entry<T> entry = head; entry != null; entry = entry.next) {
+            entry.slot = -1;
+        }
+        return head;
+    }
+}
@@ -0,0 +1,392 @@
+package spot.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import spot.storage.Storage;
+import spot.task.Task;
+import spot.task.TaskList;
+import spot.task.TaskSummary;
+
+/**
+ * Task operations without any console: each call returns its result (or throws) instead of printing,
+ * so Spot can be embedded in another JVM program. Safe to call from many threads.
+ *
+ * <p>A change returns only once it has been saved. Saves are shared between concurrent callers
+ * (group commit): while one save runs, later changes queue up behind it, and the next save covers all
+ * of them, so N concurrent changes cost far fewer than N saves.
+ *
+ * <p>Every operation also has an {@code Async} variant that runs it on the executor given at creation,
+ * e.g. a virtual-thread-per-task executor on Java 21.
+ */
+public class TaskService {
+    private final TaskList tasks;
+    private final Consumer<TaskList> persistence;
+    /** Saves with the file write outside the task lock; null to call {@link #persistence} under it. */
+    private final Storage storage;
+    private final Executor executor;
+    /** Guards the task list. */
+    private final Object taskLock = new Object();
+    /** Guards the save bookkeeping below. */
+    private final Object saveLock = new Object();
+    /** Number of changes made so far; written under the task lock. */
+    private long changeCount;
+    /** Number of changes covered by the last completed save. */
+    private long savedCount;
+    private boolean isSaving;
+
+    /**
+     * Creates a service over an existing task list.
+     *
+     * @param tasks       the task list; from now on it should only be changed through this service
+     * @param persistence saves the list; called with no other change in progress
+     * @param executor    runs the {@code Async} variants
+     */
+    public TaskService(TaskList tasks, Consumer<TaskList> persistence, Executor executor) {
+        this.tasks = Objects.requireNonNull(tasks);
+        this.persistence = Objects.requireNonNull(persistence);
+        this.storage = null;
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    /**
+     * Creates a service over a task list that saves to the given storage. Each save encodes the list under
+     * the task lock but writes the file outside it, so changes can proceed during the write.
+     *
+     * @param tasks    the task list, tracked by {@code storage}; from now on it should only be changed
+     *                 through this service
+     * @param storage  the storage the list was loaded from
+     * @param executor runs the {@code Async} variants
+     */
+    public TaskService(TaskList tasks, Storage storage, Executor executor) {
+        this.tasks = Objects.requireNonNull(tasks);
+        this.storage = Objects.requireNonNull(storage);
+        this.persistence = storage::save;
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    /**
+     * Loads the tasks in a data file and returns a service that saves back to it.
+     *
+     * @param filePath path to the task data file (e.g. "data/spot.txt")
+     * @param executor runs the {@code Async} variants
+     * @return the service
+     */
+    public static TaskService open(String filePath, Executor executor) {
+        Storage storage = new Storage(filePath);
+        TaskList tasks = new TaskList(storage.load());
+        storage.track(tasks);
+        return new TaskService(tasks, storage, executor);
+    }
+
+    /**
+     * Appends a task and saves.
+     *
+     * @param task the task to add
+     * @return the number of tasks after adding
+     */
+    public int add(Task task) {
+        Objects.requireNonNull(task);
+        return change(() -> {
+            tasks.add(task);
+            return tasks.size();
+        });
+    }
+
+    /**
+     * Marks the task at the given index as done and saves.
+     *
+     * @param index 0-based task index
+     * @return the task
+     * @throws IndexOutOfBoundsException if there is no such task
+     */
+    public Task mark(int index) {
+        return setDone(index, true);
+    }
+
+    /**
+     * Marks the task at the given index as not done and saves.
+     *
+     * @param index 0-based task index
+     * @return the task
+     * @throws IndexOutOfBoundsException if there is no such task
+     */
+    public Task unmark(int index) {
+        return setDone(index, false);
+    }
+
+    /**
+     * Replaces the tags and priority of the task at the given index and saves.
+     *
+     * @param index  0-based task index
+     * @param labels label words (e.g. "#work !high"); empty to clear the labels
+     * @return the task
+     * @throws IndexOutOfBoundsException if there is no such task
+     */
+    public Task relabel(int index, String labels) {
+        return change(() -> {
+            Task task = tasks.get(Objects.checkIndex(index, tasks.size()));
+            task.setLabels(labels);
+            return task;
+        });
+    }
+
+    private Task setDone(int index, boolean done) {
+        return change(() -> {
+            Task task = tasks.get(Objects.checkIndex(index, tasks.size()));
+            task.setDone(done);
+            return task;
+        });
+    }
+
+    /**
+     * Removes the task at the given index and saves.
+     *
+     * @param index 0-based task index
+     * @return the removed task
+     * @throws IndexOutOfBoundsException if there is no such task
+     */
+    public Task delete(int index) {
+        return change(() -> tasks.remove(Objects.checkIndex(index, tasks.size())));
+    }
+
+    /**
+     * Returns a copy of the tasks, in list order.
+     *
+     * @return the tasks
+     */
+    public List<Task> list() {
+        synchronized (taskLock) {
+            return new ArrayList<>(tasks.asUnmodifiableList());
+        }
+    }
+
+    /**
+     * Returns the tasks whose display string contains the keyword, ignoring case.
+     *
+     * @param keyword the search keyword (empty matches no tasks)
+     * @return unmodifiable list of matching tasks
+     */
+    public List<Task> find(String keyword) {
+        synchronized (taskLock) {
+            return tasks.findTasks(keyword);
+        }
+    }
+
+    /**
+     * Returns the deadlines due on the given date.
+     *
+     * @param date the date
+     * @return unmodifiable list of matching deadlines
+     */
+    public List<Task> deadlinesOn(LocalDate date) {
+        synchronized (taskLock) {
+            return tasks.getDeadlinesOn(date);
+        }
+    }
+
+    /**
+     * Returns the task counts by kind and status, and the number of overdue deadlines.
+     *
+     * @param now the current date-time
+     * @return the counts
+     */
+    public TaskSummary summary(LocalDateTime now) {
+        synchronized (taskLock) {
+            return tasks.summary(now);
+        }
+    }
+
+    /**
+     * Returns the most urgent open tasks: deadlines by due date-time, then the rest; ties by priority.
+     *
+     * @param count maximum number of tasks to return
+     * @param now   the current date-time; recurring deadlines rank by their next occurrence from it
+     * @return unmodifiable list of up to {@code count} open tasks, most urgent first
+     */
+    public List<Task> next(int count, LocalDateTime now) {
+        synchronized (taskLock) {
+            return tasks.next(count, now);
+        }
+    }
+
+    /**
+     * Runs {@link #add} on the executor.
+     *
+     * @param task the task to add
+     * @return future number of tasks after adding
+     */
+    public CompletableFuture<Integer> addAsync(Task task) {
+        return CompletableFuture.supplyAsync(() -> add(task), executor);
+    }
+
+    /**
+     * Runs {@link #mark} on the executor.
+     *
+     * @param index 0-based task index
+     * @return future marked task; completes exceptionally if there is no such task
+     */
+    public CompletableFuture<Task> markAsync(int index) {
+        return CompletableFuture.supplyAsync(() -> mark(index), executor);
+    }
+
+    /**
+     * Runs {@link #unmark} on the executor.
+     *
+     * @param index 0-based task index
+     * @return future unmarked task; completes exceptionally if there is no such task
+     */
+    public CompletableFuture<Task> unmarkAsync(int index) {
+        return CompletableFuture.supplyAsync(() -> unmark(index), executor);
+    }
+
+    /**
+     * Runs {@link #relabel} on the executor.
+     *
+     * @param index  0-based task index
+     * @param labels label words; empty to clear the labels
+     * @return future relabelled task; completes exceptionally if there is no such task
+     */
+    public CompletableFuture<Task> relabelAsync(int index, String labels) {
+        return CompletableFuture.supplyAsync(() -> relabel(index, labels), executor);
+    }
+
+    /**
+     * Runs {@link #delete} on the executor.
+     *
+     * @param index 0-based task index
+     * @return future removed task; completes exceptionally if there is no such task
+     */
+    public CompletableFuture<Task> deleteAsync(int index) {
+        return CompletableFuture.supplyAsync(() -> delete(index), executor);
+    }
+
+    /**
+     * Runs {@link #list} on the executor.
+     *
+     * @return future copy of the tasks
+     */
+    public CompletableFuture<List<Task>> listAsync() {
+        return CompletableFuture.supplyAsync(this::list, executor);
+    }
+
+    /**
+     * Runs {@link #find} on the executor.
+     *
+     * @param keyword the search keyword
+     * @return future matching tasks
+     */
+    public CompletableFuture<List<Task>> findAsync(String keyword) {
+        return CompletableFuture.supplyAsync(() -> find(keyword), executor);
+    }
+
+    /**
+     * Runs {@link #deadlinesOn} on the executor.
+     *
+     * @param date the date
+     * @return future matching deadlines
+     */
+    public CompletableFuture<List<Task>> deadlinesOnAsync(LocalDate date) {
+        return CompletableFuture.supplyAsync(() -> deadlinesOn(date), executor);
+    }
+
+    /**
+     * Runs {@link #next} on the executor.
+     *
+     * @param count maximum number of tasks to return
+     * @param now   the current date-time
+     * @return future most urgent open tasks
+     */
+    public CompletableFuture<List<Task>> nextAsync(int count, LocalDateTime now) {
+        return CompletableFuture.supplyAsync(() -> next(count, now), executor);
+    }
+
+    /**
+     * Runs {@link #summary} on the executor.
+     *
+     * @param now the current date-time
+     * @return future counts
+     */
+    public CompletableFuture<TaskSummary> summaryAsync(LocalDateTime now) {
+        return CompletableFuture.supplyAsync(() -> summary(now), executor);
+    }
+
+    /** Applies a change under the task lock, then returns once a save covering it has completed. */
+    private <T> T change(Supplier<T> action) {
+        T result;
+        long changeNumber;
+        synchronized (taskLock) {
+            result = action.get();
+            changeNumber = ++changeCount;
+        }
+        awaitSaved(changeNumber);
+        return result;
+    }
+
+    /**
+     * Waits until the given change is saved. If no save is running, this caller runs one, covering every
+     * change made so far; otherwise it waits for the running save and, if that did not cover its change,
+     * for (or runs) the next one.
+     */
+    private void awaitSaved(long changeNumber) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                synchronized (saveLock) {
+                    while (isSaving && savedCount < changeNumber) {
+                        try {
+                            saveLock.wait();
+                        } catch (InterruptedException interruptedException) {
+                            interrupted = true;
+                        }
+                    }
+                    if (savedCount >= changeNumber) {
+                        return;
+                    }
+                    isSaving = true;
+                }
+                long covered = savedCount;
+                try {
+                    covered = saveAll();
+                } finally {
+                    synchronized (saveLock) {
+                        savedCount = Math.max(savedCount, covered);
+                        isSaving = false;
+                        saveLock.notifyAll();
+                    }
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /** Saves the list as it is with no change in progress and returns how many changes the save covers. */
+    private long saveAll() {
+        long covered;
+        Storage.EncodedList encoded;
+        synchronized (taskLock) {
+            covered = changeCount;
+            if (storage == null) {
+                persistence.accept(tasks);
+                return covered;
+            }
+            encoded = storage.encode(tasks);
+        }
+        if (!storage.write(encoded)) {
+            // Another process changed the file: merging updates the list, so it needs the lock.
+            synchronized (taskLock) {
+                persistence.accept(tasks);
+            }
+        }
+        return covered;
+    }
+}
@@ -0,0 +1,193 @@
+package spot.storage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import spot.util.BloomFilter;
+
+/**
+ * Directory of archive segments: GZIP-compressed files of storage lines, each written once under the
+ * next free number and never modified afterwards. Next to each segment is a ".bloom" file holding a
+ * Bloom filter of the trigrams (three-character substrings) of its tasks' lowercase display strings.
+ * A keyword can only occur in a segment whose filter contains all of the keyword's trigrams, so most
+ * segments can be ruled out without being opened. Filters are small and immutable, and are cached once read.
+ */
+final class ArchiveStore {
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".gz";
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-\\d+\\.gz");
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String FILTER_SUFFIX = ".bloom";
+
+    private final Path directory;
+    private final Map<Path, Optional<BloomFilter>> filters = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a store over the given directory (created on first write).
+     *
+     * @param directory the archive directory
+     */
+    ArchiveStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Writes the lines as a new segment, with its filter. Callers must hold the storage lock, so that two
+     * processes never pick the same segment number. The filter is written first, so a segment never
+     * exists without one.
+     *
+     * @param lines          storage lines of the archived tasks
+     * @param displayStrings the tasks' display strings, for the filter
+     * @return the new segment file
+     * @throws IOException if the segment cannot be written
+     */
+    Path writeSegment(List<String> lines, List<String> displayStrings) throws IOException {
+        Files.createDirectories(directory);
+        List<Path> existing = segments();
+        int number = existing.isEmpty() ? 1 : segmentNumber(existing.get(existing.size() - 1)) + 1;
+        Path segment = directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+        writeFilter(filterPath(segment), displayStrings);
+        Path temp = directory.resolve(segment.getFileName() + ".tmp");
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(temp), BUFFER_SIZE), StandardCharsets.UTF_8))) {
+            for (String line : lines) {
+                writer.write(line);
+                writer.write('\n');
+            }
+        }
+        Files.move(temp, segment, StandardCopyOption.ATOMIC_MOVE);
+        return segment;
+    }
+
+    /**
+     * Returns the segment files, oldest first.
+     *
+     * @return segment paths (empty if nothing was archived yet)
+     * @throws IOException if the directory cannot be listed
+     */
+    List<Path> segments() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(ArchiveStore::isSegment)
+                    .sorted(Comparator.comparingInt(ArchiveStore::segmentNumber)).collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Decompresses a segment and passes each non-blank line to the action, without holding the segment in memory.
+     *
+     * @param segment the segment file
+     * @param action  receives each trimmed line
+     * @throws IOException if the segment cannot be read
+     */
+    void forEachLine(Path segment, Consumer<String> action) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(segment), BUFFER_SIZE), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String trimmed = line.trim();
+                if (!trimmed.isEmpty()) {
+                    action.accept(trimmed);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns whether the segment may hold a task whose lowercase display string contains the keyword.
+     * Keywords shorter than a trigram, and segments without a readable filter, always may.
+     *
+     * @param segment      the segment file
+     * @param lowerKeyword the lowercase keyword
+     * @return false if the segment certainly has no match
+     */
+    boolean mightContain(Path segment, String lowerKeyword) {
+        if (lowerKeyword.length() < 3) {
+            return true;
+        }
+        Optional<BloomFilter> filter = filters.computeIfAbsent(segment, ArchiveStore::readFilter);
+        if (filter.isEmpty()) {
+            return true;
+        }
+        for (int i = 0; i + 3 <= lowerKeyword.length(); i++) {
+            if (!filter.get().mightContain(trigramKey(lowerKeyword, i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeFilter(Path filterFile, List<String> displayStrings) throws IOException {
+        Set<Long> trigrams = new HashSet<>();
+        for (String displayString : displayStrings) {
+            String lower = displayString.toLowerCase();
+            for (int i = 0; i + 3 <= lower.length(); i++) {
+                trigrams.add(trigramKey(lower, i));
+            }
+        }
+        BloomFilter filter = new BloomFilter(trigrams.size());
+        for (long trigram : trigrams) {
+            filter.add(trigram);
+        }
+        Path temp = filterFile.resolveSibling(filterFile.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            filter.writeTo(out);
+        }
+        Files.move(temp, filterFile, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static Optional<BloomFilter> readFilter(Path segment) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                Files.newInputStream(filterPath(segment))))) {
+            return Optional.of(BloomFilter.readFrom(in));
+        } catch (IOException ioException) {
+            return Optional.empty();
+        }
+    }
+
+    private static Path filterPath(Path segment) {
+        String name = segment.getFileName().toString();
+        return segment.resolveSibling(name.substring(0, name.length() - SEGMENT_SUFFIX.length()) + FILTER_SUFFIX);
+    }
+
+    /** Packs the three characters starting at {@code index} into one key. */
+    private static long trigramKey(String text, int index) {
+        return ((long) text.charAt(index) << 32) | ((long) text.charAt(index + 1) << 16) | text.charAt(index + 2);
+    }
+
+    private static boolean isSegment(Path file) {
+        return SEGMENT_NAME.matcher(file.getFileName().toString()).matches();
+    }
+
+    private static int segmentNumber(Path segment) {
+        String name = segment.getFileName().toString();
+        return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
@@ -0,0 +1,375 @@
+package spot.storage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Objects;
+import spot.task.Task;
+
+/**
+ * Random access to single tasks in the data file, without loading the task list.
+ * An offset table (one long per task, the only per-task state on the heap) gives the byte position of each
+ * task line, so reading, marking or deleting task n costs one positional read or write:
+ * marking patches the done digit in place, deleting overwrites the line's type letter with '#' (a line
+ * every reader skips; the next full save drops it), and adding appends a line. The table holds exactly the
+ * lines {@link Storage#load()} accepts as tasks, in order, so task n here is task n in {@code list}.
+ *
+ * <p>Each change holds the storage lock and bumps the file's fixed-width version stamp in place, so other
+ * Spot processes see it. On close, the table is written to a ".idx" sidecar with a fixed layout
+ * (header, then one 8-byte offset per task), which the next open reuses if the data file is unchanged.
+ */
+public final class IndexedStorage implements Closeable {
+    private static final int SCAN_BUFFER_SIZE = 1 << 20;
+    private static final int RECORD_READ_SIZE = 256;
+    /** "SPOTIDX2": tables of version 1 also counted lines the loader rejects, so they are not reused. */
+    private static final long INDEX_MAGIC = 0x53504f5449445832L;
+    /** Bytes of a task line examined to recognise it: type letter, delimiter, done digit ("T | 0"). */
+    private static final int RECORD_HEAD_LENGTH = 5;
+    private static final int DONE_OFFSET = 4;
+    private static final byte DELETED_TYPE = '#';
+    private static final int VERSION_LINE_LENGTH = Storage.VERSION_PREFIX.length() + Storage.VERSION_DIGITS;
+
+    private final Path dataPath;
+    private final Path lockPath;
+    private final Path indexPath;
+    private FileChannel channel;
+    private Object fileKey;
+    private long knownSize;
+    private long knownVersion;
+    private boolean hasVersionLine;
+    private long[] offsets = new long[0];
+    private int count;
+
+    private IndexedStorage(Path dataPath) {
+        this.dataPath = dataPath;
+        this.lockPath = Storage.lockPathFor(dataPath);
+        this.indexPath = dataPath.resolveSibling(dataPath.getFileName() + ".idx");
+    }
+
+    /**
+     * Opens the data file for random access, creating it if needed. Reuses the ".idx" sidecar if it
+     * matches the file, otherwise scans the file once to build the offset table.
+     *
+     * @param filePath path to the data file (e.g. "data/spot.txt")
+     * @return the opened storage
+     * @throws IOException if the file cannot be opened or read
+     */
+    public static IndexedStorage open(String filePath) throws IOException {
+        IndexedStorage storage = new IndexedStorage(Paths.get(filePath));
+        storage.openChannel();
+        storage.readHeader();
+        if (!storage.loadIndex()) {
+            storage.scan();
+        }
+        return storage;
+    }
+
+    /**
+     * Returns the number of tasks in the file.
+     *
+     * @return task count
+     * @throws IOException if the file changed and cannot be rescanned
+     */
+    public int size() throws IOException {
+        ensureCurrent();
+        return count;
+    }
+
+    /**
+     * Reads the task at the given 0-based index with one positional read.
+     *
+     * @param index 0-based task index
+     * @return the task, or null if its line is not a valid task
+     * @throws IOException if the file cannot be read
+     * @throws IndexOutOfBoundsException if there is no such task
+     */
+    public Task read(int index) throws IOException {
+        ensureCurrent();
+        Objects.checkIndex(index, count);
+        return Storage.parseTaskLine(readLine(offsets[index]).trim());
+    }
+
+    /**
+     * Marks or unmarks the task at the given index by rewriting its done digit in place.
+     *
+     * @param index 0-based task index
+     * @param done  the new done state
+     * @throws IOException if the file cannot be written, or the task's line is not in the layout Spot
+     *                     writes (see {@link #checkPatchable})
+     * @throws IndexOutOfBoundsException if there is no such task
+     */
+    public void setDone(int index, boolean done) throws IOException {
+        Storage.withLock(lockPath, () -> {
+            ensureCurrent();
+            Objects.checkIndex(index, count);
+            checkPatchable(index);
+            writeAt(offsets[index] + DONE_OFFSET, new byte[] { (byte) (done ? '1' : '0') });
+            bumpVersion();
+        });
+    }
+
+    /**
+     * Deletes the task at the given index by overwriting its type letter, and drops it from the table.
+     *
+     * @param index 0-based task index
+     * @throws IOException if the file cannot be written, or the task's line is not in the layout Spot
+     *                     writes (see {@link #checkPatchable})
+     * @throws IndexOutOfBoundsException if there is no such task
+     */
+    public void delete(int index) throws IOException {
+        Storage.withLock(lockPath, () -> {
+            ensureCurrent();
+            Objects.checkIndex(index, count);
+            checkPatchable(index);
+            writeAt(offsets[index], new byte[] { DELETED_TYPE });
+            System.arraycopy(offsets, index + 1, offsets, index, count - index - 1);
+            count--;
+            bumpVersion();
+        });
+    }
+
+    /**
+     * Appends a task as a new line at the end of the file.
+     *
+     * @param task the task to add
+     * @throws IOException if the file cannot be written
+     */
+    public void append(Task task) throws IOException {
+        Storage.withLock(lockPath, () -> {
+            ensureCurrent();
+            long end = channel.size();
+            if (end > 0 && readByte(end - 1) != '\n') {
+                writeAt(end++, new byte[] { '\n' });
+            }
+            writeAt(end, (Storage.encodeTask(task, task.isDone()) + "\n").getBytes(StandardCharsets.UTF_8));
+            addOffset(end);
+            bumpVersion();
+        });
+    }
+
+    /** Writes the offset table to the ".idx" sidecar and closes the file. */
+    @Override
+    public void close() throws IOException {
+        try {
+            writeIndex();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void openChannel() throws IOException {
+        if (dataPath.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(dataPath.toAbsolutePath().getParent());
+        }
+        channel = FileChannel.open(dataPath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        fileKey = Files.readAttributes(dataPath, BasicFileAttributes.class).fileKey();
+    }
+
+    /**
+     * Rebuilds the table if another writer replaced the file, changed its length or bumped its version
+     * since this instance last looked.
+     */
+    private void ensureCurrent() throws IOException {
+        Object currentKey = Files.readAttributes(dataPath, BasicFileAttributes.class).fileKey();
+        boolean replaced = !Objects.equals(currentKey, fileKey);
+        if (replaced) {
+            channel.close();
+            openChannel();
+        }
+        long previousVersion = knownVersion;
+        readHeader();
+        if (replaced || channel.size() != knownSize || knownVersion != previousVersion) {
+            scan();
+        }
+    }
+
+    /** Reads the version stamp, if the file starts with a fixed-width version line. */
+    private void readHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(VERSION_LINE_LENGTH + 1);
+        while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+            // Keep reading until the header is complete or the file ends.
+        }
+        String line = new String(header.array(), 0, header.position(), StandardCharsets.UTF_8);
+        hasVersionLine = line.length() == VERSION_LINE_LENGTH + 1 && line.endsWith("\n")
+                && line.startsWith(Storage.VERSION_PREFIX);
+        knownVersion = hasVersionLine ? Storage.parseVersion(line.trim()) : 0;
+    }
+
+    /**
+     * Scans the whole file once, recording the start of every line the loader accepts as a task. Each line
+     * is parsed with {@link Storage#parseTaskLine}, so a line the loader skips (a bad date, a wrong field
+     * count) does not shift the numbers of the tasks after it.
+     */
+    private void scan() throws IOException {
+        offsets = new long[1024];
+        count = 0;
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        ByteArrayOutputStream line = new ByteArrayOutputStream(RECORD_READ_SIZE);
+        long lineStart = 0;
+        long readPosition = 0;
+        int read;
+        while ((read = channel.read(buffer, readPosition)) > 0) {
+            byte[] bytes = buffer.array();
+            int segmentStart = 0;
+            for (int i = 0; i < read; i++) {
+                if (bytes[i] == '\n') {
+                    line.write(bytes, segmentStart, i - segmentStart);
+                    addOffsetIfTask(lineStart, line);
+                    line.reset();
+                    lineStart = readPosition + i + 1;
+                    segmentStart = i + 1;
+                }
+            }
+            line.write(bytes, segmentStart, read - segmentStart);
+            readPosition += read;
+            buffer.clear();
+        }
+        addOffsetIfTask(lineStart, line);
+        knownSize = readPosition;
+    }
+
+    /** Records the line's first non-blank byte if the loader would parse the line as a task. */
+    private void addOffsetIfTask(long lineStart, ByteArrayOutputStream line) {
+        String text = line.toString(StandardCharsets.UTF_8);
+        String trimmed = text.trim();
+        if (trimmed.isEmpty() || Storage.parseTaskLine(trimmed) == null) {
+            return;
+        }
+        // trim() only strips characters up to ' ', each a single byte in UTF-8.
+        addOffset(lineStart + text.indexOf(trimmed));
+    }
+
+    /**
+     * Checks that a task's line starts with the fixed "T | 0" layout Spot writes, which in-place marking and
+     * deleting rely on. A hand-edited line the loader still accepts (e.g. extra spaces) is refused rather
+     * than patched at the wrong byte.
+     */
+    private void checkPatchable(int index) throws IOException {
+        ByteBuffer head = ByteBuffer.allocate(RECORD_HEAD_LENGTH);
+        while (head.hasRemaining() && channel.read(head, offsets[index] + head.position()) > 0) {
+            // Keep reading until the head is complete or the file ends.
+        }
+        if (!isRecordHead(head.array(), head.position())) {
+            throw new IOException("Task " + (index + 1) + " is not in the layout Spot writes; "
+                    + "run Spot once to rewrite the file.");
+        }
+    }
+
+    /** Returns whether a line starts like a task line: "T | 0", "D | 1", and so on. */
+    private static boolean isRecordHead(byte[] head, int length) {
+        return length == RECORD_HEAD_LENGTH
+                && (head[0] == 'T' || head[0] == 'D' || head[0] == 'E')
+                && head[1] == ' ' && head[2] == '|' && head[3] == ' '
+                && (head[4] == '0' || head[4] == '1');
+    }
+
+    private void addOffset(long offset) {
+        if (count == offsets.length) {
+            offsets = Arrays.copyOf(offsets, Math.max(16, count * 2));
+        }
+        offsets[count++] = offset;
+    }
+
+    /** Reads from the offset up to the end of the line, usually with a single positional read. */
+    private String readLine(long offset) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(RECORD_READ_SIZE);
+        ByteBuffer chunk = ByteBuffer.allocate(RECORD_READ_SIZE);
+        long position = offset;
+        int read;
+        while ((read = channel.read(chunk, position)) > 0) {
+            byte[] bytes = chunk.array();
+            for (int i = 0; i < read; i++) {
+                if (bytes[i] == '\n') {
+                    line.write(bytes, 0, i);
+                    return line.toString(StandardCharsets.UTF_8);
+                }
+            }
+            line.write(bytes, 0, read);
+            position += read;
+            chunk.clear();
+        }
+        return line.toString(StandardCharsets.UTF_8);
+    }
+
+    private byte readByte(long position) throws IOException {
+        ByteBuffer single = ByteBuffer.allocate(1);
+        channel.read(single, position);
+        return single.get(0);
+    }
+
+    private void writeAt(long position, byte[] bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long at = position;
+        while (buffer.hasRemaining()) {
+            at += channel.write(buffer, at);
+        }
+    }
+
+    /** Rewrites the version stamp in place (if the file has one) and records the file's new length. */
+    private void bumpVersion() throws IOException {
+        if (hasVersionLine) {
+            knownVersion++;
+            writeAt(0, Storage.versionLine(knownVersion).getBytes(StandardCharsets.UTF_8));
+        }
+        knownSize = channel.size();
+    }
+
+    /** Writes the sidecar: magic, data file length and modification time, task count, then the offsets. */
+    private void writeIndex() throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(dataPath, BasicFileAttributes.class);
+        Path temp = indexPath.resolveSibling(indexPath.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeLong(INDEX_MAGIC);
+            out.writeLong(attributes.size());
+            out.writeLong(attributes.lastModifiedTime().toMillis());
+            out.writeInt(count);
+            for (int i = 0; i < count; i++) {
+                out.writeLong(offsets[i]);
+            }
+        }
+        Files.move(temp, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** Loads the table from the sidecar if it describes the data file as it is now. */
+    private boolean loadIndex() throws IOException {
+        if (!Files.isRegularFile(indexPath)) {
+            return false;
+        }
+        BasicFileAttributes attributes = Files.readAttributes(dataPath, BasicFileAttributes.class);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexPath)))) {
+            if (in.readLong() != INDEX_MAGIC || in.readLong() != attributes.size()
+                    || in.readLong() != attributes.lastModifiedTime().toMillis()) {
+                return false;
+            }
+            int storedCount = in.readInt();
+            if (storedCount < 0 || storedCount > attributes.size() / RECORD_HEAD_LENGTH) {
+                return false;
+            }
+            long[] storedOffsets = new long[Math.max(16, storedCount)];
+            for (int i = 0; i < storedCount; i++) {
+                storedOffsets[i] = in.readLong();
+            }
+            offsets = storedOffsets;
+            count = storedCount;
+            knownSize = attributes.size();
+            return true;
+        } catch (IOException ioException) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package spot.storage;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Split of the data file's lines into content-defined blocks, each with a 64-bit content hash and the
+ * number of tasks parsed from it. A block ends after any line whose hash has its low six bits set
+ * (or after {@value #MAX_BLOCK_LINES} lines), so boundaries depend on content rather than position:
+ * inserting or deleting lines changes only the blocks around the edit, and the blocks before and
+ * after it still match the previous split.
+ */
+final class LineBlocks {
+    private static final int BOUNDARY_MASK = 63;
+    private static final int MAX_BLOCK_LINES = 256;
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final long[] hashes;
+    /** Line index at which each block starts; one extra entry holds the total line count. */
+    private final int[] lineStarts;
+    private final int[] taskCounts;
+
+    private LineBlocks(long[] hashes, int[] lineStarts) {
+        this.hashes = hashes;
+        this.lineStarts = lineStarts;
+        this.taskCounts = new int[hashes.length];
+    }
+
+    /**
+     * Splits lines into blocks and hashes them. Task counts start at zero; see {@link #setTaskCount}.
+     *
+     * @param lines the file's lines
+     * @return the blocks
+     */
+    static LineBlocks split(List<String> lines) {
+        int capacity = lines.size() / (BOUNDARY_MASK + 1) + 16;
+        long[] hashes = new long[capacity];
+        int[] lineStarts = new int[capacity + 1];
+        int blockCount = 0;
+        long blockHash = FNV_OFFSET_BASIS;
+        int blockStart = 0;
+        for (int i = 0; i < lines.size(); i++) {
+            long lineHash = hashLine(lines.get(i));
+            blockHash = (blockHash ^ lineHash) * FNV_PRIME;
+            boolean lastLine = i == lines.size() - 1;
+            if ((lineHash & BOUNDARY_MASK) == BOUNDARY_MASK || i + 1 - blockStart == MAX_BLOCK_LINES || lastLine) {
+                if (blockCount == hashes.length) {
+                    hashes = Arrays.copyOf(hashes, blockCount * 2);
+                    lineStarts = Arrays.copyOf(lineStarts, blockCount * 2 + 1);
+                }
+                hashes[blockCount] = blockHash;
+                lineStarts[blockCount] = blockStart;
+                blockCount++;
+                blockHash = FNV_OFFSET_BASIS;
+                blockStart = i + 1;
+            }
+        }
+        lineStarts[blockCount] = lines.size();
+        return new LineBlocks(Arrays.copyOf(hashes, blockCount),
+                Arrays.copyOf(lineStarts, blockCount + 1));
+    }
+
+    /** FNV-1a over the line's characters. */
+    private static long hashLine(String line) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < line.length(); i++) {
+            hash = (hash ^ line.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    int blockCount() {
+        return hashes.length;
+    }
+
+    long hash(int block) {
+        return hashes[block];
+    }
+
+    int lineStart(int block) {
+        return lineStarts[block];
+    }
+
+    int lineEnd(int block) {
+        return lineStarts[block + 1];
+    }
+
+    int taskCount(int block) {
+        return taskCounts[block];
+    }
+
+    void setTaskCount(int block, int count) {
+        taskCounts[block] = count;
+    }
+
+    /**
+     * Returns the list index of each block's first task; one extra entry holds the total task count.
+     *
+     * @return running task counts, of length {@code blockCount() + 1}
+     */
+    int[] taskStarts() {
+        int[] starts = new int[taskCounts.length + 1];
+        for (int i = 0; i < taskCounts.length; i++) {
+            starts[i + 1] = starts[i] + taskCounts[i];
+        }
+        return starts;
+    }
+}
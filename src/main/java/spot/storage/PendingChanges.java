@@ -0,0 +1,130 @@
+package spot.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+import spot.task.Task;
+import spot.task.TaskList;
+import spot.task.TaskListListener;
+
+/**
+ * Journal of the changes made to a task list since it was last saved, recorded as storage lines.
+ * When a save finds that another process changed the data file in the meantime, the journal is
+ * replayed on top of that file's lines instead of overwriting them. Removals, mark/unmark and label changes also record
+ * the task's position, so that among identical lines (e.g. two equal todos) the one nearest to it is changed.
+ * The list's thread records changes while a save may drop written ones from another thread, so every method
+ * is synchronized.
+ */
+final class PendingChanges implements TaskListListener {
+    private final List<Operation> operations = new ArrayList<>();
+    /** The list being journaled, for the positions of marked tasks; null until {@link #track}. */
+    private TaskList tasks;
+
+    /** One recorded change: an added line, a removed line, or a line replaced by another. */
+    private static final class Operation {
+        private final String removedLine;
+        private final String addedLine;
+        /** Index of the removed or replaced line in this process's version; unused for additions. */
+        private final int position;
+
+        Operation(String removedLine, String addedLine, int position) {
+            this.removedLine = removedLine;
+            this.addedLine = addedLine;
+            this.position = position;
+        }
+    }
+
+    /**
+     * Sets the list whose changes are recorded.
+     *
+     * @param tasks the journaled list
+     */
+    void track(TaskList tasks) {
+        this.tasks = tasks;
+    }
+
+    @Override
+    public synchronized void taskAdded(Task task) {
+        operations.add(new Operation(null, Storage.encodeTask(task, task.isDone()), -1));
+    }
+
+    @Override
+    public synchronized void taskRemoved(Task task, int index) {
+        operations.add(new Operation(Storage.encodeTask(task, task.isDone()), null, index));
+    }
+
+    @Override
+    public synchronized void taskDoneChanged(Task task) {
+        String before = Storage.encodeTask(task, !task.isDone());
+        int index = tasks == null ? -1 : tasks.indexOf(task);
+        operations.add(new Operation(before, Storage.encodeTask(task, task.isDone()), index));
+    }
+
+    @Override
+    public synchronized void taskLabelsChanged(Task task, String previousLabels) {
+        String before = Storage.encodeTask(task, task.isDone(), previousLabels);
+        int index = tasks == null ? -1 : tasks.indexOf(task);
+        operations.add(new Operation(before, Storage.encodeTask(task, task.isDone()), index));
+    }
+
+    synchronized boolean isEmpty() {
+        return operations.isEmpty();
+    }
+
+    synchronized int size() {
+        return operations.size();
+    }
+
+    synchronized void clear() {
+        operations.clear();
+    }
+
+    /**
+     * Drops the oldest changes, once a save has written them.
+     *
+     * @param count number of changes to drop
+     */
+    synchronized void dropFirst(int count) {
+        operations.subList(0, Math.min(count, operations.size())).clear();
+    }
+
+    /**
+     * Re-applies the journal, in order, to another version of the file: added tasks are appended, and
+     * removal, mark/unmark and label changes change the identical line nearest to the task's recorded position.
+     * Changes whose line no longer exists (e.g. the other process already deleted that task) are dropped.
+     *
+     * @param lines the other version's task lines; modified in place
+     * @return the lines with the journal applied
+     */
+    synchronized List<String> replayOnto(List<String> lines) {
+        for (Operation operation : operations) {
+            if (operation.removedLine == null) {
+                lines.add(operation.addedLine);
+                continue;
+            }
+            int index = nearestIndexOf(lines, operation.removedLine, operation.position);
+            if (index < 0) {
+                continue;
+            }
+            if (operation.addedLine == null) {
+                lines.remove(index);
+            } else {
+                lines.set(index, operation.addedLine);
+            }
+        }
+        return lines;
+    }
+
+    /** Returns the index of the line equal to {@code line} closest to {@code position}, or -1 if none. */
+    private static int nearestIndexOf(List<String> lines, String line, int position) {
+        int start = Math.max(0, Math.min(position, lines.size() - 1));
+        for (int offset = 0; start - offset >= 0 || start + offset < lines.size(); offset++) {
+            if (start - offset >= 0 && lines.get(start - offset).equals(line)) {
+                return start - offset;
+            }
+            if (offset > 0 && start + offset < lines.size() && lines.get(start + offset).equals(line)) {
+                return start + offset;
+            }
+        }
+        return -1;
+    }
+}
@@ -1,28 +1,80 @@
 package spot.storage;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.ClosedWatchServiceException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 import spot.task.Deadline;
 import spot.task.Event;
+import spot.task.Recurrence;
 import spot.task.Task;
 import spot.task.TaskList;
 import spot.task.Todo;
+import spot.util.StringPool;
 
 /**
  * Persists and loads the task list to/from a text file using a pipe-delimited format.
+ * Optionally watches the file for changes made by other programs and merges them incrementally:
+ * the file is split into content-hashed blocks of lines (see {@link LineBlocks}), and only blocks
+ * that differ from the last load or save are parsed again.
+ *
+ * <p>Several processes may share the file. Its first line carries a version stamp, and saves take an
+ * exclusive lock on a sidecar ".lock" file only while they check the stamp and write. A save that finds
+ * the file changed since this process last read or wrote it re-applies this process's unsaved changes
+ * (see {@link PendingChanges}) on top of the other writer's version instead of overwriting it. Files are
+ * replaced by an atomic rename, so readers never see a partly written file.
+ *
+ * <p>Done tasks can be moved out of the file into compressed archive segments (see {@link ArchiveStore}),
+ * which keeps the working set that is loaded on every start small.
  */
 public class Storage {
-    private static final String STORAGE_DELIMITER = " | ";
+    static final String STORAGE_DELIMITER = " | ";
+    /**
+     * First line of the file: this prefix followed by the number of saves made to it, zero-padded to a
+     * fixed width so that it can be rewritten in place (see {@link IndexedStorage}).
+     */
+    static final String VERSION_PREFIX = "#version ";
+    static final int VERSION_DIGITS = 19;
 
     private final Path dataPath;
+    private final Path lockPath;
+    private final Path tempPath;
+    private final PendingChanges pendingChanges = new PendingChanges();
+    private final ArchiveStore archiveStore;
+    /** The list whose changes are journaled; see {@link #track}. */
+    private TaskList trackedTasks;
+    /** Version stamp of the file as last loaded, merged or saved. */
+    private long knownVersion;
+    /** Set by the watcher thread when the data file may have changed on disk. */
+    private final AtomicBoolean changedOnDisk = new AtomicBoolean();
+    private WatchService watchService;
+    /** Blocks of the file as last loaded or saved, matching the task list; null if unknown. */
+    private LineBlocks snapshot;
+    private long snapshotSize = -1;
+    private long snapshotModifiedMillis = -1;
 
     /**
      * Creates storage that uses the given file path for reading and writing tasks.
@@ -31,6 +83,21 @@ public class Storage {
      */
     public Storage(String filePath) {
         this.dataPath = Paths.get(filePath);
+        this.lockPath = lockPathFor(dataPath);
+        this.tempPath = dataPath.resolveSibling(dataPath.getFileName() + ".tmp");
+        this.archiveStore = new ArchiveStore(dataPath.resolveSibling("archive"));
+    }
+
+    /**
+     * Journals the changes made to the list from now on until each save, so that a save which finds
+     * the file changed by another process can re-apply them on top of it. Untracked lists are saved as they are.
+     *
+     * @param tasks the list loaded from this storage
+     */
+    public void track(TaskList tasks) {
+        trackedTasks = tasks;
+        pendingChanges.track(tasks);
+        tasks.addListener(pendingChanges);
     }
 
     /**
@@ -42,11 +109,51 @@ public class Storage {
         if (Files.notExists(dataPath) || !Files.isRegularFile(dataPath)) {
             return new ArrayList<>();
         }
-        List<Task> tasks = new ArrayList<>();
         try {
             List<String> lines = Files.readAllLines(dataPath, StandardCharsets.UTF_8);
-            for (String line : lines) {
-                String trimmed = line.trim();
+            knownVersion = takeVersion(lines);
+            LineBlocks blocks = LineBlocks.split(lines);
+            List<Task> tasks = parseBlocks(lines, blocks, 0, blocks.blockCount());
+            rememberSnapshot(blocks);
+            return tasks;
+        } catch (IOException ioException) {
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Removes the version line from the start of the file's lines, if there is one.
+     *
+     * @param lines the file's lines; modified in place
+     * @return the version stamp, or 0 for a file without one
+     */
+    private static long takeVersion(List<String> lines) {
+        return lines.isEmpty() || !lines.get(0).startsWith(VERSION_PREFIX) ? 0 : parseVersion(lines.remove(0));
+    }
+
+    /** Returns the stamp of a version line, or 0 if the line is not one. */
+    static long parseVersion(String line) {
+        if (line == null || !line.startsWith(VERSION_PREFIX)) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(line.substring(VERSION_PREFIX.length()).trim());
+        } catch (NumberFormatException numberFormatException) {
+            return 0;
+        }
+    }
+
+    /**
+     * Parses the lines of blocks [fromBlock, toBlock), recording each block's task count.
+     *
+     * @return the parsed tasks, in file order
+     */
+    private static List<Task> parseBlocks(List<String> lines, LineBlocks blocks, int fromBlock, int toBlock) {
+        List<Task> tasks = new ArrayList<>();
+        for (int block = fromBlock; block < toBlock; block++) {
+            int tasksBefore = tasks.size();
+            for (int i = blocks.lineStart(block); i < blocks.lineEnd(block); i++) {
+                String trimmed = lines.get(i).trim();
                 if (trimmed.isEmpty()) {
                     continue;
                 }
@@ -55,49 +162,431 @@ public class Storage {
                     tasks.add(task);
                 }
             }
-        } catch (IOException ioException) {
-            return new ArrayList<>();
+            blocks.setTaskCount(block, tasks.size() - tasksBefore);
         }
         return tasks;
     }
 
+    /**
+     * Starts a background thread that watches the data file's directory, so that {@link #reloadChanges}
+     * knows when another program may have changed the file. Does nothing if already watching or if the
+     * directory cannot be watched.
+     */
+    public void startWatching() {
+        if (watchService != null) {
+            return;
+        }
+        Path directory = dataPath.toAbsolutePath().getParent();
+        WatchService service;
+        try {
+            Files.createDirectories(directory);
+            service = directory.getFileSystem().newWatchService();
+            directory.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException ioException) {
+            return;
+        }
+        watchService = service;
+        Thread watcher = new Thread(() -> watchDirectory(service), "spot-file-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    /** Stops the thread started by {@link #startWatching()}. */
+    public void stopWatching() {
+        if (watchService == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException ioException) {
+            // The watcher thread is a daemon; nothing else to release.
+        }
+        watchService = null;
+    }
+
+    private void watchDirectory(WatchService service) {
+        Path fileName = dataPath.getFileName();
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context())) {
+                        changedOnDisk.set(true);
+                    }
+                }
+                if (!key.reset()) {
+                    return;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException stopped) {
+            // Watching stopped.
+        }
+    }
+
+    /**
+     * Merges changes that other programs made to the data file since it was last loaded or saved,
+     * if the watcher has seen the file change. Call from the thread that owns the task list.
+     *
+     * @param tasks the task list loaded from (and last saved to) this storage
+     * @return true if the list changed
+     */
+    public boolean reloadChanges(TaskList tasks) {
+        if (!changedOnDisk.getAndSet(false)) {
+            return false;
+        }
+        try {
+            return mergeFromDisk(tasks);
+        } catch (IOException ioException) {
+            changedOnDisk.set(true);
+            return false;
+        }
+    }
+
+    /**
+     * Re-reads the data file and replaces only the tasks of blocks whose content changed.
+     * A missing file is ignored (the next save recreates it), and so is a change made while this list
+     * has unsaved changes (the next save re-applies them on top of the file).
+     *
+     * @param tasks the task list matching the previous snapshot
+     * @return true if the list changed
+     * @throws IOException if the file cannot be read
+     */
+    synchronized boolean mergeFromDisk(TaskList tasks) throws IOException {
+        if (!Files.isRegularFile(dataPath) || matchesSnapshotAttributes()
+                || (tasks == trackedTasks && !pendingChanges.isEmpty())) {
+            return false;
+        }
+        List<String> lines = Files.readAllLines(dataPath, StandardCharsets.UTF_8);
+        knownVersion = takeVersion(lines);
+        boolean changed = spliceChanges(tasks, snapshot, lines);
+        pendingChanges.clear();
+        return changed;
+    }
+
+    /**
+     * Brings the list from the lines it was last known to match to the given lines. New blocks are
+     * matched, in order, to unchanged blocks of the previous split by hash; each run of unmatched blocks
+     * between matches is parsed again and spliced into the list in place of the old blocks it replaces.
+     * Records the new split as the snapshot.
+     *
+     * @param tasks    the task list, matching {@code previous}
+     * @param previous blocks (with task counts) that the list matches; null to replace the whole list
+     * @param lines    the lines the list should match
+     * @return true if the list changed
+     */
+    private boolean spliceChanges(TaskList tasks, LineBlocks previous, List<String> lines) {
+        LineBlocks current = LineBlocks.split(lines);
+        if (previous == null || previous.taskStarts()[previous.blockCount()] != tasks.size()) {
+            // The list does not match a known snapshot; replace everything.
+            tasks.replaceRange(0, tasks.size(), parseBlocks(lines, current, 0, current.blockCount()));
+            rememberSnapshot(current);
+            return true;
+        }
+
+        Map<Long, ArrayDeque<Integer>> previousBlocksByHash = new HashMap<>();
+        for (int block = 0; block < previous.blockCount(); block++) {
+            previousBlocksByHash.computeIfAbsent(previous.hash(block), hash -> new ArrayDeque<>()).add(block);
+        }
+        // Each changed region: {first old block, end old block, first new block, end new block}.
+        List<int[]> changedRegions = new ArrayList<>();
+        int previousBlock = 0;
+        int unmatchedFrom = 0;
+        for (int block = 0; block < current.blockCount(); block++) {
+            ArrayDeque<Integer> candidates = previousBlocksByHash.get(current.hash(block));
+            while (candidates != null && !candidates.isEmpty() && candidates.peekFirst() < previousBlock) {
+                candidates.pollFirst();
+            }
+            if (candidates == null || candidates.isEmpty()) {
+                continue;
+            }
+            int match = candidates.pollFirst();
+            if (match > previousBlock || block > unmatchedFrom) {
+                changedRegions.add(new int[] { previousBlock, match, unmatchedFrom, block });
+            }
+            current.setTaskCount(block, previous.taskCount(match));
+            previousBlock = match + 1;
+            unmatchedFrom = block + 1;
+        }
+        if (previousBlock < previous.blockCount() || unmatchedFrom < current.blockCount()) {
+            changedRegions.add(new int[] { previousBlock, previous.blockCount(), unmatchedFrom, current.blockCount() });
+        }
+
+        // Splice from the last region back, so earlier list indices stay valid.
+        int[] previousTaskStarts = previous.taskStarts();
+        boolean changed = false;
+        for (int i = changedRegions.size() - 1; i >= 0; i--) {
+            int[] region = changedRegions.get(i);
+            List<Task> replacement = parseBlocks(lines, current, region[2], region[3]);
+            int taskFrom = previousTaskStarts[region[0]];
+            int taskTo = previousTaskStarts[region[1]];
+            if (taskFrom < taskTo || !replacement.isEmpty()) {
+                tasks.replaceRange(taskFrom, taskTo, replacement);
+                changed = true;
+            }
+        }
+        rememberSnapshot(current);
+        return changed;
+    }
+
+    /** Records the blocks and file attributes that the task list now matches. */
+    private void rememberSnapshot(LineBlocks blocks) {
+        snapshot = blocks;
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(dataPath, BasicFileAttributes.class);
+            snapshotSize = attributes.size();
+            snapshotModifiedMillis = attributes.lastModifiedTime().toMillis();
+        } catch (IOException ioException) {
+            snapshotSize = -1;
+            snapshotModifiedMillis = -1;
+        }
+    }
+
+    /** Returns whether the file's size and modification time are those of the last load or save. */
+    private boolean matchesSnapshotAttributes() throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(dataPath, BasicFileAttributes.class);
+        return snapshot != null && attributes.size() == snapshotSize
+                && attributes.lastModifiedTime().toMillis() == snapshotModifiedMillis;
+    }
+
     /**
      * Saves the task list to the data file.
-     * Creates the parent directory if it does not exist.
+     * Creates the parent directory if it does not exist. If another process saved since this one last
+     * loaded or saved, the list's unsaved changes are re-applied on top of that version, and the list
+     * is updated to match what was written.
      *
      * @param tasks the task list to persist
      */
-    public void save(TaskList tasks) {
-        save(tasks.asUnmodifiableList());
+    public synchronized void save(TaskList tasks) {
+        List<String> lines = encodeLines(tasks);
+        try {
+            if (dataPath.getParent() != null) {
+                Files.createDirectories(dataPath.getParent());
+            }
+            withLock(lockPath, () -> saveLocked(tasks, lines));
+        } catch (IOException ioException) {
+            // Silently ignore write errors; unsaved changes stay journaled for the next save.
+        }
+    }
+
+    /**
+     * Encodes the list for {@link #write}, so that the file I/O of a save can run without holding the lock
+     * that guards the list. Call with no change to the list in progress.
+     *
+     * @param tasks the task list to persist
+     * @return the list's lines at this moment
+     */
+    public synchronized EncodedList encode(TaskList tasks) {
+        return new EncodedList(tasks, encodeLines(tasks), pendingChanges.size());
     }
 
     /**
-     * Writes the given task list to the data file, creating parent directories if needed.
+     * Writes lines taken by {@link #encode}; the list may have changed since (those changes stay journaled
+     * for the next save). If another process changed the file since this one last read or wrote it, nothing
+     * is written: call {@link #save} instead, with no change in progress, to merge.
      *
-     * @param tasks the list of tasks to write
+     * @param encoded the encoded list
+     * @return false if the file changed on disk and {@link #save} must merge; true otherwise
      */
-    private void save(List<Task> tasks) {
+    public synchronized boolean write(EncodedList encoded) {
+        boolean[] conflict = new boolean[1];
         try {
             if (dataPath.getParent() != null) {
                 Files.createDirectories(dataPath.getParent());
             }
-            List<String> lines = new ArrayList<>();
-            for (Task task : tasks) {
-                lines.add(encodeTask(task));
-            }
-            Files.write(dataPath, lines, StandardCharsets.UTF_8);
+            withLock(lockPath, () -> {
+                if (encoded.tasks == trackedTasks && changedByOthers()) {
+                    conflict[0] = true;
+                    return;
+                }
+                writeAtomically(encoded.lines, knownVersion + 1);
+                knownVersion++;
+                rememberSnapshot(blocksOfEncodedLines(encoded.lines));
+                pendingChanges.dropFirst(encoded.journalLength);
+            });
         } catch (IOException ioException) {
-            // Silently ignore write errors.
+            // Silently ignore write errors; unsaved changes stay journaled for the next save.
+        }
+        return !conflict[0];
+    }
+
+    /** A list's encoded lines and journal length at one moment; see {@link #encode}. */
+    public static final class EncodedList {
+        private final TaskList tasks;
+        private final List<String> lines;
+        private final int journalLength;
+
+        private EncodedList(TaskList tasks, List<String> lines, int journalLength) {
+            this.tasks = tasks;
+            this.lines = lines;
+            this.journalLength = journalLength;
         }
     }
 
+    private static List<String> encodeLines(TaskList tasks) {
+        List<String> lines = new ArrayList<>(tasks.size());
+        for (Task task : tasks.asUnmodifiableList()) {
+            lines.add(encodeTask(task, task.isDone()));
+        }
+        return lines;
+    }
+
+    /** Work done while holding the cross-process lock. */
+    interface LockedAction {
+        void run() throws IOException;
+    }
+
+    /** Returns the sidecar lock file that guards writes to the given data file. */
+    static Path lockPathFor(Path dataPath) {
+        return dataPath.resolveSibling(dataPath.getFileName() + ".lock");
+    }
+
+    /** Formats the version line for the given stamp. */
+    static String versionLine(long version) {
+        return VERSION_PREFIX + String.format("%0" + VERSION_DIGITS + "d", version);
+    }
+
+    /** Runs the action while holding an exclusive lock on the given lock file. */
+    static void withLock(Path lockPath, LockedAction action) throws IOException {
+        try (FileChannel lockChannel = FileChannel.open(lockPath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE)) {
+            FileLock lock = lockChannel.lock();
+            try {
+                action.run();
+            } finally {
+                lock.release();
+            }
+        }
+    }
+
+    /**
+     * Writes the tasks to a new compressed archive segment under the "archive" directory next to the data
+     * file. Segments are never rewritten; archived tasks are not loaded by {@link #load()} but can be
+     * searched with {@link #findArchived}. Callers then remove the tasks from the list and save it.
+     *
+     * @param tasks the tasks to archive
+     * @throws IOException if the segment cannot be written
+     */
+    public void archive(List<Task> tasks) throws IOException {
+        List<String> lines = new ArrayList<>(tasks.size());
+        List<String> displayStrings = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            lines.add(encodeTask(task, task.isDone()));
+            displayStrings.add(task.getDisplayString());
+        }
+        if (dataPath.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(dataPath.toAbsolutePath().getParent());
+        }
+        withLock(lockPath, () -> archiveStore.writeSegment(lines, displayStrings));
+    }
+
     /**
-     * Parses a single storage line (T|0|desc or D|0|desc|by or E|0|desc|from|to) into a Task.
+     * Returns archived tasks whose display string contains the keyword (case-insensitive), oldest
+     * segment first. Only segments whose Bloom filter admits the keyword are decompressed and scanned,
+     * so a search with no matches usually reads no segment at all.
+     *
+     * @param keyword the search keyword (empty matches no tasks)
+     * @return matching archived tasks (may be empty)
+     * @throws IOException if a segment cannot be read
+     */
+    public List<Task> findArchived(String keyword) throws IOException {
+        List<Task> matching = new ArrayList<>();
+        if (keyword.isEmpty()) {
+            return matching;
+        }
+        String lowerKeyword = keyword.toLowerCase();
+        for (Path segment : archiveStore.segments()) {
+            if (!archiveStore.mightContain(segment, lowerKeyword)) {
+                continue;
+            }
+            archiveStore.forEachLine(segment, line -> {
+                Task task = parseTaskLine(line);
+                if (task != null && task.getDisplayString().toLowerCase().contains(lowerKeyword)) {
+                    matching.add(task);
+                }
+            });
+        }
+        return matching;
+    }
+
+    /**
+     * Writes the list, or, if another process changed the file, the list's unsaved changes re-applied to
+     * that file; then updates the list to match what was written. Must be called while holding the lock.
+     *
+     * @param tasks the task list being saved
+     * @param lines the list's encoded lines
+     * @throws IOException if the file cannot be read or written
+     */
+    private void saveLocked(TaskList tasks, List<String> lines) throws IOException {
+        List<String> written = lines;
+        if (tasks == trackedTasks && changedByOthers()) {
+            written = Files.readAllLines(dataPath, StandardCharsets.UTF_8);
+            knownVersion = Math.max(knownVersion, takeVersion(written));
+            pendingChanges.replayOnto(written);
+        }
+        writeAtomically(written, knownVersion + 1);
+        knownVersion++;
+        if (written == lines) {
+            rememberSnapshot(blocksOfEncodedLines(lines));
+        } else {
+            spliceChanges(tasks, blocksOfEncodedLines(lines), written);
+        }
+        pendingChanges.clear();
+    }
+
+    /**
+     * Returns whether the file on disk is no longer the one this process last loaded, merged or saved.
+     * Must be called while holding the lock.
+     */
+    private boolean changedByOthers() throws IOException {
+        if (!Files.isRegularFile(dataPath)) {
+            return false;
+        }
+        String firstLine;
+        try (BufferedReader reader = Files.newBufferedReader(dataPath, StandardCharsets.UTF_8)) {
+            firstLine = reader.readLine();
+        }
+        return parseVersion(firstLine) != knownVersion || !matchesSnapshotAttributes();
+    }
+
+    /** Writes the version line and task lines to a temporary file and renames it over the data file. */
+    private void writeAtomically(List<String> lines, long version) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8)) {
+            writer.write(versionLine(version));
+            writer.newLine();
+            for (String line : lines) {
+                writer.write(line);
+                writer.newLine();
+            }
+        }
+        try {
+            Files.move(tempPath, dataPath, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException atomicMoveNotSupportedException) {
+            Files.move(tempPath, dataPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /** Splits lines produced by {@link #encodeTask} into blocks, counting one task per non-empty line. */
+    private static LineBlocks blocksOfEncodedLines(List<String> lines) {
+        LineBlocks blocks = LineBlocks.split(lines);
+        for (int block = 0; block < blocks.blockCount(); block++) {
+            int taskCount = 0;
+            for (int i = blocks.lineStart(block); i < blocks.lineEnd(block); i++) {
+                taskCount += lines.get(i).isEmpty() ? 0 : 1;
+            }
+            blocks.setTaskCount(block, taskCount);
+        }
+        return blocks;
+    }
+
+    /**
+     * Parses a single storage line (T|0|desc, D|0|desc|by, D|0|desc|by|every or E|0|desc|from|to) into a Task.
+     * Any of these may end with a labels field (e.g. "#work !high").
      *
      * @param line one line from the data file
      * @return the parsed task, or null if the line is invalid or corrupted
      */
-    private static Task parseTaskLine(String line) {
+    static Task parseTaskLine(String line) {
+        StringPool pool = StringPool.shared();
         try {
             String[] parts = line.split(" \\| ", -1);
             if (parts.length < 3) {
@@ -107,54 +596,98 @@ public class Storage {
             int done = Integer.parseInt(parts[1].trim());
             boolean isDone = (done == 1);
 
-            if ("T".equals(type) && parts.length == 3) {
-                Todo todo = new Todo(parts[2].trim());
-                todo.setDone(isDone);
-                return todo;
-            }
-            if ("D".equals(type) && parts.length == 4) {
-                String byStr = parts[3].trim();
-                LocalDateTime by;
-                if (byStr.contains("T")) {
-                    by = LocalDateTime.parse(byStr);
-                } else {
-                    by = LocalDate.parse(byStr).atStartOfDay();
-                }
-                Deadline deadline = new Deadline(parts[2].trim(), by);
-                deadline.setDone(isDone);
-                return deadline;
+            boolean isRecurring = "D".equals(type) && parts.length > 4 && Recurrence.of(parts[4]) != null;
+            int fieldCount = switch (type) {
+            case "T" -> 3;
+            case "D" -> isRecurring ? 5 : 4;
+            case "E" -> 5;
+            default -> -1;
+            };
+            boolean hasLabels = parts.length == fieldCount + 1 && isLabelsField(parts[fieldCount]);
+            if (fieldCount < 0 || (parts.length != fieldCount && !hasLabels)) {
+                return null;
             }
-            if ("E".equals(type) && parts.length == 5) {
-                Event event = new Event(parts[2].trim(), parts[3].trim(), parts[4].trim());
-                event.setDone(isDone);
-                return event;
+            String description = pool.intern(parts[2].trim());
+            Task task = switch (type) {
+            case "T" -> new Todo(description);
+            case "D" -> new Deadline(description, parseStoredDateTime(parts[3].trim()),
+                    isRecurring ? Recurrence.of(parts[4]) : null);
+            default -> new Event(description, pool.intern(parts[3].trim()), pool.intern(parts[4].trim()));
+            };
+            if (hasLabels) {
+                task.setLabels(parts[fieldCount]);
             }
+            task.setDone(isDone);
+            return task;
         } catch (NumberFormatException | ArrayIndexOutOfBoundsException | DateTimeParseException parseException) {
             // Corrupted or invalid line; skip.
         }
         return null;
     }
 
+    /** Returns whether a stored field holds labels: it starts with a tag or priority word. */
+    private static boolean isLabelsField(String field) {
+        String firstWord = field.trim().split(" ", 2)[0];
+        return Task.isTagWord(firstWord) || Task.isPriorityWord(firstWord);
+    }
+
+    /**
+     * Parses a stored due date: ISO date-time (2025-02-01T14:30) or ISO date (2025-02-01, at midnight).
+     *
+     * @param value the stored value
+     * @return the parsed date-time
+     * @throws DateTimeParseException if the value is in neither format
+     */
+    static LocalDateTime parseStoredDateTime(String value) {
+        if (value.contains("T")) {
+            return LocalDateTime.parse(value);
+        }
+        return LocalDate.parse(value).atStartOfDay();
+    }
+
     /**
-     * Encodes a single task to a storage line (T|0|desc or D|0|desc|by or E|0|desc|from|to).
+     * Encodes a single task to a storage line (T|0|desc, D|0|desc|by, D|0|desc|by|every or E|0|desc|from|to),
+     * followed by a labels field if the task has tags or a priority.
+     * A recurring deadline is one line holding its rule; its occurrences are never written.
      *
-     * @param task the task to encode
+     * @param task   the task to encode
+     * @param isDone the done state to encode (normally the task's own)
      * @return the line string, or empty string for unknown task types
      */
-    private static String encodeTask(Task task) {
-        int done = task.isDone() ? 1 : 0;
+    static String encodeTask(Task task, boolean isDone) {
+        return encodeTask(task, isDone, task.getLabels());
+    }
+
+    /**
+     * Encodes a single task as {@link #encodeTask(Task, boolean)} does, but with the given labels, e.g. the
+     * ones it had before a label change.
+     *
+     * @param task   the task to encode
+     * @param isDone the done state to encode
+     * @param labels the labels to encode, as returned by {@link Task#getLabels()}
+     * @return the line string, or empty string for unknown task types
+     */
+    static String encodeTask(Task task, boolean isDone, String labels) {
+        int done = isDone ? 1 : 0;
         if (task instanceof Todo) {
-            return "T" + STORAGE_DELIMITER + done + STORAGE_DELIMITER + task.getDescription();
+            return withLabels("T" + STORAGE_DELIMITER + done + STORAGE_DELIMITER + task.peekDescription(), labels);
         }
         if (task instanceof Deadline deadline) {
             String byIso = deadline.getBy().toString();
-            return "D" + STORAGE_DELIMITER + done + STORAGE_DELIMITER + task.getDescription()
+            String line = "D" + STORAGE_DELIMITER + done + STORAGE_DELIMITER + task.peekDescription()
                     + STORAGE_DELIMITER + byIso;
+            Recurrence recurrence = deadline.getRecurrence();
+            return withLabels(recurrence == null ? line : line + STORAGE_DELIMITER + recurrence.keyword(), labels);
         }
         if (task instanceof Event event) {
-            return "E" + STORAGE_DELIMITER + done + STORAGE_DELIMITER + task.getDescription()
-                    + STORAGE_DELIMITER + event.getFrom() + STORAGE_DELIMITER + event.getTo();
+            return withLabels("E" + STORAGE_DELIMITER + done + STORAGE_DELIMITER + task.peekDescription()
+                    + STORAGE_DELIMITER + event.getFrom() + STORAGE_DELIMITER + event.getTo(), labels);
         }
         return "";
     }
+
+    /** Appends a labels field to an encoded line, if there are labels. */
+    private static String withLabels(String line, String labels) {
+        return labels.isEmpty() ? line : line + STORAGE_DELIMITER + labels;
+    }
 }
@@ -0,0 +1,158 @@
+package spot.storage;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import spot.task.Deadline;
+import spot.task.Event;
+import spot.task.Task;
+import spot.task.Todo;
+
+/**
+ * Writes tasks to CSV or JSON, one record at a time through a bounded buffer.
+ */
+public final class TaskExporter {
+
+    private TaskExporter() {
+    }
+
+    /**
+     * Exports tasks to the given file; the format is chosen by extension (.csv or .json).
+     * Creates the parent directory if it does not exist.
+     *
+     * @param path  destination file
+     * @param tasks tasks to write, in order
+     * @return the number of tasks written
+     * @throws IOException if the extension is unsupported or the file cannot be written
+     */
+    public static int export(Path path, Iterable<Task> tasks) throws IOException {
+        TransferFormat format = TransferFormat.of(path);
+        if (format == null) {
+            throw new IOException("Unsupported file type (use .csv or .json): " + path);
+        }
+        if (path.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+        }
+        try (Writer writer = new BufferedWriter(
+                new OutputStreamWriter(Files.newOutputStream(path), StandardCharsets.UTF_8),
+                TransferFormat.BUFFER_SIZE)) {
+            return format == TransferFormat.CSV ? writeCsv(writer, tasks) : writeJson(writer, tasks);
+        }
+    }
+
+    private static int writeCsv(Writer writer, Iterable<Task> tasks) throws IOException {
+        writer.write(String.join(",", TransferFormat.FIELDS));
+        writer.write('\n');
+        int count = 0;
+        for (Task task : tasks) {
+            String[] values = toFields(task);
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeCsvValue(writer, values[i]);
+            }
+            writer.write('\n');
+            count++;
+        }
+        return count;
+    }
+
+    private static int writeJson(Writer writer, Iterable<Task> tasks) throws IOException {
+        writer.write('[');
+        int count = 0;
+        for (Task task : tasks) {
+            writer.write(count == 0 ? "\n  {" : ",\n  {");
+            String[] values = toFields(task);
+            boolean first = true;
+            for (int i = 0; i < values.length; i++) {
+                if (values[i].isEmpty() && i > 2) {
+                    continue;
+                }
+                if (!first) {
+                    writer.write(", ");
+                }
+                first = false;
+                writeJsonString(writer, TransferFormat.FIELDS[i]);
+                writer.write(": ");
+                if (i == 1) {
+                    writer.write(values[i]);
+                } else {
+                    writeJsonString(writer, values[i]);
+                }
+            }
+            writer.write('}');
+            count++;
+        }
+        writer.write(count == 0 ? "]\n" : "\n]\n");
+        return count;
+    }
+
+    /**
+     * Returns the field values of a task in {@link TransferFormat#FIELDS} order; absent fields are empty.
+     * Tags are space-separated, without the '#'.
+     */
+    private static String[] toFields(Task task) {
+        String done = Boolean.toString(task.isDone());
+        String tags = String.join(" ", task.getTags());
+        String priority = task.getPriority() == null ? "" : task.getPriority().keyword();
+        if (task instanceof Deadline deadline) {
+            String every = deadline.getRecurrence() == null ? "" : deadline.getRecurrence().keyword();
+            return new String[] {
+                "deadline", done, task.peekDescription(), deadline.getBy().toString(), "", "", every, tags, priority,
+            };
+        }
+        if (task instanceof Event event) {
+            return new String[] {
+                "event", done, task.peekDescription(), "", event.getFrom(), event.getTo(), "", tags, priority,
+            };
+        }
+        String type = task instanceof Todo ? "todo" : "";
+        return new String[] { type, done, task.peekDescription(), "", "", "", "", tags, priority };
+    }
+
+    /** Writes a CSV value, quoting it if it contains a comma, quote or line break. */
+    private static void writeCsvValue(Writer writer, String value) throws IOException {
+        boolean needsQuotes = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!needsQuotes) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    private static void writeJsonString(Writer writer, String value) throws IOException {
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+            case '"' -> writer.write("\\\"");
+            case '\\' -> writer.write("\\\\");
+            case '\n' -> writer.write("\\n");
+            case '\r' -> writer.write("\\r");
+            case '\t' -> writer.write("\\t");
+            default -> {
+                if (c < 0x20) {
+                    writer.write(String.format("\\u%04x", (int) c));
+                } else {
+                    writer.write(c);
+                }
+            }
+            }
+        }
+        writer.write('"');
+    }
+}
@@ -0,0 +1,442 @@
+package spot.storage;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import spot.task.Deadline;
+import spot.task.Event;
+import spot.task.Priority;
+import spot.task.Recurrence;
+import spot.task.Task;
+import spot.task.TaskList;
+import spot.task.Todo;
+import spot.util.StringPool;
+
+/**
+ * Reads tasks from CSV or JSON (as written by {@link TaskExporter}) one record at a time,
+ * so the document is never held in memory as a whole. Parsed tasks are added to the list in batches.
+ */
+public final class TaskImporter {
+    private static final int BATCH_SIZE = 1024;
+    /** Longest single record accepted; guards the per-record buffer against malformed input. */
+    private static final int MAX_RECORD_CHARS = 1 << 20;
+
+    private TaskImporter() {
+    }
+
+    /**
+     * Outcome of an import: how many records became tasks, how many were skipped, and any parse error
+     * that stopped the import early (records before it are kept).
+     */
+    public static final class Result {
+        private final int imported;
+        private final int skipped;
+        private final String error;
+
+        private Result(int imported, int skipped, String error) {
+            this.imported = imported;
+            this.skipped = skipped;
+            this.error = error;
+        }
+
+        /**
+         * Returns the number of tasks added to the list.
+         *
+         * @return imported task count
+         */
+        public int imported() {
+            return imported;
+        }
+
+        /**
+         * Returns the number of records skipped because they were incomplete or invalid.
+         *
+         * @return skipped record count
+         */
+        public int skipped() {
+            return skipped;
+        }
+
+        /**
+         * Returns the error that stopped the import early, or null if the whole file was read.
+         *
+         * @return the error message, or null
+         */
+        public String error() {
+            return error;
+        }
+    }
+
+    /**
+     * Imports tasks from the given file into the list; the format is chosen by extension (.csv or .json).
+     * Does not persist; callers save once afterwards.
+     *
+     * @param path  source file
+     * @param tasks list to append to
+     * @return counts of imported and skipped records
+     * @throws IOException if the extension is unsupported or the file cannot be read
+     */
+    public static Result importInto(Path path, TaskList tasks) throws IOException {
+        TransferFormat format = TransferFormat.of(path);
+        if (format == null) {
+            throw new IOException("Unsupported file type (use .csv or .json): " + path);
+        }
+        if (!Files.isRegularFile(path)) {
+            throw new IOException("File not found: " + path);
+        }
+        try (Reader reader = new BufferedReader(
+                new InputStreamReader(Files.newInputStream(path), StandardCharsets.UTF_8),
+                TransferFormat.BUFFER_SIZE)) {
+            BatchSink sink = new BatchSink(tasks);
+            String error = null;
+            try {
+                if (format == TransferFormat.CSV) {
+                    new CsvRecordReader(reader).readAll(sink);
+                } else {
+                    new JsonRecordReader(reader).readAll(sink);
+                }
+            } catch (BadRecordException badRecordException) {
+                error = badRecordException.getMessage();
+            }
+            sink.flush();
+            return new Result(sink.imported, sink.skipped, error);
+        }
+    }
+
+    /**
+     * Builds a task from a record's fields (see {@link TransferFormat#FIELDS}).
+     *
+     * @param fields field values by name
+     * @return the task, or null if required fields are missing or invalid
+     */
+    static Task toTask(Map<String, String> fields) {
+        String type = fields.getOrDefault("type", "").trim().toLowerCase(Locale.ROOT);
+        // The data file is line-based and " | "-delimited, so imported text is flattened to fit one field.
+        StringPool pool = StringPool.shared();
+        String description = pool.intern(toStoredField(fields.getOrDefault("description", "")));
+        if (description.isEmpty()) {
+            return null;
+        }
+        Task task;
+        switch (type) {
+        case "todo", "t" -> task = new Todo(description);
+        case "deadline", "d" -> {
+            String by = fields.getOrDefault("by", "").trim();
+            String every = fields.getOrDefault("every", "").trim();
+            Recurrence recurrence = every.isEmpty() ? null : Recurrence.of(every);
+            if (!every.isEmpty() && recurrence == null) {
+                return null;
+            }
+            try {
+                LocalDateTime dueDateTime = Storage.parseStoredDateTime(by);
+                task = new Deadline(description, dueDateTime, recurrence);
+            } catch (DateTimeParseException dateTimeParseException) {
+                return null;
+            }
+        }
+        case "event", "e" -> {
+            String from = pool.intern(toStoredField(fields.getOrDefault("from", "")));
+            String to = pool.intern(toStoredField(fields.getOrDefault("to", "")));
+            if (from.isEmpty() || to.isEmpty()) {
+                return null;
+            }
+            task = new Event(description, from, to);
+        }
+        default -> {
+            return null;
+        }
+        }
+        String tags = toStoredField(fields.getOrDefault("tags", ""));
+        if (!tags.isEmpty()) {
+            task.setTags(List.of(tags.split("[\\s,]+")));
+        }
+        String priority = fields.getOrDefault("priority", "").trim();
+        if (!priority.isEmpty()) {
+            if (Priority.of(priority) == null) {
+                return null;
+            }
+            task.setPriority(Priority.of(priority));
+        }
+        String done = fields.getOrDefault("done", "").trim();
+        task.setDone(done.equalsIgnoreCase("true") || done.equals("1"));
+        return task;
+    }
+
+    /**
+     * Fits imported text into one field of a data file line: line breaks become spaces, and the field
+     * delimiter " | " becomes " / ", which would otherwise split the field when the file is next loaded.
+     */
+    private static String toStoredField(String value) {
+        String field = value.replace("\r\n", " ").replace('\n', ' ').replace('\r', ' ').trim();
+        while (field.contains(Storage.STORAGE_DELIMITER)) {
+            field = field.replace(Storage.STORAGE_DELIMITER, " / ");
+        }
+        return field;
+    }
+
+    /** Signals a structural error in the input document. */
+    private static final class BadRecordException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        BadRecordException(String message) {
+            super(message);
+        }
+    }
+
+    /** Converts records to tasks and appends them to the list in batches. */
+    private static final class BatchSink {
+        private final TaskList tasks;
+        private final List<Task> batch = new ArrayList<>(BATCH_SIZE);
+        private int imported;
+        private int skipped;
+
+        BatchSink(TaskList tasks) {
+            this.tasks = tasks;
+        }
+
+        void accept(Map<String, String> fields) {
+            Task task = toTask(fields);
+            if (task == null) {
+                skipped++;
+                return;
+            }
+            batch.add(task);
+            if (batch.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() {
+            tasks.addAll(batch);
+            imported += batch.size();
+            batch.clear();
+        }
+    }
+
+    /** Streaming RFC 4180 reader: the first row names the columns, quoted fields may span lines. */
+    private static final class CsvRecordReader {
+        private final Reader reader;
+        private final StringBuilder field = new StringBuilder();
+        private int recordChars;
+
+        CsvRecordReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        void readAll(BatchSink sink) throws IOException, BadRecordException {
+            List<String> header = readRow();
+            if (header == null) {
+                return;
+            }
+            for (int i = 0; i < header.size(); i++) {
+                header.set(i, header.get(i).trim().toLowerCase(Locale.ROOT));
+            }
+            List<String> row;
+            while ((row = readRow()) != null) {
+                if (row.size() == 1 && row.get(0).isBlank()) {
+                    continue;
+                }
+                Map<String, String> fields = new HashMap<>();
+                for (int i = 0; i < header.size() && i < row.size(); i++) {
+                    fields.put(header.get(i), row.get(i));
+                }
+                sink.accept(fields);
+            }
+        }
+
+        /** Reads one row, or returns null at end of input. */
+        private List<String> readRow() throws IOException, BadRecordException {
+            List<String> row = new ArrayList<>();
+            field.setLength(0);
+            recordChars = 0;
+            boolean inQuotes = false;
+            boolean sawAnything = false;
+            int c;
+            while ((c = reader.read()) != -1) {
+                sawAnything = true;
+                if (++recordChars > MAX_RECORD_CHARS) {
+                    throw new BadRecordException("CSV record too long");
+                }
+                if (inQuotes) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        int next = reader.read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            inQuotes = false;
+                            if (next != -1) {
+                                reader.reset();
+                            }
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    inQuotes = true;
+                } else if (c == ',') {
+                    row.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+            }
+            if (inQuotes) {
+                throw new BadRecordException("CSV has an unterminated quoted field");
+            }
+            if (!sawAnything) {
+                return null;
+            }
+            row.add(field.toString());
+            return row;
+        }
+    }
+
+    /** Streaming reader for a JSON array of flat objects with string, boolean, number or null values. */
+    private static final class JsonRecordReader {
+        private final Reader reader;
+        private final StringBuilder token = new StringBuilder();
+        private int peeked = -2;
+
+        JsonRecordReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        void readAll(BatchSink sink) throws IOException, BadRecordException {
+            int c = nextNonWhitespace();
+            if (c == -1) {
+                return;
+            }
+            expect(c, '[');
+            c = nextNonWhitespace();
+            if (c == ']') {
+                return;
+            }
+            while (true) {
+                expect(c, '{');
+                sink.accept(readObject());
+                c = nextNonWhitespace();
+                if (c == ']') {
+                    return;
+                }
+                expect(c, ',');
+                c = nextNonWhitespace();
+            }
+        }
+
+        /** Reads the members of an object whose opening brace has been consumed. */
+        private Map<String, String> readObject() throws IOException, BadRecordException {
+            Map<String, String> fields = new HashMap<>();
+            int c = nextNonWhitespace();
+            if (c == '}') {
+                return fields;
+            }
+            while (true) {
+                expect(c, '"');
+                String key = readString().toLowerCase(Locale.ROOT);
+                expect(nextNonWhitespace(), ':');
+                fields.put(key, readValue());
+                c = nextNonWhitespace();
+                if (c == '}') {
+                    return fields;
+                }
+                expect(c, ',');
+                c = nextNonWhitespace();
+            }
+        }
+
+        private String readValue() throws IOException, BadRecordException {
+            int c = nextNonWhitespace();
+            if (c == '"') {
+                return readString();
+            }
+            token.setLength(0);
+            while (c != -1 && c != ',' && c != '}' && !Character.isWhitespace(c)) {
+                if (c == '{' || c == '[' || token.length() > 64) {
+                    throw new BadRecordException("JSON values must be strings, numbers, booleans or null");
+                }
+                token.append((char) c);
+                c = read();
+            }
+            peeked = c;
+            String literal = token.toString();
+            return literal.equals("null") ? "" : literal;
+        }
+
+        /** Reads a string whose opening quote has been consumed. */
+        private String readString() throws IOException, BadRecordException {
+            token.setLength(0);
+            int c;
+            while ((c = read()) != '"') {
+                if (c == -1 || token.length() > MAX_RECORD_CHARS) {
+                    throw new BadRecordException("JSON has an unterminated string");
+                }
+                if (c == '\\') {
+                    c = read();
+                    switch (c) {
+                    case 'n' -> token.append('\n');
+                    case 'r' -> token.append('\r');
+                    case 't' -> token.append('\t');
+                    case 'b' -> token.append('\b');
+                    case 'f' -> token.append('\f');
+                    case 'u' -> token.append(readUnicodeEscape());
+                    case -1 -> throw new BadRecordException("JSON has an unterminated string");
+                    default -> token.append((char) c);
+                    }
+                } else {
+                    token.append((char) c);
+                }
+            }
+            return token.toString();
+        }
+
+        private char readUnicodeEscape() throws IOException, BadRecordException {
+            int value = 0;
+            for (int i = 0; i < 4; i++) {
+                int digit = Character.digit(read(), 16);
+                if (digit < 0) {
+                    throw new BadRecordException("JSON has an invalid \\u escape");
+                }
+                value = value * 16 + digit;
+            }
+            return (char) value;
+        }
+
+        private int nextNonWhitespace() throws IOException {
+            int c;
+            do {
+                c = read();
+            } while (c != -1 && Character.isWhitespace(c));
+            return c;
+        }
+
+        private int read() throws IOException {
+            if (peeked != -2) {
+                int c = peeked;
+                peeked = -2;
+                return c;
+            }
+            return reader.read();
+        }
+
+        private static void expect(int actual, char expected) throws BadRecordException {
+            if (actual != expected) {
+                String found = actual == -1 ? "end of file" : "'" + (char) actual + "'";
+                throw new BadRecordException("JSON expected '" + expected + "' but found " + found);
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package spot.storage;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * File formats supported by import and export, chosen by file extension.
+ * Both formats use the same fields: type, done, description, by, from, to, every, tags, priority.
+ */
+enum TransferFormat {
+    CSV,
+    JSON;
+
+    /** Field names, in CSV column order. */
+    static final String[] FIELDS = { "type", "done", "description", "by", "from", "to", "every", "tags",
+        "priority" };
+    /** Size of the read and write buffers; documents are streamed through buffers of this size. */
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Returns the format for the given file name (".csv" or ".json", case-insensitive).
+     *
+     * @param path the file path
+     * @return the format, or null if the extension is not supported
+     */
+    static TransferFormat of(Path path) {
+        String name = path.getFileName() == null ? "" : path.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".json")) {
+            return JSON;
+        }
+        return null;
+    }
+}
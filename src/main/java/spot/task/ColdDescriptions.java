@@ -0,0 +1,154 @@
+package spot.task;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Spill file for the descriptions a {@link TaskList} evicts to stay within its memory budget.
+ * Descriptions are appended to a temporary file as length-prefixed UTF-8 records and read back by
+ * offset; the file is never rewritten, so an offset stays valid for the life of the list. The most
+ * recently read descriptions are kept in a small LRU cache bounded by estimated bytes, so paging
+ * through the same cold tasks does not re-read the file every time.
+ */
+final class ColdDescriptions implements Closeable {
+    private static final int LENGTH_BYTES = Integer.BYTES;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final long cacheBudget;
+    private final Map<Long, String> recentlyRead = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedBytes;
+    private long end;
+
+    /**
+     * Creates an empty spill file in the default temporary directory, deleted when closed or at exit.
+     *
+     * @param cacheBudget estimated bytes of rehydrated descriptions to keep cached
+     * @throws IOException if the file cannot be created
+     */
+    ColdDescriptions(long cacheBudget) throws IOException {
+        this.file = Files.createTempFile("spot-descriptions", ".bin");
+        this.file.toFile().deleteOnExit();
+        this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.cacheBudget = cacheBudget;
+    }
+
+    /**
+     * Returns the estimated heap cost of holding a description as a string.
+     *
+     * @param description the description
+     * @return estimated bytes (object headers plus one byte per character)
+     */
+    static long estimatedBytes(String description) {
+        return 40L + description.length();
+    }
+
+    /**
+     * Appends a description to the file.
+     *
+     * @param description the description to spill
+     * @return the offset to read it back from
+     */
+    synchronized long write(String description) {
+        byte[] bytes = description.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer record = ByteBuffer.allocate(LENGTH_BYTES + bytes.length);
+        record.putInt(bytes.length).put(bytes).flip();
+        long offset = end;
+        try {
+            while (record.hasRemaining()) {
+                end += channel.write(record, end);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot spill a task description", e);
+        }
+        return offset;
+    }
+
+    /**
+     * Reads a description back, from the cache if it was read recently.
+     *
+     * @param offset offset returned by {@link #write}
+     * @return the description
+     */
+    synchronized String read(long offset) {
+        String cached = recentlyRead.get(offset);
+        if (cached != null) {
+            return cached;
+        }
+        String description = readWithoutCaching(offset);
+        cache(offset, description);
+        return description;
+    }
+
+    /**
+     * Reads a description back without adding it to the cache, so a pass over every spilled
+     * description (such as a save) neither evicts the recently read ones nor keeps its own.
+     *
+     * @param offset offset returned by {@link #write}
+     * @return the description
+     */
+    synchronized String readWithoutCaching(long offset) {
+        String cached = recentlyRead.get(offset);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            ByteBuffer length = ByteBuffer.allocate(LENGTH_BYTES);
+            readFully(length, offset);
+            ByteBuffer bytes = ByteBuffer.allocate(length.flip().getInt());
+            readFully(bytes, offset + LENGTH_BYTES);
+            return new String(bytes.array(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read a spilled task description", e);
+        }
+    }
+
+    /**
+     * Returns the estimated bytes of descriptions held in the read cache.
+     *
+     * @return cached bytes, at most the cache budget
+     */
+    synchronized long cachedBytes() {
+        return cachedBytes;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        recentlyRead.clear();
+        cachedBytes = 0;
+        channel.close();
+        Files.deleteIfExists(file);
+    }
+
+    private void readFully(ByteBuffer buffer, long offset) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new IOException("Spill file ended early at offset " + offset);
+            }
+        }
+    }
+
+    private void cache(long offset, String description) {
+        long size = estimatedBytes(description);
+        if (size > cacheBudget) {
+            return;
+        }
+        recentlyRead.put(offset, description);
+        cachedBytes += size;
+        Iterator<Map.Entry<Long, String>> eldest = recentlyRead.entrySet().iterator();
+        while (cachedBytes > cacheBudget) {
+            cachedBytes -= estimatedBytes(eldest.next().getValue());
+            eldest.remove();
+        }
+    }
+}
@@ -1,24 +1,51 @@
 package spot.task;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneOffset;
 import spot.util.DateTimeFormats;
 
 /**
  * A task with a due date/time (e.g. "submit report by 2025-02-01").
+ * The due date-time is stored as minutes since the epoch (zone-free, minute precision) and only
+ * turned into a {@link LocalDateTime} when asked for. A recurring deadline is one series: the due
+ * date-time is its first occurrence, and later occurrences are computed from its {@link Recurrence}.
+ * A list ranks a recurring deadline by its next occurrence, which it advances as occurrences pass.
  */
 public class Deadline extends Task {
-    private final LocalDateTime by;
+    private static final long SECONDS_PER_MINUTE = 60L;
+
+    private static final long MINUTES_PER_DAY = 24 * 60;
+
+    private final long byEpochMinute;
+    /** How the deadline repeats; null for a one-off deadline. */
+    private final Recurrence recurrence;
+    /** Occurrence the owning list ranks this deadline by; the due minute for a one-off deadline. */
+    private long rankEpochMinute;
 
     /**
      * Creates a deadline with the given description and due date-time.
      *
      * @param description the task description
-     * @param by          the due date and time
+     * @param by          the due date and time (seconds and below are dropped)
      */
     public Deadline(String description, LocalDateTime by) {
-        super(description);
-        this.by = by;
+        this(description, by, null);
+    }
+
+    /**
+     * Creates a deadline that repeats from the given first due date-time.
+     *
+     * @param description the task description
+     * @param by          the first due date and time (seconds and below are dropped)
+     * @param recurrence  how it repeats; null for a one-off deadline
+     */
+    public Deadline(String description, LocalDateTime by, Recurrence recurrence) {
+        super(description, KIND_DEADLINE);
+        this.byEpochMinute = Math.floorDiv(by.toEpochSecond(ZoneOffset.UTC), SECONDS_PER_MINUTE);
+        this.recurrence = recurrence;
+        this.rankEpochMinute = byEpochMinute;
     }
 
     @Override
@@ -28,11 +55,14 @@ public class Deadline extends Task {
 
     @Override
     public String getDisplayString() {
+        LocalDateTime by = getBy();
         String datePart = by.format(DateTimeFormats.DISPLAY_DATE);
+        String repeatPart = recurrence == null ? "" : ", every " + recurrence.keyword();
         if (by.toLocalTime().equals(LocalTime.MIDNIGHT)) {
-            return getDescription() + " (by: " + datePart + ")";
+            return getDescription() + " (by: " + datePart + repeatPart + ")";
         }
-        return getDescription() + " (by: " + datePart + " " + by.format(DateTimeFormats.DISPLAY_TIME) + ")";
+        return getDescription() + " (by: " + datePart + " " + by.format(DateTimeFormats.DISPLAY_TIME)
+                + repeatPart + ")";
     }
 
     /**
@@ -41,6 +71,83 @@ public class Deadline extends Task {
      * @return the due date-time
      */
     public LocalDateTime getBy() {
-        return by;
+        return LocalDateTime.ofEpochSecond(byEpochMinute * SECONDS_PER_MINUTE, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Returns the due date-time as minutes since 1970-01-01T00:00, read as a local date-time.
+     *
+     * @return the due minute
+     */
+    long byEpochMinute() {
+        return byEpochMinute;
+    }
+
+    /**
+     * Returns the due minute that sorted views and the urgency heap rank this deadline by: the due minute
+     * for a one-off deadline, or the occurrence last set by {@link #advanceRank} for a recurring one.
+     *
+     * @return the ranking minute, on the same scale as {@link #byEpochMinute()}
+     */
+    long rankEpochMinute() {
+        return rankEpochMinute;
+    }
+
+    /**
+     * Moves a recurring deadline's ranking minute to its first occurrence at or after the given minute.
+     * The caller must take the deadline out of any structure ordered by it first.
+     *
+     * @param nowEpochMinute the current minute
+     * @return true if the ranking minute changed (never for a one-off deadline)
+     */
+    boolean advanceRank(long nowEpochMinute) {
+        if (recurrence == null || rankEpochMinute >= nowEpochMinute) {
+            return false;
+        }
+        LocalDateTime now = LocalDateTime.ofEpochSecond(nowEpochMinute * SECONDS_PER_MINUTE, 0, ZoneOffset.UTC);
+        rankEpochMinute = Math.floorDiv(nextDueAtOrAfter(now).toEpochSecond(ZoneOffset.UTC), SECONDS_PER_MINUTE);
+        return true;
+    }
+
+    /**
+     * Returns how this deadline repeats.
+     *
+     * @return the recurrence, or null for a one-off deadline
+     */
+    public Recurrence getRecurrence() {
+        return recurrence;
+    }
+
+    /**
+     * Returns whether this deadline is due on the given date: its due date for a one-off deadline, or any
+     * occurrence of the series for a recurring one.
+     *
+     * @param date the date
+     * @return true if due on that date
+     */
+    public boolean isDueOn(LocalDate date) {
+        LocalDate first = LocalDate.ofEpochDay(Math.floorDiv(byEpochMinute, MINUTES_PER_DAY));
+        return recurrence == null ? first.equals(date) : recurrence.occursOn(first, date);
+    }
+
+    /**
+     * Returns the first due date-time at or after the given one: the due date-time for a one-off deadline
+     * (or null if it is earlier), or the next occurrence of the series for a recurring one.
+     *
+     * @param notBefore the earliest date-time to return
+     * @return the next due date-time, or null if a one-off deadline is already past
+     */
+    public LocalDateTime nextDueAtOrAfter(LocalDateTime notBefore) {
+        LocalDateTime by = getBy();
+        if (recurrence == null) {
+            return by.isBefore(notBefore) ? null : by;
+        }
+        LocalDateTime next = recurrence.firstOnOrAfter(by.toLocalDate(), notBefore.toLocalDate())
+                .atTime(by.toLocalTime());
+        if (next.isBefore(notBefore)) {
+            next = recurrence.firstOnOrAfter(by.toLocalDate(), notBefore.toLocalDate().plusDays(1))
+                    .atTime(by.toLocalTime());
+        }
+        return next;
     }
 }
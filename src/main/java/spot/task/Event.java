@@ -15,7 +15,7 @@ public class Event extends Task {
      * @param to          end time/date string (as entered by user)
      */
     public Event(String description, String from, String to) {
-        super(description);
+        super(description, KIND_EVENT);
         this.from = from;
         this.to = to;
     }
@@ -0,0 +1,215 @@
+package spot.task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Typo-tolerant word index over task descriptions.
+ * Distinct lowercase words live in a BK-tree (a metric tree over edit distance), so a query only
+ * computes distances for the few words whose subtrees can lie within the allowed radius; each word
+ * maps to the tasks that contain it. Words whose tasks are all removed stay in the tree as empty
+ * entries until they outnumber live words, at which point the tree is rebuilt.
+ */
+class FuzzyIndex {
+    private static final int MIN_REBUILD_SIZE = 1024;
+    /** Best match first: most query words matched, then smallest total edit distance, then list order. */
+    private static final Comparator<Map.Entry<Task, int[]>> RANK_ORDER = Comparator
+            .comparingInt((Map.Entry<Task, int[]> entry) -> -entry.getValue()[0])
+            .thenComparingInt(entry -> entry.getValue()[1])
+            .thenComparingLong(entry -> entry.getKey().sequence);
+
+    private final Map<String, Set<Task>> postings = new HashMap<>();
+    private Node root;
+    private int treeSize;
+    private int liveWords;
+
+    /** BK-tree node: children are indexed by their edit distance to this node's word. */
+    private static final class Node {
+        private final String word;
+        private Node[] children = new Node[0];
+
+        Node(String word) {
+            this.word = word;
+        }
+    }
+
+    /**
+     * Indexes the words of a task's description.
+     *
+     * @param task the task to index
+     */
+    void add(Task task) {
+        for (String word : tokenize(task.getDescription())) {
+            Set<Task> tasksWithWord = postings.get(word);
+            if (tasksWithWord == null) {
+                tasksWithWord = new HashSet<>();
+                postings.put(word, tasksWithWord);
+                insertIntoTree(word);
+            }
+            if (tasksWithWord.isEmpty()) {
+                liveWords++;
+            }
+            tasksWithWord.add(task);
+        }
+    }
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param task the task to remove
+     */
+    void remove(Task task) {
+        for (String word : tokenize(task.getDescription())) {
+            Set<Task> tasksWithWord = postings.get(word);
+            if (tasksWithWord != null && tasksWithWord.remove(task) && tasksWithWord.isEmpty()) {
+                liveWords--;
+            }
+        }
+        if (treeSize >= MIN_REBUILD_SIZE && treeSize > 2 * liveWords) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} tasks ranked by how well their words match the query words:
+     * most query words matched first, then smallest total edit distance, then list order.
+     * Words of up to four letters tolerate one edit; longer words tolerate two.
+     *
+     * @param query the search text
+     * @param limit maximum number of results
+     * @return matching tasks, best first
+     */
+    List<Task> search(String query, int limit) {
+        List<String> queryWords = tokenize(query);
+        Map<Task, int[]> scores = new HashMap<>();
+        for (String queryWord : queryWords) {
+            int radius = queryWord.length() <= 4 ? 1 : 2;
+            Map<Task, Integer> bestDistance = new HashMap<>();
+            collectWithin(root, queryWord, radius, (word, distance) -> {
+                for (Task task : postings.get(word)) {
+                    bestDistance.merge(task, distance, Math::min);
+                }
+            });
+            for (Map.Entry<Task, Integer> match : bestDistance.entrySet()) {
+                int[] score = scores.computeIfAbsent(match.getKey(), task -> new int[2]);
+                score[0]++;
+                score[1] += match.getValue();
+            }
+        }
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        // Bounded heap with the worst of the best `limit` so far on top: O(m log limit) for m matches.
+        PriorityQueue<Map.Entry<Task, int[]>> best = new PriorityQueue<>(limit + 1, RANK_ORDER.reversed());
+        for (Map.Entry<Task, int[]> entry : scores.entrySet()) {
+            if (best.size() < limit) {
+                best.add(entry);
+            } else if (RANK_ORDER.compare(entry, best.peek()) < 0) {
+                best.poll();
+                best.add(entry);
+            }
+        }
+        List<Task> results = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            results.add(best.poll().getKey());
+        }
+        Collections.reverse(results);
+        return results;
+    }
+
+    /** Receives each indexed word within the search radius. */
+    private interface WordMatch {
+        void accept(String word, int distance);
+    }
+
+    private void collectWithin(Node node, String queryWord, int radius, WordMatch match) {
+        if (node == null) {
+            return;
+        }
+        int distance = editDistance(queryWord, node.word);
+        if (distance <= radius && !postings.get(node.word).isEmpty()) {
+            match.accept(node.word, distance);
+        }
+        int low = Math.max(0, distance - radius);
+        int high = Math.min(node.children.length - 1, distance + radius);
+        for (int childDistance = low; childDistance <= high; childDistance++) {
+            collectWithin(node.children[childDistance], queryWord, radius, match);
+        }
+    }
+
+    private void insertIntoTree(String word) {
+        treeSize++;
+        if (root == null) {
+            root = new Node(word);
+            return;
+        }
+        Node node = root;
+        while (true) {
+            int distance = editDistance(word, node.word);
+            if (distance >= node.children.length) {
+                node.children = Arrays.copyOf(node.children, distance + 1);
+            }
+            Node child = node.children[distance];
+            if (child == null) {
+                node.children[distance] = new Node(word);
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /** Drops words with no remaining tasks and rebuilds the tree from the live ones. */
+    private void rebuild() {
+        postings.values().removeIf(Set::isEmpty);
+        root = null;
+        treeSize = 0;
+        for (String word : postings.keySet()) {
+            insertIntoTree(word);
+        }
+    }
+
+    /** Splits text into lowercase words of letters and digits. */
+    static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        int wordStart = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && wordStart < 0) {
+                wordStart = i;
+            } else if (!wordChar && wordStart >= 0) {
+                words.add(text.substring(wordStart, i).toLowerCase(Locale.ROOT));
+                wordStart = -1;
+            }
+        }
+        return words;
+    }
+
+    /** Levenshtein distance using two rolling rows. */
+    static int editDistance(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
@@ -0,0 +1,177 @@
+package spot.task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import spot.util.CompressedBitmap;
+
+/**
+ * Bitmap indexes over tags, priorities and done state, so label queries such as
+ * {@code #work|#home !high undone} are answered by AND/OR over compressed bitmaps instead of a scan.
+ * Every task in the list gets a small int slot (freed slots are reused, keeping the bitmaps dense);
+ * each tag, each priority, done and open has a {@link CompressedBitmap} of slots.
+ */
+final class LabelIndex {
+    private static final String DONE = "done";
+    private static final String UNDONE = "undone";
+    private static final String OR_SEPARATOR = "|";
+    private static final int INITIAL_SLOTS = 16;
+
+    private final Map<String, CompressedBitmap> byTag = new HashMap<>();
+    private final CompressedBitmap[] byPriority = new CompressedBitmap[Priority.values().length];
+    private final CompressedBitmap done = new CompressedBitmap();
+    private final CompressedBitmap open = new CompressedBitmap();
+    /** Task in each slot; null for free slots. */
+    private Task[] slotTasks = new Task[INITIAL_SLOTS];
+    private int[] freeSlots = new int[INITIAL_SLOTS];
+    private int freeSlotCount;
+    private int nextSlot;
+
+    LabelIndex() {
+        for (int i = 0; i < byPriority.length; i++) {
+            byPriority[i] = new CompressedBitmap();
+        }
+    }
+
+    /**
+     * Gives the task a slot and adds it to the bitmaps for its tags, priority and done state.
+     *
+     * @param task the task to index
+     */
+    void add(Task task) {
+        int slot = freeSlotCount > 0 ? freeSlots[--freeSlotCount] : nextSlot++;
+        if (slot == slotTasks.length) {
+            slotTasks = Arrays.copyOf(slotTasks, slotTasks.length * 2);
+        }
+        slotTasks[slot] = task;
+        task.slot = slot;
+        for (String tag : task.getTags()) {
+            byTag.computeIfAbsent(tag, unused -> new CompressedBitmap()).add(slot);
+        }
+        if (task.getPriority() != null) {
+            byPriority[task.getPriority().ordinal()].add(slot);
+        }
+        (task.isDone() ? done : open).add(slot);
+    }
+
+    /**
+     * Removes the task from the bitmaps and frees its slot.
+     *
+     * @param task the task to remove
+     */
+    void remove(Task task) {
+        int slot = task.slot;
+        for (String tag : task.getTags()) {
+            CompressedBitmap tagged = byTag.get(tag);
+            tagged.remove(slot);
+            if (tagged.isEmpty()) {
+                byTag.remove(tag);
+            }
+        }
+        if (task.getPriority() != null) {
+            byPriority[task.getPriority().ordinal()].remove(slot);
+        }
+        done.remove(slot);
+        open.remove(slot);
+        slotTasks[slot] = null;
+        if (freeSlotCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        }
+        freeSlots[freeSlotCount++] = slot;
+    }
+
+    /**
+     * Moves the task between the done and open bitmaps after its done state changed.
+     *
+     * @param task the task that changed
+     */
+    void doneChanged(Task task) {
+        (task.isDone() ? open : done).remove(task.slot);
+        (task.isDone() ? done : open).add(task.slot);
+    }
+
+    /**
+     * Returns whether a query is a label query: at least one of its words is a tag or priority label,
+     * alone or among alternatives joined with '|'.
+     *
+     * @param query the search text
+     * @return true if {@link #find} should answer it
+     */
+    static boolean isLabelQuery(String query) {
+        for (String term : query.trim().split("\\s+")) {
+            for (String alternative : term.split("\\" + OR_SEPARATOR)) {
+                if (Task.isTagWord(alternative) || Task.isPriorityWord(alternative)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the tasks matching every word of a label query. A word is a tag ({@code #work}), a priority
+     * ({@code !high}), {@code done} or {@code undone}, or several of these joined with '|' to match any of
+     * them; any other word must appear in the task's display string, ignoring case.
+     *
+     * @param lowerQuery the lower-case search text
+     * @return unmodifiable list of matching tasks, in the order they were added
+     */
+    List<Task> find(String lowerQuery) {
+        CompressedBitmap matching = null;
+        List<String> keywords = new ArrayList<>();
+        for (String term : lowerQuery.trim().split("\\s+")) {
+            CompressedBitmap termMatches = termBitmap(term);
+            if (termMatches == null) {
+                keywords.add(term);
+            } else {
+                matching = matching == null ? termMatches : matching.and(termMatches);
+            }
+        }
+        if (matching == null || matching.isEmpty()) {
+            return List.of();
+        }
+        List<Task> found = new ArrayList<>(matching.cardinality());
+        matching.forEach(slot -> {
+            Task task = slotTasks[slot];
+            if (containsAll(task.getDisplayString().toLowerCase(), keywords)) {
+                found.add(task);
+            }
+        });
+        found.sort(Comparator.comparingLong(task -> task.sequence));
+        return Collections.unmodifiableList(found);
+    }
+
+    /** Returns the union of a term's alternatives, or null if any alternative is not a label or status. */
+    private CompressedBitmap termBitmap(String term) {
+        CompressedBitmap union = null;
+        for (String alternative : term.split("\\" + OR_SEPARATOR)) {
+            CompressedBitmap bitmap;
+            if (Task.isTagWord(alternative)) {
+                bitmap = byTag.getOrDefault(alternative.substring(1), new CompressedBitmap());
+            } else if (Task.isPriorityWord(alternative)) {
+                bitmap = byPriority[Priority.of(alternative).ordinal()];
+            } else if (alternative.equals(DONE)) {
+                bitmap = done;
+            } else if (alternative.equals(UNDONE)) {
+                bitmap = open;
+            } else {
+                return null;
+            }
+            union = union == null ? bitmap : union.or(bitmap);
+        }
+        return union;
+    }
+
+    private static boolean containsAll(String text, List<String> keywords) {
+        for (String keyword : keywords) {
+            if (!text.contains(keyword)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
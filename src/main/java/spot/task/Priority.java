@@ -0,0 +1,50 @@
+package spot.task;
+
+import java.util.Locale;
+
+/**
+ * Priority of a task, written {@code !low}, {@code !medium} or {@code !high} when adding or finding tasks.
+ * A task without one has no priority, which ranks below {@link #LOW}.
+ */
+public enum Priority {
+    LOW("low"),
+    MEDIUM("medium"),
+    HIGH("high");
+
+    private final String keyword;
+
+    Priority(String keyword) {
+        this.keyword = keyword;
+    }
+
+    /**
+     * Returns the priority for a keyword, with or without the leading '!', ignoring case.
+     *
+     * @param keyword the keyword (e.g. "!high" or "high")
+     * @return the priority, or null if the keyword is not low, medium or high
+     */
+    public static Priority of(String keyword) {
+        if (keyword == null) {
+            return null;
+        }
+        String lowerKeyword = keyword.trim().toLowerCase(Locale.ROOT);
+        if (lowerKeyword.startsWith("!")) {
+            lowerKeyword = lowerKeyword.substring(1);
+        }
+        for (Priority priority : values()) {
+            if (priority.keyword.equals(lowerKeyword)) {
+                return priority;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the keyword for this priority, without the leading '!'.
+     *
+     * @return the keyword (e.g. "high")
+     */
+    public String keyword() {
+        return keyword;
+    }
+}
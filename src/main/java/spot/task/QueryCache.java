@@ -0,0 +1,101 @@
+package spot.task;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of read-only query results for a {@link TaskList}.
+ * Each result is stamped with the list's modification count when it was computed; a lookup after
+ * any add, remove or mark sees a different count and recomputes. Hit and miss counters are kept
+ * for tuning the capacity.
+ */
+public class QueryCache {
+    private final int capacity;
+    private final Map<String, Entry> entries;
+    private long hits;
+    private long misses;
+
+    private static final class Entry {
+        private final long generation;
+        private final List<Task> result;
+
+        Entry(long generation, List<Task> result) {
+            this.generation = generation;
+            this.result = result;
+        }
+    }
+
+    /**
+     * Creates an empty cache holding at most {@code capacity} results.
+     *
+     * @param capacity maximum number of cached queries
+     */
+    QueryCache(int capacity) {
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > QueryCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached result for the key if it was computed at the given generation,
+     * otherwise computes, caches and returns a fresh one.
+     *
+     * @param key        normalized query key
+     * @param generation current modification count of the list
+     * @param compute    computes the result on a miss; must return an unmodifiable list
+     * @return the query result
+     */
+    List<Task> get(String key, long generation, Supplier<List<Task>> compute) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.generation == generation) {
+            hits++;
+            return entry.result;
+        }
+        misses++;
+        List<Task> result = compute.get();
+        entries.put(key, new Entry(generation, result));
+        return result;
+    }
+
+    /**
+     * Returns the number of lookups answered from the cache.
+     *
+     * @return the hit count
+     */
+    public long hits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of lookups that had to be computed (absent or stale).
+     *
+     * @return the miss count
+     */
+    public long misses() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of results currently cached.
+     *
+     * @return the cached result count
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the maximum number of results kept.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return capacity;
+    }
+}
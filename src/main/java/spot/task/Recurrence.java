@@ -0,0 +1,111 @@
+package spot.task;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+
+/**
+ * How often a recurring deadline repeats. A series is stored as its first due date plus one of these
+ * rules; occurrences are never stored, and whether one falls on a given date is worked out arithmetically
+ * from the first date, so checking a series costs O(1) however long it has been running.
+ */
+public enum Recurrence {
+    /** Every day from the first date. */
+    DAY("day"),
+    /** Every Monday to Friday from the first date. */
+    WEEKDAY("weekday"),
+    /** The same day of the week as the first date. */
+    WEEK("week"),
+    /** The same day of the month as the first date, or the last day of shorter months. */
+    MONTH("month");
+
+    private final String keyword;
+
+    Recurrence(String keyword) {
+        this.keyword = keyword;
+    }
+
+    /**
+     * Returns the rule for a keyword as typed after {@code /every} (e.g. "weekday"), ignoring case.
+     *
+     * @param keyword the keyword
+     * @return the rule, or null if the keyword is not one of day, weekday, week or month
+     */
+    public static Recurrence of(String keyword) {
+        if (keyword == null) {
+            return null;
+        }
+        String lowerKeyword = keyword.trim().toLowerCase(Locale.ROOT);
+        for (Recurrence recurrence : values()) {
+            if (recurrence.keyword.equals(lowerKeyword)) {
+                return recurrence;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the keyword for this rule, as typed after {@code /every} and as stored.
+     *
+     * @return the keyword (e.g. "weekday")
+     */
+    public String keyword() {
+        return keyword;
+    }
+
+    /**
+     * Returns whether a series starting on {@code first} has an occurrence on {@code date}.
+     *
+     * @param first the first due date of the series
+     * @param date  the date to check
+     * @return true if the series is due on that date
+     */
+    public boolean occursOn(LocalDate first, LocalDate date) {
+        if (date.isBefore(first)) {
+            return false;
+        }
+        return switch (this) {
+        case DAY -> true;
+        case WEEKDAY -> isWeekday(date);
+        case WEEK -> (date.toEpochDay() - first.toEpochDay()) % 7 == 0;
+        case MONTH -> date.equals(first.plusMonths(monthsBetween(first, date)));
+        };
+    }
+
+    /**
+     * Returns the first occurrence on or after the given date.
+     *
+     * @param first the first due date of the series
+     * @param date  the earliest date to return
+     * @return the next due date
+     */
+    public LocalDate firstOnOrAfter(LocalDate first, LocalDate date) {
+        LocalDate from = date.isBefore(first) ? first : date;
+        return switch (this) {
+        case DAY -> from;
+        case WEEKDAY -> {
+            LocalDate next = from;
+            while (!isWeekday(next)) {
+                next = next.plusDays(1);
+            }
+            yield next;
+        }
+        case WEEK -> first.plusDays(Math.floorDiv(from.toEpochDay() - first.toEpochDay() + 6, 7) * 7);
+        case MONTH -> {
+            LocalDate sameMonth = first.plusMonths(monthsBetween(first, from));
+            yield sameMonth.isBefore(from) ? first.plusMonths(monthsBetween(first, from) + 1) : sameMonth;
+        }
+        };
+    }
+
+    private static boolean isWeekday(LocalDate date) {
+        DayOfWeek day = date.getDayOfWeek();
+        return day != DayOfWeek.SATURDAY && day != DayOfWeek.SUNDAY;
+    }
+
+    /** Returns the number of calendar months from the first date's month to the given date's month. */
+    private static long monthsBetween(LocalDate first, LocalDate date) {
+        return ChronoUnit.MONTHS.between(first.withDayOfMonth(1), date.withDayOfMonth(1));
+    }
+}
@@ -1,11 +1,46 @@
 package spot.task;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import spot.util.StringPool;
+
 /**
- * Base type for a single task (todo, deadline, or event) with description and done state.
+ * Base type for a single task (todo, deadline, or event) with description and done state, and optional
+ * tags ({@code #work}) and priority ({@code !high}).
+ * The task kind, done flag and priority are packed into a single byte.
  */
 public abstract class Task {
-    private final String description;
-    private boolean done;
+    static final byte KIND_OTHER = 0;
+    static final byte KIND_TODO = 1;
+    static final byte KIND_DEADLINE = 2;
+    static final byte KIND_EVENT = 3;
+    private static final byte KIND_MASK = 0b011;
+    private static final byte DONE_BIT = 0b100;
+    private static final int PRIORITY_SHIFT = 3;
+    private static final byte PRIORITY_MASK = 0b11000;
+    private static final String[] NO_TAGS = new String[0];
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    /** Null while the owning list keeps the description on disk to stay within its memory budget. */
+    private String description;
+    /** Offset of the description in the owning list's spill file, while it is there. */
+    private long coldOffset;
+    /** Bits 0-1: kind (see KIND_* constants); bit 2: done; bits 3-4: priority ordinal + 1, or 0 for none. */
+    private byte flags;
+    /** Lower-case tag names without the '#', in the order given. */
+    private String[] tags = NO_TAGS;
+    /** List currently holding this task, notified when the done state changes; null if none. */
+    TaskList owner;
+    /** Insertion sequence assigned by the owning list; breaks ties in its sorted views. */
+    long sequence;
+    /** Slot in the owning list's label bitmaps. */
+    int slot;
+    /** Position in the owning list's urgency heap; -1 if not in it (done, or in no list). */
+    int heapIndex = -1;
+    /** 0-based index in the owning list, kept in step with insertions and removals; -1 if in no list. */
+    int position = -1;
 
     /**
      * Subclass constructor. Initializes description and sets done to false.
@@ -13,8 +48,18 @@ public abstract class Task {
      * @param description task description (non-null)
      */
     protected Task(String description) {
+        this(description, KIND_OTHER);
+    }
+
+    /**
+     * Constructor for the built-in task kinds. Initializes description and kind, with done false.
+     *
+     * @param description task description (non-null)
+     * @param kind        one of the KIND_* constants
+     */
+    Task(String description, byte kind) {
         this.description = description;
-        this.done = false;
+        this.flags = kind;
     }
 
     /**
@@ -30,9 +75,59 @@ public abstract class Task {
      * @return the description
      */
     public String getDescription() {
+        String text = description;
+        return text != null ? text : owner.rehydrate(coldOffset);
+    }
+
+    /**
+     * Returns the description like {@link #getDescription()}, but a spilled description is read without
+     * entering the owning list's read-back cache. For passes over every task, such as saving.
+     *
+     * @return the description
+     */
+    public String peekDescription() {
+        String text = description;
+        return text != null ? text : owner.readSpilled(coldOffset);
+    }
+
+    /**
+     * Returns whether the owning list keeps the description on disk to stay within its memory budget,
+     * so that {@link #getDescription()} costs a read from its spill file.
+     *
+     * @return true if the description is spilled
+     */
+    public boolean isDescriptionSpilled() {
+        return description == null;
+    }
+
+    /**
+     * Returns the description if it is held on the heap, without reading it back from disk.
+     *
+     * @return the description, or null if it is spilled
+     */
+    String heldDescription() {
         return description;
     }
 
+    /**
+     * Drops the description from the heap after the owning list spilled it.
+     *
+     * @param offset where the list's spill file holds the description
+     */
+    void makeCold(long offset) {
+        coldOffset = offset;
+        description = null;
+    }
+
+    /**
+     * Holds the description on the heap again, e.g. before the task leaves its list.
+     *
+     * @param text the description read back from the spill file
+     */
+    void makeWarm(String text) {
+        description = text;
+    }
+
     /**
      * Returns the string to show in the list (description plus any date/time info).
      *
@@ -48,7 +143,16 @@ public abstract class Task {
      * @return true if done, false otherwise
      */
     public boolean isDone() {
-        return done;
+        return (flags & DONE_BIT) != 0;
+    }
+
+    /**
+     * Returns the packed kind of this task.
+     *
+     * @return one of the KIND_* constants
+     */
+    byte kind() {
+        return (byte) (flags & KIND_MASK);
     }
 
     /**
@@ -57,6 +161,151 @@ public abstract class Task {
      * @param done true to mark done, false to mark not done
      */
     public void setDone(boolean done) {
-        this.done = done;
+        if (isDone() == done) {
+            return;
+        }
+        if (owner != null) {
+            owner.beforeDoneChange(this);
+        }
+        flags = (byte) (done ? flags | DONE_BIT : flags & ~DONE_BIT);
+        if (owner != null) {
+            owner.afterDoneChange(this);
+        }
+    }
+
+    /**
+     * Returns the tags, lower-case and without the leading '#'.
+     *
+     * @return unmodifiable list of tags (empty if none)
+     */
+    public List<String> getTags() {
+        return List.of(tags);
+    }
+
+    /**
+     * Returns the priority.
+     *
+     * @return the priority, or null if none
+     */
+    public Priority getPriority() {
+        int priorityBits = (flags & PRIORITY_MASK) >> PRIORITY_SHIFT;
+        return priorityBits == 0 ? null : PRIORITIES[priorityBits - 1];
+    }
+
+    /**
+     * Returns the tags and priority as typed (e.g. "#work #home !high").
+     *
+     * @return the labels, or an empty string if the task has none
+     */
+    public String getLabels() {
+        Priority priority = getPriority();
+        if (tags.length == 0 && priority == null) {
+            return "";
+        }
+        StringBuilder labels = new StringBuilder();
+        for (String tag : tags) {
+            labels.append(labels.length() == 0 ? "#" : " #").append(tag);
+        }
+        if (priority != null) {
+            labels.append(labels.length() == 0 ? "!" : " !").append(priority.keyword());
+        }
+        return labels.toString();
+    }
+
+    /**
+     * Sets the tags. If the task is in a list, the list re-indexes it and notifies its listeners.
+     *
+     * @param newTags tag names, with or without the leading '#'; case is ignored and duplicates are dropped
+     */
+    public void setTags(Collection<String> newTags) {
+        String previousLabels = beforeLabelChange();
+        tags = normalizedTags(newTags);
+        afterLabelChange(previousLabels);
+    }
+
+    /**
+     * Sets the priority. If the task is in a list, the list re-indexes it and notifies its listeners.
+     *
+     * @param priority the priority, or null for none
+     */
+    public void setPriority(Priority priority) {
+        String previousLabels = beforeLabelChange();
+        setPriorityBits(priority);
+        afterLabelChange(previousLabels);
+    }
+
+    /**
+     * Sets the tags and priority from label words as returned by {@link #getLabels()} (e.g. "#work !high"),
+     * replacing both; words that are not labels are ignored. If the task is in a list, it is re-indexed once.
+     *
+     * @param labels space-separated label words
+     */
+    public void setLabels(String labels) {
+        List<String> newTags = new ArrayList<>();
+        Priority priority = null;
+        for (String word : labels.trim().split("\\s+")) {
+            if (isTagWord(word)) {
+                newTags.add(word);
+            } else if (isPriorityWord(word)) {
+                priority = Priority.of(word);
+            }
+        }
+        String previousLabels = beforeLabelChange();
+        tags = normalizedTags(newTags);
+        setPriorityBits(priority);
+        afterLabelChange(previousLabels);
+    }
+
+    /**
+     * Returns whether a word is a tag label ('#' followed by at least one character).
+     *
+     * @param word one word of input
+     * @return true if it names a tag
+     */
+    public static boolean isTagWord(String word) {
+        return word.length() > 1 && word.charAt(0) == '#';
+    }
+
+    /**
+     * Returns whether a word is a priority label ({@code !low}, {@code !medium} or {@code !high}).
+     *
+     * @param word one word of input
+     * @return true if it names a priority
+     */
+    public static boolean isPriorityWord(String word) {
+        return word.length() > 1 && word.charAt(0) == '!' && Priority.of(word) != null;
+    }
+
+    private static String[] normalizedTags(Collection<String> newTags) {
+        List<String> normalized = new ArrayList<>(newTags.size());
+        StringPool pool = StringPool.shared();
+        for (String tag : newTags) {
+            String name = tag.startsWith("#") ? tag.substring(1) : tag;
+            name = name.trim().toLowerCase(Locale.ROOT);
+            if (!name.isEmpty() && !normalized.contains(name)) {
+                normalized.add(pool.intern(name));
+            }
+        }
+        return normalized.isEmpty() ? NO_TAGS : normalized.toArray(NO_TAGS);
+    }
+
+    private void setPriorityBits(Priority priority) {
+        int priorityBits = priority == null ? 0 : priority.ordinal() + 1;
+        flags = (byte) ((flags & ~PRIORITY_MASK) | (priorityBits << PRIORITY_SHIFT));
+    }
+
+    /** Takes the task out of its list's label indexes before a label change; returns the labels until now. */
+    private String beforeLabelChange() {
+        String previousLabels = owner == null ? "" : getLabels();
+        if (owner != null) {
+            owner.beforeLabelChange(this);
+        }
+        return previousLabels;
+    }
+
+    private void afterLabelChange(String previousLabels) {
+        if (owner != null) {
+            owner.afterLabelChange(this, previousLabels);
+        }
     }
 }
@@ -0,0 +1,77 @@
+package spot.task;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Running counts for a {@link TaskList}, updated on every add, remove and done-state change so that a
+ * summary never scans the list: tasks and done tasks per kind, and open deadlines per due minute.
+ * A recurring deadline always has another occurrence coming, so it is never counted as overdue.
+ * The overdue count is kept for an "as of" minute; a later query only adds the deadlines that fell due
+ * in between, so as time moves forward each deadline is counted once rather than on every query.
+ */
+final class TaskCounters {
+    private final int[] totalByKind = new int[4];
+    private final int[] doneByKind = new int[4];
+    /** Number of open deadlines due at each epoch minute. */
+    private final NavigableMap<Long, Integer> openDeadlinesByMinute = new TreeMap<>();
+    /** Open deadlines due before {@link #overdueAsOf}. */
+    private int overdueCount;
+    private long overdueAsOf = Long.MIN_VALUE;
+
+    void added(Task task) {
+        totalByKind[task.kind()]++;
+        statusChanged(task, 1);
+    }
+
+    void removed(Task task) {
+        totalByKind[task.kind()]--;
+        statusChanged(task, -1);
+    }
+
+    /**
+     * Updates the counts for a task about to change its done state ({@code delta} -1) or that just
+     * changed it ({@code delta} +1).
+     */
+    void doneChanging(Task task, int delta) {
+        statusChanged(task, delta);
+    }
+
+    private void statusChanged(Task task, int delta) {
+        if (task.isDone()) {
+            doneByKind[task.kind()] += delta;
+        } else if (task instanceof Deadline deadline && deadline.getRecurrence() == null) {
+            long dueMinute = deadline.byEpochMinute();
+            openDeadlinesByMinute.merge(dueMinute, delta, (count, change) -> count + change == 0 ? null
+                    : count + change);
+            if (dueMinute < overdueAsOf) {
+                overdueCount += delta;
+            }
+        }
+    }
+
+    /**
+     * Returns the summary as of the given minute.
+     *
+     * @param nowEpochMinute current time in epoch minutes (same scale as {@link Deadline#byEpochMinute()})
+     * @return the counts
+     */
+    TaskSummary summary(long nowEpochMinute) {
+        if (nowEpochMinute < overdueAsOf) {
+            overdueCount = sum(openDeadlinesByMinute.headMap(nowEpochMinute, false));
+        } else {
+            overdueCount += sum(openDeadlinesByMinute.subMap(overdueAsOf, true, nowEpochMinute, false));
+        }
+        overdueAsOf = nowEpochMinute;
+        return new TaskSummary(totalByKind, doneByKind, overdueCount);
+    }
+
+    private static int sum(Map<Long, Integer> counts) {
+        int total = 0;
+        for (int count : counts.values()) {
+            total += count;
+        }
+        return total;
+    }
+}
@@ -1,15 +1,71 @@
 package spot.task;
 
+import java.io.IOException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.function.Predicate;
 
 /**
  * Mutable list of tasks with helpers for storage and date-based queries.
+ * Sorted views (by deadline, by status) are kept in balanced trees and updated on every change,
+ * so reading them never sorts the whole list. Counts by kind and status are kept the same way.
+ * Recurring deadlines are also kept in a set of their own, so date queries check each series once
+ * instead of expanding its occurrences, tags, priorities and done state are indexed in bitmaps, and open
+ * tasks are kept in an indexed heap by urgency.
+ * With a description memory budget, descriptions beyond it are spilled to a temporary file (done tasks
+ * first, oldest first) and read back on demand; every task keeps its handle in the list and indexes.
  */
 public class TaskList {
+    /**
+     * Deadlines first by due date-time (a recurring deadline by its next occurrence), then all other tasks;
+     * ties keep insertion order.
+     */
+    private static final Comparator<Task> DEADLINE_ORDER = Comparator
+            .comparingLong((Task task) -> task instanceof Deadline deadline
+                    ? deadline.rankEpochMinute() : Long.MAX_VALUE)
+            .thenComparingLong(task -> task.sequence);
+    /** Maximum number of query results kept by the query cache. */
+    private static final int QUERY_CACHE_CAPACITY = 64;
+    private static final long MINUTES_PER_DAY = 24 * 60;
+    /** Open tasks before done tasks; ties keep insertion order. */
+    private static final Comparator<Task> STATUS_ORDER = Comparator
+            .comparing(Task::isDone)
+            .thenComparingLong(task -> task.sequence);
+    /** Deadlines due on one day: by time of day; ties keep insertion order. */
+    private static final Comparator<Task> TIME_OF_DAY_ORDER = Comparator
+            .comparingLong((Task task) -> Math.floorMod(((Deadline) task).byEpochMinute(), MINUTES_PER_DAY))
+            .thenComparingLong(task -> task.sequence);
+
     private final List<Task> tasks;
+    private final NavigableSet<Task> byDeadline = new TreeSet<>(DEADLINE_ORDER);
+    private final NavigableSet<Task> byStatus = new TreeSet<>(STATUS_ORDER);
+    /** Recurring deadlines, in insertion order. */
+    private final NavigableSet<Deadline> series = new TreeSet<>(Comparator.comparingLong(task -> task.sequence));
+    private final FuzzyIndex fuzzyIndex = new FuzzyIndex();
+    private final LabelIndex labelIndex = new LabelIndex();
+    private final UrgencyHeap openByUrgency = new UrgencyHeap();
+    private final QueryCache queryCache = new QueryCache(QUERY_CACHE_CAPACITY);
+    private final TaskCounters counters = new TaskCounters();
+    private final List<TaskListListener> listeners = new ArrayList<>();
+    private long nextSequence;
+    /** Spill file for descriptions over the budget; null until a budget is set. */
+    private ColdDescriptions coldDescriptions;
+    private long heldDescriptionBudget = Long.MAX_VALUE;
+    private long heldDescriptionBytes;
+    /** Every done task added before this sequence has its description spilled. */
+    private long spilledDoneBefore;
+    /** Every open task added before this sequence has its description spilled. */
+    private long spilledOpenBefore;
+    /** Bumped by every add, remove, done-state and label change; stamps cached query results. */
+    private long modificationCount;
 
     /** Creates an empty task list. */
     public TaskList() {
@@ -22,16 +78,62 @@ public class TaskList {
      * @param tasks initial tasks; may be null
      */
     public TaskList(List<Task> tasks) {
-        this.tasks = new ArrayList<>(tasks == null ? List.of() : tasks);
+        this.tasks = new ArrayList<>(tasks == null ? 0 : tasks.size());
+        if (tasks != null) {
+            for (Task task : tasks) {
+                add(task);
+            }
+        }
     }
 
     /**
-     * Appends a task to the list.
+     * Appends a task to the list. A task belongs to at most one list at a time.
      *
      * @param task the task to add
      */
     public void add(Task task) {
+        attach(task);
+        modificationCount++;
+        task.position = tasks.size();
         tasks.add(task);
+        for (TaskListListener listener : listeners) {
+            listener.taskAdded(task);
+        }
+        keepWithinBudget();
+    }
+
+    /**
+     * Appends all given tasks to the list, in order.
+     *
+     * @param newTasks the tasks to add
+     */
+    public void addAll(Collection<Task> newTasks) {
+        if (tasks instanceof ArrayList<Task> arrayList) {
+            arrayList.ensureCapacity(tasks.size() + newTasks.size());
+        }
+        for (Task task : newTasks) {
+            add(task);
+        }
+    }
+
+    /**
+     * Registers a listener to be notified of future additions, removals and done-state changes.
+     *
+     * @param listener the listener to add
+     */
+    public void addListener(TaskListListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Returns the 0-based index of a task in this list, in O(1): each task keeps its position, updated
+     * together with the shift that removing or inserting before it already costs.
+     *
+     * @param task the task to look up
+     * @return its index, or -1 if it is not in this list
+     */
+    public int indexOf(Task task) {
+        return task.owner == this ? task.position : -1;
     }
 
     /**
@@ -51,7 +153,224 @@ public class TaskList {
      * @return the removed task
      */
     public Task remove(int index) {
-        return tasks.remove(index);
+        Task removed = tasks.remove(index);
+        modificationCount++;
+        detach(removed);
+        renumberFrom(index);
+        for (TaskListListener listener : listeners) {
+            listener.taskRemoved(removed, index);
+        }
+        return removed;
+    }
+
+    /**
+     * Removes every task that matches the filter, in one pass over the list.
+     *
+     * @param filter selects the tasks to remove
+     * @return the removed tasks, in list order
+     */
+    public List<Task> removeMatching(Predicate<Task> filter) {
+        List<Task> removed = new ArrayList<>();
+        List<Integer> removedIndices = new ArrayList<>();
+        int kept = 0;
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            if (filter.test(task)) {
+                removedIndices.add(i - removed.size());
+                removed.add(task);
+            } else {
+                task.position = kept;
+                tasks.set(kept++, task);
+            }
+        }
+        tasks.subList(kept, tasks.size()).clear();
+        if (removed.isEmpty()) {
+            return removed;
+        }
+        modificationCount++;
+        for (Task task : removed) {
+            detach(task);
+        }
+        for (TaskListListener listener : listeners) {
+            for (int i = 0; i < removed.size(); i++) {
+                listener.taskRemoved(removed.get(i), removedIndices.get(i));
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Replaces the tasks at 0-based indices [from, to) with the given tasks, in order
+     * (e.g. to merge a region of the data file that changed on disk). Costs one shift of the
+     * tasks after the range, plus index updates for the removed and inserted tasks only.
+     *
+     * @param from        first index to replace (inclusive)
+     * @param to          end of the replaced range (exclusive)
+     * @param replacement tasks to insert at {@code from}
+     */
+    public void replaceRange(int from, int to, List<Task> replacement) {
+        List<Task> range = tasks.subList(from, to);
+        List<Task> removed = new ArrayList<>(range);
+        range.clear();
+        for (Task task : removed) {
+            detach(task);
+        }
+        for (Task task : replacement) {
+            attach(task);
+        }
+        tasks.addAll(from, replacement);
+        renumberFrom(from);
+        modificationCount++;
+        for (TaskListListener listener : listeners) {
+            for (Task task : removed) {
+                listener.taskRemoved(task, from);
+            }
+            for (Task task : replacement) {
+                listener.taskAdded(task);
+            }
+        }
+        keepWithinBudget();
+    }
+
+    /**
+     * Keeps task descriptions within an estimated heap budget, for large lists on constrained machines.
+     * Descriptions over the budget are spilled to a temporary file, done tasks first and oldest first,
+     * and read back on demand (by {@code list}, {@code find}, saving and so on) through a small cache
+     * that is part of the budget. Task handles and indexes stay on the heap and are not counted.
+     *
+     * @param budgetBytes estimated bytes of descriptions to hold on the heap
+     * @throws IOException if the spill file cannot be created
+     */
+    public void limitDescriptionMemory(long budgetBytes) throws IOException {
+        long cacheBudget = budgetBytes / 8;
+        if (coldDescriptions == null) {
+            coldDescriptions = new ColdDescriptions(cacheBudget);
+        }
+        heldDescriptionBudget = budgetBytes - cacheBudget;
+        keepWithinBudget();
+    }
+
+    /**
+     * Returns the estimated heap bytes of descriptions held by this list, including the read-back cache.
+     *
+     * @return estimated bytes
+     */
+    long descriptionBytesInMemory() {
+        return heldDescriptionBytes + (coldDescriptions == null ? 0 : coldDescriptions.cachedBytes());
+    }
+
+    /**
+     * Reads a spilled description back from the spill file.
+     *
+     * @param offset where the description was spilled
+     * @return the description
+     */
+    String rehydrate(long offset) {
+        return coldDescriptions.read(offset);
+    }
+
+    /**
+     * Reads a spilled description back without entering it in the read-back cache, for one pass over
+     * many tasks.
+     *
+     * @param offset where the description was spilled
+     * @return the description
+     */
+    String readSpilled(long offset) {
+        return coldDescriptions.readWithoutCaching(offset);
+    }
+
+    /**
+     * Spills descriptions if the held ones are over budget. Called once listeners have seen the change
+     * that added them, so a listener never hears of a spill before the task's addition.
+     */
+    private void keepWithinBudget() {
+        if (heldDescriptionBytes > heldDescriptionBudget) {
+            spillDescriptions();
+        }
+    }
+
+    /** Spills held descriptions until they use at most 90% of the budget: done tasks, then open ones. */
+    private void spillDescriptions() {
+        long target = heldDescriptionBudget - heldDescriptionBudget / 10;
+        Task firstDone = statusProbe(true, spilledDoneBefore);
+        spilledDoneBefore = spill(byStatus.tailSet(firstDone, true), target);
+        Task firstOpen = statusProbe(false, spilledOpenBefore);
+        spilledOpenBefore = spill(byStatus.subSet(firstOpen, true, statusProbe(true, Long.MIN_VALUE), false),
+                target);
+    }
+
+    /** Spills the tasks of a region in order until under target; returns the first sequence not spilled. */
+    private long spill(Collection<Task> region, long target) {
+        for (Task task : region) {
+            if (heldDescriptionBytes <= target) {
+                return task.sequence;
+            }
+            String held = task.heldDescription();
+            if (held != null) {
+                task.makeCold(coldDescriptions.write(held));
+                heldDescriptionBytes -= ColdDescriptions.estimatedBytes(held);
+                for (TaskListListener listener : listeners) {
+                    listener.descriptionSpilled(task, held);
+                }
+            }
+        }
+        return nextSequence;
+    }
+
+    private static Task statusProbe(boolean done, long sequence) {
+        Task probe = new Todo("");
+        probe.setDone(done);
+        probe.sequence = sequence;
+        return probe;
+    }
+
+    /** Sets the position of every task from the given index to the end of the list. */
+    private void renumberFrom(int from) {
+        for (int i = from; i < tasks.size(); i++) {
+            tasks.get(i).position = i;
+        }
+    }
+
+    /** Takes ownership of a task and adds it to the indexes. */
+    private void attach(Task task) {
+        task.owner = this;
+        task.sequence = nextSequence++;
+        byDeadline.add(task);
+        byStatus.add(task);
+        if (task instanceof Deadline deadline && deadline.getRecurrence() != null) {
+            series.add(deadline);
+        }
+        fuzzyIndex.add(task);
+        labelIndex.add(task);
+        if (!task.isDone()) {
+            openByUrgency.add(task);
+        }
+        counters.added(task);
+        heldDescriptionBytes += ColdDescriptions.estimatedBytes(task.heldDescription());
+    }
+
+    /** Removes a task from the indexes and releases ownership. */
+    private void detach(Task task) {
+        if (task.heldDescription() == null) {
+            task.makeWarm(task.getDescription());
+            for (TaskListListener listener : listeners) {
+                listener.descriptionRestored(task);
+            }
+        } else {
+            heldDescriptionBytes -= ColdDescriptions.estimatedBytes(task.heldDescription());
+        }
+        byDeadline.remove(task);
+        byStatus.remove(task);
+        if (task instanceof Deadline deadline && deadline.getRecurrence() != null) {
+            series.remove(deadline);
+        }
+        fuzzyIndex.remove(task);
+        labelIndex.remove(task);
+        openByUrgency.remove(task);
+        counters.removed(task);
+        task.owner = null;
+        task.position = -1;
     }
 
     /**
@@ -81,42 +400,224 @@ public class TaskList {
         return Collections.unmodifiableList(tasks);
     }
 
+    /**
+     * Returns a read-only view of the tasks ordered by due date (deadlines first, earliest due first; a
+     * recurring deadline by its next occurrence at or after {@code now}). Iterating the first k tasks costs
+     * O(log n + k), after O(series) to advance recurring deadlines whose occurrence has passed.
+     *
+     * @param now the current date-time
+     * @return tasks in deadline order
+     */
+    public Collection<Task> sortedByDeadline(LocalDateTime now) {
+        advanceSeries(now);
+        return Collections.unmodifiableSortedSet(byDeadline);
+    }
+
+    /** Re-keys every recurring deadline whose ranked occurrence is before {@code now} to its next one. */
+    private void advanceSeries(LocalDateTime now) {
+        long nowEpochMinute = Math.floorDiv(now.toEpochSecond(ZoneOffset.UTC), 60L);
+        for (Deadline deadline : series) {
+            if (deadline.rankEpochMinute() >= nowEpochMinute) {
+                continue;
+            }
+            byDeadline.remove(deadline);
+            deadline.advanceRank(nowEpochMinute);
+            byDeadline.add(deadline);
+            if (deadline.heapIndex >= 0) {
+                openByUrgency.changed(deadline);
+            }
+        }
+    }
+
+    /**
+     * Returns a read-only view of the tasks ordered by status (open tasks first, then done tasks).
+     * Iterating the first k tasks costs O(log n + k).
+     *
+     * @return tasks in status order
+     */
+    public Collection<Task> sortedByStatus() {
+        return Collections.unmodifiableSortedSet(byStatus);
+    }
+
+    /**
+     * Takes the task out of the label bitmaps before its tags or priority change.
+     *
+     * @param task the task about to change
+     */
+    void beforeLabelChange(Task task) {
+        labelIndex.remove(task);
+    }
+
+    /**
+     * Re-indexes the task after its tags or priority changed: label bitmaps, and its place in the urgency
+     * heap, where priority breaks ties.
+     *
+     * @param task           the task that changed
+     * @param previousLabels the task's labels before the change, as returned by {@link Task#getLabels()}
+     */
+    void afterLabelChange(Task task, String previousLabels) {
+        modificationCount++;
+        labelIndex.add(task);
+        if (task.heapIndex >= 0) {
+            openByUrgency.changed(task);
+        }
+        for (TaskListListener listener : listeners) {
+            listener.taskLabelsChanged(task, previousLabels);
+        }
+    }
+
+    /**
+     * Takes the task out of status-ordered indexes before its done flag changes.
+     *
+     * @param task the task about to change
+     */
+    void beforeDoneChange(Task task) {
+        byStatus.remove(task);
+        counters.doneChanging(task, -1);
+    }
+
+    /**
+     * Puts the task back into status-ordered indexes after its done flag changed.
+     *
+     * @param task the task that changed
+     */
+    void afterDoneChange(Task task) {
+        modificationCount++;
+        byStatus.add(task);
+        labelIndex.doneChanged(task);
+        if (task.isDone()) {
+            openByUrgency.remove(task);
+        } else {
+            openByUrgency.add(task);
+        }
+        counters.doneChanging(task, 1);
+        if (task.heldDescription() != null) {
+            if (task.isDone()) {
+                spilledDoneBefore = Math.min(spilledDoneBefore, task.sequence);
+            } else {
+                spilledOpenBefore = Math.min(spilledOpenBefore, task.sequence);
+            }
+        }
+        for (TaskListListener listener : listeners) {
+            listener.taskDoneChanged(task);
+        }
+    }
+
+    /**
+     * Returns the most urgent open tasks: deadlines by due date-time (a recurring deadline by its next
+     * occurrence at or after {@code now}), then tasks without one; ties go to the higher priority, then to the
+     * earlier added task. Served from an indexed heap kept up to date on every change, in O(count log count)
+     * after O(series) to re-key recurring deadlines whose occurrence has passed.
+     *
+     * @param count maximum number of tasks to return
+     * @param now   the current date-time
+     * @return up to {@code count} open tasks, most urgent first
+     */
+    public List<Task> next(int count, LocalDateTime now) {
+        advanceSeries(now);
+        return Collections.unmodifiableList(openByUrgency.top(count));
+    }
+
+    /**
+     * Returns the number of tasks of each kind, done and open, and of overdue deadlines, from counters
+     * kept up to date on every change rather than by scanning the list.
+     *
+     * @param now the current date-time; open deadlines due before it are overdue
+     * @return the counts
+     */
+    public TaskSummary summary(LocalDateTime now) {
+        return counters.summary(Math.floorDiv(now.toEpochSecond(ZoneOffset.UTC), 60L));
+    }
+
     /**
      * Returns all tasks whose description (or full display string) contains the given keyword.
-     * Matching is case-insensitive.
+     * Matching is case-insensitive. A keyword with tag or priority words (e.g. "#work|#home !high undone")
+     * is a label query instead, answered from bitmap indexes: each word must match, '|' joins alternatives,
+     * and "done" and "undone" select by status.
+     * Repeated queries between changes are answered from the query cache.
      *
      * @param keyword the search keyword (non-null; empty matches no tasks)
-     * @return list of matching tasks (may be empty)
+     * @return unmodifiable list of matching tasks (may be empty)
      */
     public List<Task> findTasks(String keyword) {
         if (keyword == null || keyword.isEmpty()) {
             return List.of();
         }
         String lowerKeyword = keyword.toLowerCase();
+        if (LabelIndex.isLabelQuery(lowerKeyword)) {
+            return queryCache.get("labels:" + lowerKeyword, modificationCount, () -> labelIndex.find(lowerKeyword));
+        }
+        return queryCache.get("find:" + lowerKeyword, modificationCount, () -> scanForKeyword(lowerKeyword));
+    }
+
+    private List<Task> scanForKeyword(String lowerKeyword) {
         List<Task> matching = new ArrayList<>();
         for (Task task : tasks) {
             if (task.getDisplayString().toLowerCase().contains(lowerKeyword)) {
                 matching.add(task);
             }
         }
-        return matching;
+        return Collections.unmodifiableList(matching);
+    }
+
+    /**
+     * Returns up to {@code limit} tasks whose description words are close to the query words,
+     * tolerating typos (one edit for words of up to four letters, two for longer ones).
+     * Served from a word index kept up to date on add and remove, not by scanning every task.
+     *
+     * @param query the search text
+     * @param limit maximum number of results
+     * @return matching tasks, best match first (may be empty)
+     */
+    public List<Task> fuzzyFind(String query, int limit) {
+        if (query == null || query.isBlank() || limit <= 0) {
+            return List.of();
+        }
+        return fuzzyIndex.search(query, limit);
     }
 
     /**
-     * Returns all deadlines whose due date is on the given date.
+     * Returns all deadlines due on the given date, by time of day: one-off deadlines due that day and
+     * recurring deadlines with an occurrence that day. One-off deadlines are read from the deadline-ordered
+     * index (O(log n + matches)) and each recurring series is checked arithmetically (O(series)).
+     * Repeated queries between changes are answered from the query cache.
      *
      * @param date the date to filter by
-     * @return list of matching deadline tasks (may be empty)
+     * @return unmodifiable list of matching deadline tasks (may be empty)
      */
     public List<Task> getDeadlinesOn(LocalDate date) {
+        return queryCache.get("on:" + date, modificationCount, () -> findDeadlinesOn(date));
+    }
+
+    private List<Task> findDeadlinesOn(LocalDate date) {
         List<Task> onDate = new ArrayList<>();
-        for (Task task : tasks) {
-            if (task instanceof Deadline deadline) {
-                if (deadline.getBy().toLocalDate().equals(date)) {
-                    onDate.add(task);
-                }
+        Deadline dayStart = new Deadline("", date.atStartOfDay());
+        Deadline nextDayStart = new Deadline("", date.plusDays(1).atStartOfDay());
+        dayStart.sequence = Long.MIN_VALUE;
+        nextDayStart.sequence = Long.MIN_VALUE;
+        for (Task task : byDeadline.subSet(dayStart, true, nextDayStart, false)) {
+            if (((Deadline) task).getRecurrence() == null) {
+                onDate.add(task);
             }
         }
-        return onDate;
+        int oneOffCount = onDate.size();
+        for (Deadline deadline : series) {
+            if (deadline.isDueOn(date)) {
+                onDate.add(deadline);
+            }
+        }
+        if (onDate.size() > oneOffCount) {
+            onDate.sort(TIME_OF_DAY_ORDER);
+        }
+        return Collections.unmodifiableList(onDate);
+    }
+
+    /**
+     * Returns the cache used by {@link #findTasks} and {@link #getDeadlinesOn}, for its hit/miss counters.
+     *
+     * @return the query cache
+     */
+    public QueryCache queryCache() {
+        return queryCache;
     }
 }
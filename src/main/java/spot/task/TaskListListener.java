@@ -0,0 +1,71 @@
+package spot.task;
+
+/**
+ * Receives notifications when a {@link TaskList} changes, so that services outside the list
+ * (reminders, indexes) can update themselves incrementally instead of rescanning.
+ */
+public interface TaskListListener {
+
+    /**
+     * Called after a task has been added to the list.
+     *
+     * @param task the added task
+     */
+    default void taskAdded(Task task) {
+    }
+
+    /**
+     * Called after a task has been removed from the list.
+     *
+     * @param task the removed task
+     */
+    default void taskRemoved(Task task) {
+    }
+
+    /**
+     * Called after a task has been removed from the list, with the position it was removed from.
+     * By default forwards to {@link #taskRemoved(Task)}.
+     *
+     * @param task  the removed task
+     * @param index the task's 0-based index in the list just before the removal
+     */
+    default void taskRemoved(Task task, int index) {
+        taskRemoved(task);
+    }
+
+    /**
+     * Called after a task in the list has been marked or unmarked.
+     *
+     * @param task the task whose done state changed
+     */
+    default void taskDoneChanged(Task task) {
+    }
+
+    /**
+     * Called after a task in the list had its tags or priority changed.
+     *
+     * @param task           the task whose labels changed
+     * @param previousLabels its labels before the change, as returned by {@link Task#getLabels()}
+     */
+    default void taskLabelsChanged(Task task, String previousLabels) {
+    }
+
+    /**
+     * Called after the list spilled a task's description to disk to stay within its memory budget
+     * (see {@link TaskList#limitDescriptionMemory}). The task stays in the list.
+     *
+     * @param task        the task whose description was spilled
+     * @param description the description, as it was held until now
+     */
+    default void descriptionSpilled(Task task, String description) {
+    }
+
+    /**
+     * Called when a spilled description is held on the heap again because its task is leaving the list,
+     * just before {@link #taskRemoved(Task, int)}.
+     *
+     * @param task the task whose description is held again
+     */
+    default void descriptionRestored(Task task) {
+    }
+}
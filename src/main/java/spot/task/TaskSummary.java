@@ -0,0 +1,131 @@
+package spot.task;
+
+/**
+ * Immutable snapshot of a task list's counts: by kind, by done state, and overdue deadlines.
+ */
+public class TaskSummary {
+    private final int todos;
+    private final int deadlines;
+    private final int events;
+    private final int total;
+    private final int doneTodos;
+    private final int doneDeadlines;
+    private final int doneEvents;
+    private final int done;
+    private final int overdue;
+
+    /**
+     * Creates a summary from per-kind counts, indexed by the {@code Task.KIND_*} constants.
+     *
+     * @param totalByKind number of tasks of each kind
+     * @param doneByKind  number of done tasks of each kind
+     * @param overdue     number of open deadlines that are past due
+     */
+    TaskSummary(int[] totalByKind, int[] doneByKind, int overdue) {
+        this.todos = totalByKind[Task.KIND_TODO];
+        this.deadlines = totalByKind[Task.KIND_DEADLINE];
+        this.events = totalByKind[Task.KIND_EVENT];
+        this.doneTodos = doneByKind[Task.KIND_TODO];
+        this.doneDeadlines = doneByKind[Task.KIND_DEADLINE];
+        this.doneEvents = doneByKind[Task.KIND_EVENT];
+        int allTasks = 0;
+        int allDone = 0;
+        for (int kind = 0; kind < totalByKind.length; kind++) {
+            allTasks += totalByKind[kind];
+            allDone += doneByKind[kind];
+        }
+        this.total = allTasks;
+        this.done = allDone;
+        this.overdue = overdue;
+    }
+
+    /**
+     * Returns the number of tasks.
+     *
+     * @return total task count
+     */
+    public int total() {
+        return total;
+    }
+
+    /**
+     * Returns the number of done tasks.
+     *
+     * @return done task count
+     */
+    public int done() {
+        return done;
+    }
+
+    /**
+     * Returns the number of tasks not yet done.
+     *
+     * @return open task count
+     */
+    public int open() {
+        return total - done;
+    }
+
+    /**
+     * Returns the number of open deadlines whose due time has passed.
+     *
+     * @return overdue deadline count
+     */
+    public int overdue() {
+        return overdue;
+    }
+
+    /**
+     * Returns the number of todos.
+     *
+     * @return todo count
+     */
+    public int todos() {
+        return todos;
+    }
+
+    /**
+     * Returns the number of deadlines.
+     *
+     * @return deadline count
+     */
+    public int deadlines() {
+        return deadlines;
+    }
+
+    /**
+     * Returns the number of events.
+     *
+     * @return event count
+     */
+    public int events() {
+        return events;
+    }
+
+    /**
+     * Returns the number of done todos.
+     *
+     * @return done todo count
+     */
+    public int doneTodos() {
+        return doneTodos;
+    }
+
+    /**
+     * Returns the number of done deadlines.
+     *
+     * @return done deadline count
+     */
+    public int doneDeadlines() {
+        return doneDeadlines;
+    }
+
+    /**
+     * Returns the number of done events.
+     *
+     * @return done event count
+     */
+    public int doneEvents() {
+        return doneEvents;
+    }
+}
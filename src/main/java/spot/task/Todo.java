@@ -10,7 +10,7 @@ public class Todo extends Task {
      * @param description the todo text
      */
     public Todo(String description) {
-        super(description);
+        super(description, KIND_TODO);
     }
 
     @Override
@@ -0,0 +1,135 @@
+package spot.task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Indexed binary min-heap of open tasks, most urgent first: deadlines by due date-time (a recurring
+ * deadline by its next occurrence, see {@link Deadline#rankEpochMinute()}), then tasks
+ * without one; ties go to the higher priority, then to the earlier added task. Each task records its
+ * position in the heap, so removing it (when marked done or deleted) or moving it after its key changed
+ * costs O(log n) instead of a search. Reading the k most urgent tasks costs O(k log k).
+ */
+final class UrgencyHeap {
+    /** Most urgent first. */
+    private static final Comparator<Task> URGENCY_ORDER = Comparator
+            .comparingLong((Task task) -> task instanceof Deadline deadline
+                    ? deadline.rankEpochMinute() : Long.MAX_VALUE)
+            .thenComparingInt(task -> task.getPriority() == null ? 0 : -(task.getPriority().ordinal() + 1))
+            .thenComparingLong(task -> task.sequence);
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Task[] heap = new Task[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Adds a task. It must not already be in the heap.
+     *
+     * @param task the task to add
+     */
+    void add(Task task) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        place(task, size++);
+        siftUp(task.heapIndex);
+    }
+
+    /**
+     * Removes a task if it is in the heap.
+     *
+     * @param task the task to remove
+     */
+    void remove(Task task) {
+        int index = task.heapIndex;
+        if (index < 0) {
+            return;
+        }
+        task.heapIndex = -1;
+        Task last = heap[--size];
+        heap[size] = null;
+        if (index < size) {
+            place(last, index);
+            changed(last);
+        }
+    }
+
+    /**
+     * Restores heap order after a task's key changed in either direction (decrease-key or increase-key).
+     *
+     * @param task a task in the heap whose key changed
+     */
+    void changed(Task task) {
+        siftUp(task.heapIndex);
+        siftDown(task.heapIndex);
+    }
+
+    /**
+     * Returns the most urgent tasks without removing them, by walking the heap from the root with a
+     * small frontier queue.
+     *
+     * @param count maximum number of tasks
+     * @return up to {@code count} tasks, most urgent first
+     */
+    List<Task> top(int count) {
+        int limit = Math.min(count, size);
+        List<Task> top = new ArrayList<>(limit);
+        if (limit <= 0) {
+            return top;
+        }
+        PriorityQueue<Task> frontier = new PriorityQueue<>(URGENCY_ORDER);
+        frontier.add(heap[0]);
+        while (top.size() < limit) {
+            Task next = frontier.poll();
+            top.add(next);
+            int child = 2 * next.heapIndex + 1;
+            if (child < size) {
+                frontier.add(heap[child]);
+            }
+            if (child + 1 < size) {
+                frontier.add(heap[child + 1]);
+            }
+        }
+        return top;
+    }
+
+    private void siftUp(int index) {
+        Task task = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (URGENCY_ORDER.compare(task, heap[parent]) >= 0) {
+                break;
+            }
+            place(heap[parent], index);
+            index = parent;
+        }
+        place(task, index);
+    }
+
+    private void siftDown(int index) {
+        Task task = heap[index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && URGENCY_ORDER.compare(heap[child + 1], heap[child]) < 0) {
+                child++;
+            }
+            if (URGENCY_ORDER.compare(heap[child], task) >= 0) {
+                break;
+            }
+            place(heap[child], index);
+            index = child;
+        }
+        place(task, index);
+    }
+
+    private void place(Task task, int index) {
+        heap[index] = task;
+        task.heapIndex = index;
+    }
+}
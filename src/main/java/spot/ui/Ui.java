@@ -1,14 +1,19 @@
 package spot.ui;
 
+import java.io.PrintStream;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Scanner;
 import spot.task.Task;
 import spot.task.TaskList;
+import spot.task.TaskSummary;
 import spot.util.DateTimeFormats;
 
 /**
  * Handles all console I/O: reading commands, showing welcome/farewell, lists, and framed messages.
+ * Each output method prints its whole block while holding this UI's lock, so output from other threads
+ * (e.g. reminders) never lands in the middle of a list or message.
  */
 public class Ui {
     private static final String HORIZONTAL_LINE = "____________________________________________________________";
@@ -35,17 +40,31 @@ public class Ui {
     private final String borderLine;
     private final String rightAlignFormat;
     private final Scanner scanner;
+    private final PrintStream out;
 
     /**
-     * Creates a UI that reads from the given scanner and uses a fixed line width for framing.
+     * Creates a UI that reads from the given scanner, prints to standard output,
+     * and uses a fixed line width for framing.
      *
      * @param scanner input source for user commands
      */
     public Ui(Scanner scanner) {
+        this(scanner, System.out);
+    }
+
+    /**
+     * Creates a UI that reads from the given scanner and prints to the given stream
+     * (e.g. a client connection).
+     *
+     * @param scanner input source for user commands
+     * @param out     destination for all output
+     */
+    public Ui(Scanner scanner, PrintStream out) {
         this.borderLine = HORIZONTAL_LINE;
         int lineWidth = borderLine.length();
         this.rightAlignFormat = "%" + lineWidth + "s";
         this.scanner = scanner;
+        this.out = out;
     }
 
     /**
@@ -60,24 +79,39 @@ public class Ui {
         return scanner.nextLine();
     }
 
-    /** Closes the underlying scanner. */
-    public void close() {
+    /**
+     * Prints output that was already formatted by another UI (e.g. in a pipelined run), as is.
+     *
+     * @param rendered the formatted output
+     */
+    public synchronized void showRendered(String rendered) {
+        out.print(rendered);
+    }
+
+    /** Flushes output. */
+    public synchronized void flush() {
+        out.flush();
+    }
+
+    /** Flushes output and closes the underlying scanner. */
+    public synchronized void close() {
+        out.flush();
         scanner.close();
     }
 
     /** Prints the welcome banner with logo and prompt. */
-    public void showWelcome() {
-        System.out.println(borderLine);
-        System.out.println("Hello! I'm \n" + LOGO + SPOT_ASCII + "\nWhat tasks do you have today?");
-        System.out.println(borderLine + "\n");
+    public synchronized void showWelcome() {
+        out.println(borderLine);
+        out.println("Hello! I'm \n" + LOGO + SPOT_ASCII + "\nWhat tasks do you have today?");
+        out.println(borderLine + "\n");
     }
 
     /** Prints the farewell message and border. */
-    public void showFarewell() {
+    public synchronized void showFarewell() {
         String farewellMsg = "Spot: Bye. Hope to see you again soon!";
         String rightAlignedFarewell = String.format(rightAlignFormat, farewellMsg);
-        System.out.println("\n" + rightAlignedFarewell);
-        System.out.println(borderLine);
+        out.println("\n" + rightAlignedFarewell);
+        out.println(borderLine);
     }
 
     /**
@@ -85,19 +119,41 @@ public class Ui {
      *
      * @param tasks the task list to display
      */
-    public void showList(TaskList tasks) {
-        System.out.println(borderLine + "\n");
+    public synchronized void showList(TaskList tasks) {
+        out.println(borderLine + "\n");
         if (tasks.isEmpty()) {
-            System.out.println(String.format(rightAlignFormat, "Spot: Your list is empty. Add a task to get started!"));
+            out.println(String.format(rightAlignFormat, "Spot: Your list is empty. Add a task to get started!"));
         } else {
-            System.out.println(String.format(rightAlignFormat, "Spot: Here are your tasks, good luck!"));
+            out.println(String.format(rightAlignFormat, "Spot: Here are your tasks, good luck!"));
             for (int i = 0; i < tasks.size(); i++) {
                 Task task = tasks.get(i);
                 String taskLine = (i + 1) + "." + formatTask(task);
-                System.out.println(String.format(rightAlignFormat, taskLine));
+                out.println(String.format(rightAlignFormat, taskLine));
+            }
+        }
+        out.println("\n" + borderLine + "\n");
+    }
+
+    /**
+     * Prints tasks in a sorted order (or an empty-list message) inside borders.
+     * Each row shows the task's number in the list, so it can be used with mark, unmark and delete.
+     *
+     * @param tasks       the task list, for the numbers
+     * @param sortedTasks the list's tasks in the order to display
+     * @param order       name of the ordering for the header (e.g. "deadline")
+     */
+    public synchronized void showSortedList(TaskList tasks, Collection<Task> sortedTasks, String order) {
+        out.println(borderLine + "\n");
+        if (sortedTasks.isEmpty()) {
+            out.println(String.format(rightAlignFormat, "Spot: Your list is empty. Add a task to get started!"));
+        } else {
+            out.println(String.format(rightAlignFormat, "Spot: Here are your tasks by " + order + ":"));
+            for (Task task : sortedTasks) {
+                String taskLine = (tasks.indexOf(task) + 1) + "." + formatTask(task);
+                out.println(String.format(rightAlignFormat, taskLine));
             }
         }
-        System.out.println("\n" + borderLine + "\n");
+        out.println("\n" + borderLine + "\n");
     }
 
     /**
@@ -105,20 +161,52 @@ public class Ui {
      *
      * @param matching list of tasks whose description matches the keyword
      */
-    public void showMatchingTasks(List<Task> matching) {
-        System.out.println(borderLine + "\n");
+    public synchronized void showMatchingTasks(List<Task> matching) {
+        out.println(borderLine + "\n");
         if (matching.isEmpty()) {
-            System.out.println(String.format(rightAlignFormat, "Spot: No matching tasks in your list."));
+            out.println(String.format(rightAlignFormat, "Spot: No matching tasks in your list."));
         } else {
-            System.out.println(String.format(rightAlignFormat, "Here are the matching tasks in your list:"));
-            System.out.println();
+            out.println(String.format(rightAlignFormat, "Here are the matching tasks in your list:"));
+            out.println();
             for (int i = 0; i < matching.size(); i++) {
                 Task task = matching.get(i);
                 String taskLine = (i + 1) + "." + formatTask(task);
-                System.out.println(String.format(rightAlignFormat, taskLine));
+                out.println(String.format(rightAlignFormat, taskLine));
+            }
+        }
+        out.println("\n" + borderLine + "\n");
+    }
+
+    /**
+     * Prints tasks matching a search of both the list and the archive. Archived tasks are not numbered,
+     * since they cannot be marked or deleted.
+     *
+     * @param matching         matching tasks in the list
+     * @param archivedMatching matching archived tasks
+     */
+    public synchronized void showMatchingTasksWithArchive(List<Task> matching, List<Task> archivedMatching) {
+        if (archivedMatching.isEmpty()) {
+            showMatchingTasks(matching);
+            return;
+        }
+        out.println(borderLine + "\n");
+        if (matching.isEmpty()) {
+            out.println(String.format(rightAlignFormat, "Spot: No matching tasks in your list."));
+        } else {
+            out.println(String.format(rightAlignFormat, "Here are the matching tasks in your list:"));
+            out.println();
+            for (int i = 0; i < matching.size(); i++) {
+                String taskLine = (i + 1) + "." + formatTask(matching.get(i));
+                out.println(String.format(rightAlignFormat, taskLine));
             }
         }
-        System.out.println("\n" + borderLine + "\n");
+        out.println();
+        out.println(String.format(rightAlignFormat, "And in the archive:"));
+        out.println();
+        for (Task task : archivedMatching) {
+            out.println(String.format(rightAlignFormat, formatTask(task)));
+        }
+        out.println("\n" + borderLine + "\n");
     }
 
     /**
@@ -127,25 +215,82 @@ public class Ui {
      * @param tasksOnDate  list of deadline tasks on that date
      * @param queriedDate  the date that was queried (for display)
      */
-    public void showDeadlinesOn(List<Task> tasksOnDate, LocalDate queriedDate) {
-        System.out.println(borderLine + "\n");
+    public synchronized void showDeadlinesOn(List<Task> tasksOnDate, LocalDate queriedDate) {
+        out.println(borderLine + "\n");
         if (tasksOnDate.isEmpty()) {
-            System.out.println(String.format(rightAlignFormat,
+            out.println(String.format(rightAlignFormat,
                     "Spot: No deadlines on " + queriedDate.format(DateTimeFormats.DISPLAY_DATE) + "."));
         } else {
-            System.out.println(String.format(rightAlignFormat,
+            out.println(String.format(rightAlignFormat,
                     "Spot: Deadlines on " + queriedDate.format(DateTimeFormats.DISPLAY_DATE) + ":"));
             for (int i = 0; i < tasksOnDate.size(); i++) {
                 Task task = tasksOnDate.get(i);
                 String taskLine = (i + 1) + "." + formatTask(task);
-                System.out.println(String.format(rightAlignFormat, taskLine));
+                out.println(String.format(rightAlignFormat, taskLine));
+            }
+        }
+        out.println("\n" + borderLine + "\n");
+    }
+
+    /**
+     * Prints completion suggestions for a prefix (or a "no suggestions" message).
+     *
+     * @param prefix      the prefix that was completed
+     * @param suggestions suggested commands and task descriptions
+     */
+    public synchronized void showCompletions(String prefix, List<String> suggestions) {
+        out.println(borderLine + "\n");
+        if (suggestions.isEmpty()) {
+            out.println(String.format(rightAlignFormat, "Spot: Nothing starts with \"" + prefix + "\"."));
+        } else {
+            out.println(String.format(rightAlignFormat, "Spot: Did you mean:"));
+            for (String suggestion : suggestions) {
+                out.println(String.format(rightAlignFormat, suggestion));
+            }
+        }
+        out.println("\n" + borderLine + "\n");
+    }
+
+    /**
+     * Prints the most urgent open tasks (or a message that nothing is open), numbered by urgency.
+     *
+     * @param next open tasks, most urgent first
+     */
+    public synchronized void showNext(List<Task> next) {
+        out.println(borderLine + "\n");
+        if (next.isEmpty()) {
+            out.println(String.format(rightAlignFormat, "Spot: Nothing left to do. Enjoy the break!"));
+        } else {
+            out.println(String.format(rightAlignFormat, "Spot: Here's what to do next:"));
+            for (int i = 0; i < next.size(); i++) {
+                out.println(String.format(rightAlignFormat, (i + 1) + "." + formatTask(next.get(i))));
             }
         }
-        System.out.println("\n" + borderLine + "\n");
+        out.println("\n" + borderLine + "\n");
+    }
+
+    /**
+     * Prints task counts: open and done overall, then per task type, with overdue deadlines.
+     *
+     * @param summary the counts to show
+     */
+    public synchronized void showSummary(TaskSummary summary) {
+        out.println(borderLine + "\n");
+        out.println(String.format(rightAlignFormat, "Spot: Here's how your tasks stand:"));
+        out.println();
+        out.println(String.format(rightAlignFormat, summary.total() + " task" + (summary.total() == 1 ? "" : "s")
+                + ": " + summary.open() + " open, " + summary.done() + " done"));
+        out.println(String.format(rightAlignFormat,
+                "Todos: " + summary.todos() + " (" + summary.doneTodos() + " done)"));
+        out.println(String.format(rightAlignFormat, "Deadlines: " + summary.deadlines() + " ("
+                + summary.doneDeadlines() + " done, " + summary.overdue() + " overdue)"));
+        out.println(String.format(rightAlignFormat,
+                "Events: " + summary.events() + " (" + summary.doneEvents() + " done)"));
+        out.println("\n" + borderLine + "\n");
     }
 
     /** Prints the help text listing all supported commands. */
-    public void showHelp() {
+    public synchronized void showHelp() {
         int lineWidth = borderLine.length();
         int cmdWidth = 36;
         int descWidth = lineWidth - cmdWidth - 2;
@@ -153,27 +298,41 @@ public class Ui {
 
         String[][] commands = {
             { "list", "show all tasks" },
+            { "list by deadline|status", "show tasks sorted" },
             { "cheer", "show a random motivational quote" },
             { "find <keyword>", "search tasks by keyword" },
+            { "find --all <keyword>", "also search the archive" },
+            { "find #tag|#tag !priority undone", "search by labels" },
+            { "find~ <words>", "search, tolerating typos" },
             { "todo <description>", "add a todo task" },
+            { "... #tag !low|medium|high", "label a new task" },
             { "deadline <desc> /by <date>", "add a deadline" },
+            { "... /by <date> /every <period>", "repeat: day|weekday|week|month" },
             { "event <desc> /from <start> /to <end>", "add an event" },
             { "on <date>", "list deadlines on that date" },
+            { "import <file.csv|file.json>", "add tasks from a file" },
+            { "export <file.csv|file.json>", "save tasks to a file" },
+            { "complete <prefix>", "suggest commands/tasks" },
+            { "archive", "archive done tasks" },
+            { "summary", "count tasks by type and status" },
+            { "next [n]", "show the n most urgent open tasks" },
             { "mark <number>", "mark a task as done" },
             { "unmark <number>", "mark task as not done" },
             { "delete <number>", "remove a task" },
+            { "label <number> #tag !priority", "replace a task's labels" },
+            { "<change>; <change>; ...", "all changes, or none" },
             { "help", "show this list" },
             { "bye", "exit (See you later!)" }
         };
 
-        System.out.println(borderLine + "\n");
-        System.out.println(String.format(rightAlignFormat, "Spot: Here are the commands I understand:"));
-        System.out.println(String.format(rightAlignFormat, ""));
+        out.println(borderLine + "\n");
+        out.println(String.format(rightAlignFormat, "Spot: Here are the commands I understand:"));
+        out.println(String.format(rightAlignFormat, ""));
         for (String[] cmd : commands) {
             String line = String.format(rowFormat, cmd[0], cmd[1]);
-            System.out.println(String.format(rightAlignFormat, line));
+            out.println(String.format(rightAlignFormat, line));
         }
-        System.out.println("\n" + borderLine + "\n");
+        out.println("\n" + borderLine + "\n");
     }
 
     /**
@@ -182,7 +341,7 @@ public class Ui {
      * @param newTask    the task that was added
      * @param taskCount  the number of tasks after adding
      */
-    public void showTaskAdded(Task newTask, int taskCount) {
+    public synchronized void showTaskAdded(Task newTask, int taskCount) {
         String taskLine = formatTask(newTask);
         String countLine = "Now you have " + taskCount + " task" + (taskCount == 1 ? "" : "s") + " in the list.";
         printFramedThreeLineMessage(
@@ -198,7 +357,7 @@ public class Ui {
      * @param removedTask the task that was removed
      * @param taskCount   the number of tasks after removal
      */
-    public void showTaskDeleted(Task removedTask, int taskCount) {
+    public synchronized void showTaskDeleted(Task removedTask, int taskCount) {
         String taskLine = formatTask(removedTask);
         String countLine = "Now you have " + taskCount + " task" + (taskCount == 1 ? "" : "s") + " in the list.";
         printFramedThreeLineMessage(
@@ -208,28 +367,66 @@ public class Ui {
         );
     }
 
+    /**
+     * Prints a single task with its number in the list.
+     *
+     * @param number the task's 1-based number
+     * @param task   the task
+     */
+    public synchronized void showTask(int number, Task task) {
+        printFramedTwoLineMessage(
+                "Spot: Here is task " + number + ":",
+                formatTask(task)
+        );
+    }
+
     /** Prints confirmation that a task was marked as done. */
-    public void showTaskMarked(Task task) {
+    public synchronized void showTaskMarked(Task task) {
         printFramedTwoLineMessage(
                 "Spot: Nice! I've marked this task as done:",
                 formatTask(task)
         );
     }
 
+    /**
+     * Prints confirmation that a task's tags and priority were replaced.
+     *
+     * @param task the relabelled task
+     */
+    public synchronized void showTaskRelabelled(Task task) {
+        printFramedTwoLineMessage(
+                "Spot: OK, this task is now labelled:",
+                formatTask(task)
+        );
+    }
+
     /** Prints confirmation that a task was unmarked. */
-    public void showTaskUnmarked(Task task) {
+    public synchronized void showTaskUnmarked(Task task) {
         printFramedTwoLineMessage(
                 "Spot: I've unmarked the task:",
                 formatTask(task)
         );
     }
 
+    /**
+     * Prints a reminder that a deadline has come due. Called from the reminder thread; the UI lock keeps
+     * it from interleaving with output from the command loop.
+     *
+     * @param taskLine the deadline as formatted by {@link #formatTask} when the reminder was scheduled
+     */
+    public synchronized void showReminder(String taskLine) {
+        printFramedTwoLineMessage(
+                "Spot: Reminder! This is due now:",
+                taskLine
+        );
+    }
+
     /**
      * Prints a single message inside the standard border (e.g. for errors).
      *
      * @param message the message to display
      */
-    public void showFramedMessage(String message) {
+    public synchronized void showFramedMessage(String message) {
         printFramedMessage(message);
     }
 
@@ -238,27 +435,35 @@ public class Ui {
      *
      * @param quote the quote to display (e.g. from cheer command)
      */
-    public void showCheer(String quote) {
+    public synchronized void showCheer(String quote) {
         String coloredQuote = ANSI_CYAN + quote + ANSI_RESET;
-        System.out.println(
+        out.println(
                 borderLine + "\n\n" + String.format(rightAlignFormat, coloredQuote) + "\n" + borderLine + "\n");
     }
 
-    /** Builds a single-line display string for a task (e.g. "[T][X] buy milk"). */
-    private String formatTask(Task task) {
+    /**
+     * Builds a single-line display string for a task (e.g. "[T][X] buy milk"). Prints nothing, so it does not
+     * take the UI lock; call it on the thread that owns the task.
+     *
+     * @param task the task to format
+     * @return the display line
+     */
+    public String formatTask(Task task) {
         String statusIcon = task.isDone() ? STATUS_DONE_ICON : STATUS_NOT_DONE_ICON;
-        return task.getTypeIcon() + statusIcon + " " + task.getDisplayString();
+        String labels = task.getLabels();
+        String line = task.getTypeIcon() + statusIcon + " " + task.getDisplayString();
+        return labels.isEmpty() ? line : line + " " + labels;
     }
 
     /** Prints one message line between top and bottom borders. */
     private void printFramedMessage(String message) {
-        System.out.println(
+        out.println(
                 borderLine + "\n\n" + String.format(rightAlignFormat, message) + "\n" + borderLine + "\n");
     }
 
     /** Prints header and content lines between borders. */
     private void printFramedTwoLineMessage(String header, String content) {
-        System.out.println(
+        out.println(
                 borderLine + "\n\n"
                         + String.format(rightAlignFormat, header) + "\n"
                         + String.format(rightAlignFormat, content) + "\n"
@@ -268,7 +473,7 @@ public class Ui {
 
     /** Prints header, content, and footer lines between borders (e.g. task added/deleted). */
     private void printFramedThreeLineMessage(String header, String content, String footer) {
-        System.out.println(
+        out.println(
                 borderLine + "\n\n"
                         + String.format(rightAlignFormat, "Spot: " + header) + "\n"
                         + String.format(rightAlignFormat, content) + "\n"
@@ -0,0 +1,112 @@
+package spot.util;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Fixed-size Bloom filter over long keys: a query answers "definitely absent" or "possibly present".
+ * Uses about 10 bits and 7 hash probes per expected key, for roughly 1% false positives.
+ * Probes are derived from two 64-bit mixes of the key (double hashing).
+ */
+public final class BloomFilter {
+    private static final int BITS_PER_KEY = 10;
+    private static final int HASH_COUNT = 7;
+    /** Upper bound on the serialized size, to reject corrupt files before allocating. */
+    private static final int MAX_WORDS = 1 << 24;
+
+    private final long[] words;
+    private final int hashCount;
+
+    /**
+     * Creates an empty filter sized for the given number of distinct keys.
+     *
+     * @param expectedKeys expected number of distinct keys
+     */
+    public BloomFilter(int expectedKeys) {
+        long bits = Math.max(64L, (long) expectedKeys * BITS_PER_KEY);
+        this.words = new long[(int) Math.min(MAX_WORDS, (bits + 63) / 64)];
+        this.hashCount = HASH_COUNT;
+    }
+
+    private BloomFilter(long[] words, int hashCount) {
+        this.words = words;
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * Adds a key.
+     *
+     * @param key the key
+     */
+    public void add(long key) {
+        long bitCount = (long) words.length * 64;
+        long first = mix(key);
+        long second = mix(first) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(first + i * second, bitCount);
+            words[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    /**
+     * Returns whether the key may have been added; false means it certainly was not.
+     *
+     * @param key the key
+     * @return false if the key is definitely absent
+     */
+    public boolean mightContain(long key) {
+        long bitCount = (long) words.length * 64;
+        long first = mix(key);
+        long second = mix(first) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(first + i * second, bitCount);
+            if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes the filter (probe count, word count, then the bit words).
+     *
+     * @param out destination
+     * @throws IOException if writing fails
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(hashCount);
+        out.writeInt(words.length);
+        for (long word : words) {
+            out.writeLong(word);
+        }
+    }
+
+    /**
+     * Reads a filter written by {@link #writeTo}.
+     *
+     * @param in source
+     * @return the filter
+     * @throws IOException if reading fails or the data is not a valid filter
+     */
+    public static BloomFilter readFrom(DataInput in) throws IOException {
+        int hashCount = in.readInt();
+        int wordCount = in.readInt();
+        if (hashCount < 1 || hashCount > 64 || wordCount < 1 || wordCount > MAX_WORDS) {
+            throw new IOException("Not a Bloom filter");
+        }
+        long[] words = new long[wordCount];
+        for (int i = 0; i < wordCount; i++) {
+            words[i] = in.readLong();
+        }
+        return new BloomFilter(words, hashCount);
+    }
+
+    /** SplitMix64 finalizer: spreads every input bit over the whole output. */
+    private static long mix(long value) {
+        long z = value + 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,403 @@
+package spot.util;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Compressed set of non-negative ints, split into chunks of 65536 values by the high 16 bits.
+ * Each non-empty chunk is stored as a sorted array of its low 16 bits while it holds at most 4096 values
+ * (2 bytes per value), and as a plain 8 KB bitmap once it holds more. A sparse set therefore costs a few
+ * bytes per value however large the values are, and a dense one about 1 bit per possible value.
+ * AND, OR and AND-NOT work chunk by chunk and skip chunks that only one side has.
+ */
+public final class CompressedBitmap {
+    /** Largest chunk kept as a sorted array; larger chunks are bitmaps. */
+    private static final int ARRAY_LIMIT = 4096;
+    /** A bitmap chunk turns back into an array once it falls to this size, not at the limit itself. */
+    private static final int SHRINK_LIMIT = ARRAY_LIMIT / 2;
+    private static final int BITMAP_WORDS = 1 << 10;
+    private static final int INITIAL_CHUNKS = 4;
+    private static final int INITIAL_ARRAY_CAPACITY = 4;
+
+    /** High 16 bits of each chunk, ascending. */
+    private char[] keys = new char[INITIAL_CHUNKS];
+    /** Per chunk: a char[] of sorted low bits (first {@code cardinalities[i]} used), or a long[] bitmap. */
+    private Object[] chunks = new Object[INITIAL_CHUNKS];
+    private int[] cardinalities = new int[INITIAL_CHUNKS];
+    private int chunkCount;
+    private int cardinality;
+
+    /**
+     * Adds a value.
+     *
+     * @param value the value (non-negative)
+     * @return true if the value was not already present
+     */
+    public boolean add(int value) {
+        checkValue(value);
+        char key = (char) (value >>> 16);
+        char low = (char) value;
+        int index = Arrays.binarySearch(keys, 0, chunkCount, key);
+        if (index < 0) {
+            index = -index - 1;
+            insertChunk(index, key, new char[INITIAL_ARRAY_CAPACITY], 0);
+        }
+        int count = cardinalities[index];
+        if (chunks[index] instanceof long[] words) {
+            long bit = 1L << low;
+            if ((words[low >>> 6] & bit) != 0) {
+                return false;
+            }
+            words[low >>> 6] |= bit;
+        } else {
+            char[] values = (char[]) chunks[index];
+            int position = Arrays.binarySearch(values, 0, count, low);
+            if (position >= 0) {
+                return false;
+            }
+            position = -position - 1;
+            if (count == ARRAY_LIMIT) {
+                long[] words = toWords(values, count);
+                words[low >>> 6] |= 1L << low;
+                chunks[index] = words;
+            } else {
+                if (count == values.length) {
+                    values = Arrays.copyOf(values, Math.min(ARRAY_LIMIT, count * 2));
+                    chunks[index] = values;
+                }
+                System.arraycopy(values, position, values, position + 1, count - position);
+                values[position] = low;
+            }
+        }
+        cardinalities[index] = count + 1;
+        cardinality++;
+        return true;
+    }
+
+    /**
+     * Removes a value.
+     *
+     * @param value the value
+     * @return true if the value was present
+     */
+    public boolean remove(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int index = Arrays.binarySearch(keys, 0, chunkCount, (char) (value >>> 16));
+        if (index < 0) {
+            return false;
+        }
+        char low = (char) value;
+        int count = cardinalities[index];
+        if (chunks[index] instanceof long[] words) {
+            long bit = 1L << low;
+            if ((words[low >>> 6] & bit) == 0) {
+                return false;
+            }
+            words[low >>> 6] &= ~bit;
+            if (count - 1 <= SHRINK_LIMIT) {
+                chunks[index] = toValues(words, count - 1);
+            }
+        } else {
+            char[] values = (char[]) chunks[index];
+            int position = Arrays.binarySearch(values, 0, count, low);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(values, position + 1, values, position, count - position - 1);
+        }
+        cardinalities[index] = count - 1;
+        cardinality--;
+        if (count == 1) {
+            removeChunk(index);
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the value is present.
+     *
+     * @param value the value
+     * @return true if present
+     */
+    public boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int index = Arrays.binarySearch(keys, 0, chunkCount, (char) (value >>> 16));
+        if (index < 0) {
+            return false;
+        }
+        char low = (char) value;
+        if (chunks[index] instanceof long[] words) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+        return Arrays.binarySearch((char[]) chunks[index], 0, cardinalities[index], low) >= 0;
+    }
+
+    /**
+     * Returns the number of values.
+     *
+     * @return the cardinality
+     */
+    public int cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * Returns whether there are no values.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    /**
+     * Returns a new bitmap with the values present in both this and the other bitmap.
+     *
+     * @param other the other bitmap
+     * @return the intersection
+     */
+    public CompressedBitmap and(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < chunkCount && j < other.chunkCount) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                result.appendAnd(keys[i], chunks[i], cardinalities[i], other.chunks[j], other.cardinalities[j]);
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a new bitmap with the values present in this or the other bitmap.
+     *
+     * @param other the other bitmap
+     * @return the union
+     */
+    public CompressedBitmap or(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < chunkCount || j < other.chunkCount) {
+            if (j == other.chunkCount || (i < chunkCount && keys[i] < other.keys[j])) {
+                result.appendCopy(keys[i], chunks[i], cardinalities[i]);
+                i++;
+            } else if (i == chunkCount || keys[i] > other.keys[j]) {
+                result.appendCopy(other.keys[j], other.chunks[j], other.cardinalities[j]);
+                j++;
+            } else {
+                long[] words = toWords(chunks[i], cardinalities[i]);
+                orInto(words, other.chunks[j], other.cardinalities[j]);
+                result.appendWords(keys[i], words);
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a new bitmap with the values present in this bitmap but not in the other.
+     *
+     * @param other the bitmap of values to leave out
+     * @return the difference
+     */
+    public CompressedBitmap andNot(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap();
+        int j = 0;
+        for (int i = 0; i < chunkCount; i++) {
+            while (j < other.chunkCount && other.keys[j] < keys[i]) {
+                j++;
+            }
+            if (j == other.chunkCount || other.keys[j] != keys[i]) {
+                result.appendCopy(keys[i], chunks[i], cardinalities[i]);
+                continue;
+            }
+            long[] words = toWords(chunks[i], cardinalities[i]);
+            long[] removed = toWords(other.chunks[j], other.cardinalities[j]);
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                words[word] &= ~removed[word];
+            }
+            result.appendWords(keys[i], words);
+        }
+        return result;
+    }
+
+    /**
+     * Calls the action with every value, in ascending order.
+     *
+     * @param action called once per value
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < chunkCount; i++) {
+            int high = keys[i] << 16;
+            if (chunks[i] instanceof long[] words) {
+                for (int word = 0; word < BITMAP_WORDS; word++) {
+                    long bits = words[word];
+                    while (bits != 0) {
+                        action.accept(high | (word << 6) | Long.numberOfTrailingZeros(bits));
+                        bits &= bits - 1;
+                    }
+                }
+            } else {
+                char[] values = (char[]) chunks[i];
+                for (int k = 0; k < cardinalities[i]; k++) {
+                    action.accept(high | values[k]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns an estimate of the heap used by this bitmap, in bytes (array contents plus headers).
+     *
+     * @return estimated size in bytes
+     */
+    public long sizeInBytes() {
+        long size = 16 + 2L * keys.length + 4L * chunks.length + 4L * cardinalities.length + 48;
+        for (int i = 0; i < chunkCount; i++) {
+            size += chunks[i] instanceof long[] words ? 16 + 8L * words.length : 16 + 2L * ((char[]) chunks[i]).length;
+        }
+        return size;
+    }
+
+    /** Adds the intersection of two chunks with the same key, if it is not empty. */
+    private void appendAnd(char key, Object left, int leftCount, Object right, int rightCount) {
+        if (left instanceof long[] leftWords && right instanceof long[] rightWords) {
+            long[] words = new long[BITMAP_WORDS];
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                words[word] = leftWords[word] & rightWords[word];
+            }
+            appendWords(key, words);
+            return;
+        }
+        // At least one side is an array: keep the array's values that the other side contains.
+        boolean leftIsArray = left instanceof char[];
+        char[] values = (char[]) (leftIsArray ? left : right);
+        int count = leftIsArray ? leftCount : rightCount;
+        Object probe = leftIsArray ? right : left;
+        int probeCount = leftIsArray ? rightCount : leftCount;
+        char[] kept = new char[Math.min(count, probeCount)];
+        int keptCount = 0;
+        for (int k = 0; k < count; k++) {
+            if (chunkContains(probe, probeCount, values[k])) {
+                kept[keptCount++] = values[k];
+            }
+        }
+        if (keptCount > 0) {
+            appendChunk(key, kept, keptCount);
+        }
+    }
+
+    /** Adds a copy of a chunk. */
+    private void appendCopy(char key, Object chunk, int count) {
+        if (chunk instanceof long[] words) {
+            appendChunk(key, words.clone(), count);
+        } else {
+            appendChunk(key, Arrays.copyOf((char[]) chunk, count), count);
+        }
+    }
+
+    /** Adds a bitmap chunk, as an array if it is small enough and not at all if it is empty. */
+    private void appendWords(char key, long[] words) {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        if (count == 0) {
+            return;
+        }
+        appendChunk(key, count <= ARRAY_LIMIT ? toValues(words, count) : words, count);
+    }
+
+    /** Adds a chunk after every existing one; keys must be appended in ascending order. */
+    private void appendChunk(char key, Object chunk, int count) {
+        insertChunk(chunkCount, key, chunk, count);
+        cardinality += count;
+    }
+
+    private void insertChunk(int index, char key, Object chunk, int count) {
+        if (chunkCount == keys.length) {
+            int capacity = chunkCount * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            chunks = Arrays.copyOf(chunks, capacity);
+            cardinalities = Arrays.copyOf(cardinalities, capacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, chunkCount - index);
+        System.arraycopy(chunks, index, chunks, index + 1, chunkCount - index);
+        System.arraycopy(cardinalities, index, cardinalities, index + 1, chunkCount - index);
+        keys[index] = key;
+        chunks[index] = chunk;
+        cardinalities[index] = count;
+        chunkCount++;
+    }
+
+    private void removeChunk(int index) {
+        int after = chunkCount - index - 1;
+        System.arraycopy(keys, index + 1, keys, index, after);
+        System.arraycopy(chunks, index + 1, chunks, index, after);
+        System.arraycopy(cardinalities, index + 1, cardinalities, index, after);
+        chunkCount--;
+        chunks[chunkCount] = null;
+    }
+
+    private static boolean chunkContains(Object chunk, int count, char low) {
+        if (chunk instanceof long[] words) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+        return Arrays.binarySearch((char[]) chunk, 0, count, low) >= 0;
+    }
+
+    /** Returns the chunk as a new bitmap. */
+    private static long[] toWords(Object chunk, int count) {
+        if (chunk instanceof long[] words) {
+            return words.clone();
+        }
+        long[] words = new long[BITMAP_WORDS];
+        orInto(words, chunk, count);
+        return words;
+    }
+
+    private static void orInto(long[] words, Object chunk, int count) {
+        if (chunk instanceof long[] other) {
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                words[word] |= other[word];
+            }
+            return;
+        }
+        char[] values = (char[]) chunk;
+        for (int k = 0; k < count; k++) {
+            words[values[k] >>> 6] |= 1L << values[k];
+        }
+    }
+
+    /** Returns the set bits of a bitmap chunk as a sorted array of exactly {@code count} values. */
+    private static char[] toValues(long[] words, int count) {
+        char[] values = new char[count];
+        int next = 0;
+        for (int word = 0; word < BITMAP_WORDS; word++) {
+            long bits = words[word];
+            while (bits != 0) {
+                values[next++] = (char) ((word << 6) | Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+        }
+        return values;
+    }
+
+    private static void checkValue(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Bitmap values must not be negative: " + value);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package spot.util;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded single-producer, single-consumer queue on a power-of-two ring of slots.
+ * The producer only advances the tail and the consumer only advances the head, so neither side takes a
+ * lock: a slot is published by a release-store of the tail and freed by a release-store of the head.
+ * Exactly one thread may put and exactly one (other) thread may take.
+ *
+ * @param <E> element type
+ */
+public final class SpscRingQueue<E> {
+    private static final int SPIN_LIMIT = 100;
+    private static final int YIELD_LIMIT = 200;
+    private static final long PARK_NANOS = 50_000;
+
+    private final Object[] slots;
+    private final int mask;
+    /** Index of the next slot to take; written only by the consumer. */
+    private final AtomicLong head = new AtomicLong();
+    /** Index of the next slot to fill; written only by the producer. */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Creates a queue holding at least the given number of elements (rounded up to a power of two).
+     *
+     * @param capacity minimum capacity, at least 1
+     */
+    public SpscRingQueue(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^30: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        this.slots = new Object[size < capacity ? size << 1 : size];
+        this.mask = slots.length - 1;
+    }
+
+    /**
+     * Adds an element if there is room. Producer thread only.
+     *
+     * @param element the element (not null)
+     * @return false if the queue is full
+     */
+    public boolean offer(E element) {
+        Objects.requireNonNull(element);
+        long currentTail = tail.get();
+        if (currentTail - head.getAcquire() == slots.length) {
+            return false;
+        }
+        slots[(int) currentTail & mask] = element;
+        tail.setRelease(currentTail + 1);
+        return true;
+    }
+
+    /**
+     * Removes and returns the oldest element, if any. Consumer thread only.
+     *
+     * @return the element, or null if the queue is empty
+     */
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long currentHead = head.get();
+        if (currentHead == tail.getAcquire()) {
+            return null;
+        }
+        int slot = (int) currentHead & mask;
+        E element = (E) slots[slot];
+        slots[slot] = null;
+        head.setRelease(currentHead + 1);
+        return element;
+    }
+
+    /**
+     * Adds an element, waiting while the queue is full. Producer thread only.
+     *
+     * @param element the element (not null)
+     */
+    public void put(E element) {
+        for (int idleRounds = 0; !offer(element); idleRounds++) {
+            backOff(idleRounds);
+        }
+    }
+
+    /**
+     * Removes and returns the oldest element, waiting while the queue is empty. Consumer thread only.
+     *
+     * @return the element
+     */
+    public E take() {
+        E element;
+        for (int idleRounds = 0; (element = poll()) == null; idleRounds++) {
+            backOff(idleRounds);
+        }
+        return element;
+    }
+
+    /** Spins briefly, then yields, then parks, so an idle stage stops using CPU. */
+    private static void backOff(int idleRounds) {
+        if (idleRounds < SPIN_LIMIT) {
+            Thread.onSpinWait();
+        } else if (idleRounds < YIELD_LIMIT) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+    }
+}
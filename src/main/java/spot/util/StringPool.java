@@ -0,0 +1,91 @@
+package spot.util;
+
+/**
+ * Bounded, lossy pool that deduplicates equal strings as they are loaded or parsed.
+ * It is a direct-mapped table: each string hashes to one slot, and a newer string simply replaces
+ * an unequal older one. Memory use is fixed, lookups are O(1) with no locking, and frequently repeated
+ * values (event times like "Mon 2pm", recurring descriptions) stay resident and are shared.
+ * Safe for concurrent use; the hit counters are approximate under contention.
+ */
+public final class StringPool {
+    private static final int SHARED_SLOT_BITS = 16;
+    private static final StringPool SHARED = new StringPool(SHARED_SLOT_BITS);
+
+    private final String[] slots;
+    private final int mask;
+    private long hits;
+    private long savedBytes;
+
+    /**
+     * Creates a pool with 2^slotBits slots.
+     *
+     * @param slotBits log2 of the number of slots (e.g. 16 for 65,536 slots)
+     */
+    public StringPool(int slotBits) {
+        this.slots = new String[1 << slotBits];
+        this.mask = slots.length - 1;
+    }
+
+    /**
+     * Returns the process-wide pool shared by storage loading and command parsing.
+     *
+     * @return the shared pool
+     */
+    public static StringPool shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns a pooled string equal to the given one: the earlier instance if it is still in the pool,
+     * otherwise the given string, which is then remembered.
+     *
+     * @param value the string to deduplicate; may be null
+     * @return an equal string (the same instance for repeated values while they stay pooled), or null
+     */
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        int hash = value.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        String pooled = slots[slot];
+        if (pooled != null && pooled.equals(value)) {
+            if (pooled != value) {
+                hits++;
+                savedBytes += estimateRetainedBytes(value);
+            }
+            return pooled;
+        }
+        slots[slot] = value;
+        return value;
+    }
+
+    /**
+     * Returns how many times a duplicate was replaced by a pooled instance.
+     *
+     * @return the hit count
+     */
+    public long hits() {
+        return hits;
+    }
+
+    /**
+     * Returns an estimate of the heap no longer retained thanks to deduplication (object headers,
+     * the backing array and its contents for every duplicate dropped), assuming compressed references.
+     *
+     * @return estimated bytes saved
+     */
+    public long savedBytes() {
+        return savedBytes;
+    }
+
+    /** Estimated size of a String plus its byte[] (Latin-1 or UTF-16 backing array). */
+    private static long estimateRetainedBytes(String value) {
+        boolean latin1 = true;
+        for (int i = 0; i < value.length() && latin1; i++) {
+            latin1 = value.charAt(i) < 256;
+        }
+        long arrayBytes = 16L + (long) value.length() * (latin1 ? 1 : 2);
+        return 24L + ((arrayBytes + 7) & ~7L);
+    }
+}
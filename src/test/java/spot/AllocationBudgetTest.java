@@ -0,0 +1,125 @@
+package spot;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import spot.command.Parser;
+import spot.storage.Storage;
+import spot.task.Deadline;
+import spot.task.TaskList;
+import spot.task.Todo;
+import spot.ui.Ui;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Scanner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Allocation budgets for hot paths, measured with the JVM's per-thread allocation counter.
+ * Budgets are about 1.5 times what each path allocates today, so a change that adds garbage per
+ * command, per task or per line fails here rather than showing up later as GC pressure.
+ * Each path runs first to warm up, so the JIT has compiled it before it is measured.
+ */
+class AllocationBudgetTest {
+    private static final int TASK_COUNT = 10_000;
+    private static final int WARMUP_ROUNDS = 3;
+
+    private static final long PARSE_BYTES_PER_COMMAND = 1_536;
+    private static final long FIND_BYTES_PER_TASK = 256;
+    private static final long DEADLINES_ON_BYTES_PER_TASK = 8;
+    private static final long SAVE_BYTES_PER_TASK = 256;
+    private static final long RENDER_BYTES_PER_LINE = 1_536;
+
+    @TempDir
+    Path tempDir;
+
+    private TaskList tasks;
+
+    @BeforeEach
+    void setUp() {
+        tasks = new TaskList();
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 18, 0);
+        for (int i = 0; i < TASK_COUNT; i++) {
+            if (i % 4 == 0) {
+                tasks.add(new Deadline("submit report " + i, start.plusDays(i % 365)));
+            } else {
+                tasks.add(new Todo("read chapter " + i));
+            }
+        }
+    }
+
+    /** Returns the average bytes allocated by the current thread per run of the action, after warm-up. */
+    private static double bytesPerRun(int runs, Runnable action) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            for (int i = 0; i < runs; i++) {
+                action.run();
+            }
+        }
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < runs; i++) {
+            action.run();
+        }
+        return (double) (threads.getThreadAllocatedBytes(threadId) - before) / runs;
+    }
+
+    private static void assertWithinBudget(String path, double measured, long budget) {
+        assertTrue(measured <= budget, path + " allocated " + measured + " bytes, budget is " + budget);
+    }
+
+    @Test
+    void parse_deadlineCommand_withinBudget() {
+        double perCommand = bytesPerRun(20_000, () -> Parser.parse("deadline submit report /by 2025-02-01"));
+
+        assertWithinBudget("Parser.parse per command", perCommand, PARSE_BYTES_PER_COMMAND);
+    }
+
+    @Test
+    void findTasks_uncachedScan_withinBudgetPerTask() {
+        int[] run = { 0 };
+        double perScan = bytesPerRun(20, () -> {
+            // Toggling a task invalidates the query cache, so every call scans the list.
+            tasks.get(1).setDone(run[0]++ % 2 == 0);
+            tasks.findTasks("chapter 12");
+        });
+
+        assertWithinBudget("TaskList.findTasks per task", perScan / TASK_COUNT, FIND_BYTES_PER_TASK);
+    }
+
+    @Test
+    void getDeadlinesOn_uncachedScan_allocatesNothingPerTask() {
+        int[] run = { 0 };
+        double perScan = bytesPerRun(20, () -> {
+            tasks.get(1).setDone(run[0]++ % 2 == 0);
+            tasks.getDeadlinesOn(LocalDate.of(2025, 3, 1));
+        });
+
+        assertWithinBudget("TaskList.getDeadlinesOn per task", perScan / TASK_COUNT, DEADLINES_ON_BYTES_PER_TASK);
+    }
+
+    @Test
+    void save_withinBudgetPerTask() {
+        Storage storage = new Storage(tempDir.resolve("spot.txt").toString());
+
+        double perSave = bytesPerRun(3, () -> storage.save(tasks));
+
+        assertWithinBudget("Storage.save per task", perSave / TASK_COUNT, SAVE_BYTES_PER_TASK);
+    }
+
+    @Test
+    void showList_withinBudgetPerLine() {
+        Ui ui = new Ui(new Scanner(""), new PrintStream(OutputStream.nullOutputStream()));
+
+        double perListing = bytesPerRun(3, () -> ui.showList(tasks));
+
+        assertWithinBudget("Ui.showList per line", perListing / TASK_COUNT, RENDER_BYTES_PER_LINE);
+    }
+}
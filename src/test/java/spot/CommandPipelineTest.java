@@ -0,0 +1,88 @@
+package spot;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import spot.ui.Ui;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Scanner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link CommandPipeline}.
+ */
+class CommandPipelineTest {
+
+    private static final String SCRIPT = "todo read book\ndeadline return book /by 2025-02-01\n\nmark 1\n"
+            + "list\ndelete 5\nfind book\nblah\ndelete 2\nlist\n";
+
+    @TempDir
+    Path tempDir;
+
+    private String runSerially(Path dataFile, String script) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Spot spot = new Spot(dataFile.toString());
+        spot.session(new Ui(new Scanner(script), new PrintStream(output, true, StandardCharsets.UTF_8))).runSession();
+        spot.stopServices();
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private String runPipelined(Path dataFile, String script) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Spot spot = new Spot(dataFile.toString());
+        CommandPipeline.run(spot, new Ui(new Scanner(script), new PrintStream(output, true, StandardCharsets.UTF_8)));
+        spot.stopServices();
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    /** Returns the data file's lines without the version line. */
+    private static List<String> taskLines(Path dataFile) throws Exception {
+        List<String> lines = Files.readAllLines(dataFile);
+        return lines.subList(1, lines.size());
+    }
+
+    @Test
+    void run_script_printsSameOutputAndSavesSameFileAsSerialRun() throws Exception {
+        Path serialFile = tempDir.resolve("serial.txt");
+        Path pipelinedFile = tempDir.resolve("pipelined.txt");
+
+        String serialOutput = runSerially(serialFile, SCRIPT);
+        String pipelinedOutput = runPipelined(pipelinedFile, SCRIPT);
+
+        assertEquals(serialOutput, pipelinedOutput);
+        assertEquals(taskLines(serialFile), taskLines(pipelinedFile));
+    }
+
+    @Test
+    void run_byeBeforeEndOfInput_ignoresLaterCommands() throws Exception {
+        Path dataFile = tempDir.resolve("spot.txt");
+
+        String output = runPipelined(dataFile, "todo first\nbye\ntodo second\n");
+
+        assertTrue(output.contains("first"), output);
+        assertFalse(output.contains("second"), output);
+        assertEquals(2, Files.readAllLines(dataFile).size());
+    }
+
+    @Test
+    void run_manyChanges_savesFinalState() throws Exception {
+        Path dataFile = tempDir.resolve("spot.txt");
+        StringBuilder script = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            script.append("todo task ").append(i).append('\n');
+        }
+        script.append("mark 2000\n");
+
+        runPipelined(dataFile, script.toString());
+
+        List<String> lines = Files.readAllLines(dataFile);
+        assertEquals(2001, lines.size());
+        assertEquals("T | 1 | task 1999", lines.get(2000));
+    }
+}
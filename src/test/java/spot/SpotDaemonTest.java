@@ -0,0 +1,111 @@
+package spot;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link SpotDaemon} and {@link SpotClient}.
+ */
+class SpotDaemonTest {
+
+    @TempDir
+    Path tempDir;
+
+    private SpotDaemon daemon;
+
+    @AfterEach
+    void tearDown() {
+        if (daemon != null) {
+            daemon.close();
+        }
+    }
+
+    private Path startDaemon() throws IOException {
+        Path socketPath = tempDir.resolve("spot.sock");
+        daemon = SpotDaemon.bind(new Spot(tempDir.resolve("spot.txt").toString()), socketPath);
+        Thread acceptor = new Thread(daemon::acceptLoop, "test-daemon");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        return socketPath;
+    }
+
+    private static String send(Path socketPath, String command) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        assertEquals(0, SpotClient.send(socketPath, command, InputStream.nullInputStream(), output));
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void send_commandsAcrossConnections_shareTaskListAndPersist() throws IOException {
+        Path socketPath = startDaemon();
+
+        assertTrue(send(socketPath, "todo read book").contains("read book"));
+        String listing = send(socketPath, "list");
+
+        assertTrue(listing.contains("1.[T][ ] read book"), listing);
+        assertTrue(Files.readString(tempDir.resolve("spot.txt")).contains("read book"));
+    }
+
+    @Test
+    void send_emptyCommand_forwardsEveryInputLine() throws IOException {
+        Path socketPath = startDaemon();
+        InputStream script = new ByteArrayInputStream(
+                "todo first\ntodo second\nlist\n".getBytes(StandardCharsets.UTF_8));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        assertEquals(0, SpotClient.send(socketPath, "", script, output));
+
+        String responses = output.toString(StandardCharsets.UTF_8);
+        assertTrue(responses.contains("1.[T][ ] first"), responses);
+        assertTrue(responses.contains("2.[T][ ] second"), responses);
+    }
+
+    @Test
+    void send_noDaemon_returnsFailureStatus() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        int status = SpotClient.send(tempDir.resolve("missing.sock"), "list", InputStream.nullInputStream(), output);
+
+        assertEquals(1, status);
+        assertEquals(0, output.size());
+    }
+
+    @Test
+    void bind_whileAnotherDaemonListens_throws() throws IOException {
+        Path socketPath = startDaemon();
+
+        assertThrows(IOException.class,
+                () -> SpotDaemon.bind(new Spot(tempDir.resolve("other.txt").toString()), socketPath));
+    }
+
+    @Test
+    void bind_staleSocketFile_replacesIt() throws IOException {
+        Path socketPath = tempDir.resolve("spot.sock");
+        Files.writeString(socketPath, "");
+
+        daemon = SpotDaemon.bind(new Spot(tempDir.resolve("spot.txt").toString()), socketPath);
+
+        assertTrue(Files.exists(socketPath));
+    }
+
+    @Test
+    void close_removesSocketFile() throws IOException {
+        Path socketPath = startDaemon();
+
+        daemon.close();
+        daemon = null;
+
+        assertFalse(Files.exists(socketPath));
+    }
+}
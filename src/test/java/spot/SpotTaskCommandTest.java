@@ -0,0 +1,70 @@
+package spot;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import spot.storage.Storage;
+import spot.task.Task;
+import spot.ui.Ui;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Scanner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link SpotTaskCommand}.
+ */
+class SpotTaskCommandTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    private int run(Path dataFile, String... args) {
+        Ui ui = new Ui(new Scanner(""), new PrintStream(output, true, StandardCharsets.UTF_8));
+        return SpotTaskCommand.run(dataFile.toString(), args, ui);
+    }
+
+    private Path dataFile() throws Exception {
+        Path file = tempDir.resolve("spot.txt");
+        Files.writeString(file, "T | 0 | first\nT | 0 | second\nT | 0 | third\n");
+        return file;
+    }
+
+    @Test
+    void run_numberOnly_showsTask() throws Exception {
+        assertEquals(0, run(dataFile(), "2"));
+        assertTrue(output.toString(StandardCharsets.UTF_8).contains("[T][ ] second"));
+    }
+
+    @Test
+    void run_markThenDelete_changesDataFile() throws Exception {
+        Path file = dataFile();
+        assertEquals(0, run(file, "3", "mark"));
+        assertEquals(0, run(file, "1", "delete"));
+
+        List<Task> loaded = new Storage(file.toString()).load();
+        assertEquals(2, loaded.size());
+        assertEquals("second", loaded.get(0).getDescription());
+        assertTrue(loaded.get(1).isDone());
+        assertTrue(output.toString(StandardCharsets.UTF_8).contains("Now you have 2 tasks"));
+    }
+
+    @Test
+    void run_invalidNumberOrAction_reportsAndFails() throws Exception {
+        Path file = dataFile();
+        assertEquals(1, run(file, "4"));
+        assertEquals(1, run(file, "two"));
+        assertEquals(1, run(file, "1", "archive"));
+        String shown = output.toString(StandardCharsets.UTF_8);
+        assertTrue(shown.contains("There is no task 4; you have 3."), shown);
+        assertTrue(shown.contains("is not a task number"), shown);
+        assertEquals(3, new Storage(file.toString()).load().size());
+    }
+}
@@ -0,0 +1,147 @@
+package spot;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import spot.ui.Ui;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link Spot}.
+ */
+class SpotTest {
+
+    @TempDir
+    Path tempDir;
+
+    /** Runs the script in a session over a fresh instance and returns its output. */
+    private String run(Path dataFile, String script) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Spot spot = new Spot(dataFile.toString());
+        spot.session(new Ui(new Scanner(script), new PrintStream(output, true, StandardCharsets.UTF_8))).runSession();
+        spot.stopServices();
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> taskLines(Path dataFile) throws Exception {
+        List<String> lines = Files.readAllLines(dataFile);
+        return lines.subList(1, lines.size());
+    }
+
+    @Test
+    void label_existingTask_replacesLabelsAndSaves() throws Exception {
+        Path dataFile = tempDir.resolve("spot.txt");
+
+        String output = run(dataFile, "todo read #home\nlabel 1 #work !high\nlabel 1 #1234\nlabel 2 #x\n");
+
+        assertTrue(output.contains("[T][ ] read #work !high"), output);
+        assertTrue(output.contains("\"#1234\" is not a label"), output);
+        assertTrue(output.contains("That task doesn't exist!"), output);
+        assertEquals(List.of("T | 0 | read | #work !high"), taskLines(dataFile));
+    }
+
+    @Test
+    void batch_allValid_appliesInOrderWithOneSave() throws Exception {
+        Path dataFile = tempDir.resolve("spot.txt");
+
+        run(dataFile, "todo a; todo b; todo c; mark 3; delete 1\n");
+
+        assertEquals(List.of("T | 0 | b", "T | 1 | c"), taskLines(dataFile));
+        assertEquals("#version 0000000000000000001", Files.readAllLines(dataFile).get(0));
+    }
+
+    @Test
+    void batch_laterCommandInvalid_changesNothing() throws Exception {
+        Path dataFile = tempDir.resolve("spot.txt");
+        run(dataFile, "todo keep\n");
+
+        String output = run(dataFile, "todo a; delete 1; mark 2\nlist\n");
+
+        assertTrue(output.contains("command 3"), output);
+        assertTrue(output.contains("That task doesn't exist!"), output);
+        assertEquals(List.of("T | 0 | keep"), taskLines(dataFile));
+        assertFalse(output.contains("1.[T][ ] a"), output);
+    }
+
+    @Test
+    void batch_badDate_changesNothing() throws Exception {
+        Path dataFile = tempDir.resolve("spot.txt");
+
+        String output = run(dataFile, "todo a; deadline b /by someday\n");
+
+        assertTrue(output.contains("command 2"), output);
+        assertFalse(Files.exists(dataFile));
+    }
+
+    @Test
+    void batch_withReadOnlyCommand_addsOneTodo() {
+        String output = run(tempDir.resolve("spot.txt"), "todo a; list\ntodo b; on sale\n");
+
+        assertTrue(output.contains("[T][ ] a; list"), output);
+        assertTrue(output.contains("[T][ ] b; on sale"), output);
+        assertFalse(output.contains("can be combined"), output);
+    }
+
+    @Test
+    void parseByteSize_suffixesAndInvalid_parsedOrZero() {
+        assertEquals(65_536, Spot.parseByteSize("65536"));
+        assertEquals(512 * 1024, Spot.parseByteSize("512K"));
+        assertEquals(64L << 20, Spot.parseByteSize(" 64m "));
+        assertEquals(1L << 30, Spot.parseByteSize("1g"));
+        assertEquals(0, Spot.parseByteSize(null));
+        assertEquals(0, Spot.parseByteSize("lots"));
+        assertEquals(0, Spot.parseByteSize("-5m"));
+    }
+
+    @Test
+    void listByDeadline_outOfInsertionOrder_showsListNumbers() {
+        String output = run(tempDir.resolve("spot.txt"),
+                "todo a\ndeadline b /by 2025-03-01\ndeadline c /by 2025-01-01\nlist by deadline\n");
+
+        int c = output.indexOf("3.[D][ ] c");
+        int b = output.indexOf("2.[D][ ] b");
+        int a = output.indexOf("1.[T][ ] a");
+        assertTrue(c >= 0 && c < b && b < a, output);
+    }
+
+    @Test
+    void run_loadingBlocked_showsWelcomeBeforeTasksLoad() throws Exception {
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        Executor gatedLoader = job -> new Thread(() -> {
+            try {
+                releaseLoader.await();
+            } catch (InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            job.run();
+        }).start();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Ui ui = new Ui(new Scanner("list\n"), new PrintStream(output, true, StandardCharsets.UTF_8));
+        Spot spot = new Spot(tempDir.resolve("spot.txt").toString(), ui, gatedLoader);
+        Thread session = new Thread(spot::run);
+        session.start();
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!output.toString(StandardCharsets.UTF_8).contains("What tasks do you have today?")
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(output.toString(StandardCharsets.UTF_8).contains("What tasks do you have today?"));
+        assertFalse(spot.isLoaded());
+
+        releaseLoader.countDown();
+        session.join(5_000);
+        assertTrue(spot.isLoaded());
+        assertTrue(output.toString(StandardCharsets.UTF_8).contains("Your list is empty"));
+    }
+}
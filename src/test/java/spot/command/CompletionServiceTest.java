@@ -0,0 +1,63 @@
+package spot.command;
+
+import org.junit.jupiter.api.Test;
+import spot.task.Task;
+import spot.task.TaskList;
+import spot.task.Todo;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link CompletionService}.
+ */
+class CompletionServiceTest {
+
+    @Test
+    void complete_commandsBeforeDescriptions() {
+        TaskList tasks = new TaskList(List.of(new Todo("design doc"), new Todo("dentist")));
+        CompletionService service = new CompletionService();
+        service.watch(tasks);
+
+        assertEquals(List.of("deadline", "delete", "dentist", "design doc"), service.complete("de", 10));
+        assertEquals(List.of("deadline", "delete"), service.complete("de", 2));
+    }
+
+    @Test
+    void complete_tracksAddsAndDeletes() {
+        TaskList tasks = new TaskList();
+        CompletionService service = new CompletionService();
+        service.watch(tasks);
+
+        tasks.add(new Todo("water plants"));
+        assertEquals(List.of("water plants"), service.complete("wat", 10));
+        tasks.remove(0);
+        assertTrue(service.complete("wat", 10).isEmpty());
+    }
+
+    @Test
+    void complete_memoryBudget_suggestsHeldDescriptionsOnly() throws Exception {
+        TaskList tasks = new TaskList();
+        CompletionService service = new CompletionService();
+        service.watch(tasks);
+        for (int i = 0; i < 200; i++) {
+            boolean done = i % 2 == 0;
+            Todo todo = new Todo(String.format(done && i > 0 ? "done %03d" : "task %03d", i));
+            todo.setDone(done);
+            tasks.add(todo);
+        }
+        tasks.add(new Todo("task 000"));
+        // Spills the 100 done descriptions, including the twin of the open "task 000".
+        tasks.limitDescriptionMemory(6_174);
+        Task spilledTwin = tasks.get(0);
+        assertTrue(spilledTwin.isDescriptionSpilled());
+
+        assertTrue(service.complete("done", 10).isEmpty());
+        assertEquals(101, service.complete("task", 500).size());
+        tasks.remove(0);
+        assertEquals(List.of("task 000"), service.complete("task 000", 10));
+        tasks.remove(tasks.size() - 1);
+        assertTrue(service.complete("task 000", 10).isEmpty());
+    }
+}
@@ -3,11 +3,14 @@ package spot.command;
 import org.junit.jupiter.api.Test;
 import spot.task.Deadline;
 import spot.task.Event;
+import spot.task.Priority;
+import spot.task.Recurrence;
 import spot.task.Task;
 import spot.task.Todo;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -38,6 +41,13 @@ class ParserTest {
         assertNull(cmd.argument());
     }
 
+    @Test
+    void parse_listBy_returnsListWithOrdering() {
+        ParsedCommand cmd = Parser.parse("list BY Deadline");
+        assertEquals(CommandType.LIST, cmd.type());
+        assertEquals("by deadline", cmd.argument());
+    }
+
     @Test
     void parse_help_returnsHelpCommand() {
         assertEquals(CommandType.HELP, Parser.parse("help").type());
@@ -92,6 +102,16 @@ class ParserTest {
         assertEquals("2025-02-01", cmd.argument());
     }
 
+    @Test
+    void parse_importAndExport_returnFileArgument() {
+        ParsedCommand importCmd = Parser.parse("import data/tasks.csv");
+        assertEquals(CommandType.IMPORT, importCmd.type());
+        assertEquals("data/tasks.csv", importCmd.argument());
+        ParsedCommand exportCmd = Parser.parse("EXPORT out.json");
+        assertEquals(CommandType.EXPORT, exportCmd.type());
+        assertEquals("out.json", exportCmd.argument());
+    }
+
     @Test
     void parse_unknownCommand_returnsUnknown() {
         assertEquals(CommandType.UNKNOWN, Parser.parse("xyz").type());
@@ -234,4 +254,104 @@ class ParserTest {
         String msg = Parser.getAddTaskErrorMessage(CommandType.TODO);
         assertTrue(msg.contains("details"));
     }
+
+    @Test
+    void parse_findAll_returnsFindAllWithKeyword() {
+        ParsedCommand cmd = Parser.parse("find --ALL old report");
+        assertEquals(CommandType.FIND_ALL, cmd.type());
+        assertEquals("old report", cmd.argument());
+        assertEquals(CommandType.FIND, Parser.parse("find --allowance").type());
+    }
+
+    @Test
+    void parse_archive_returnsArchive() {
+        assertEquals(CommandType.ARCHIVE, Parser.parse("Archive").type());
+    }
+
+    @Test
+    void parse_lineWithSemicolons_returnsBatchOfCommands() {
+        ParsedCommand cmd = Parser.parse("todo a; deadline b /by 2025-02-01;; mark 1 ");
+        assertEquals(CommandType.BATCH, cmd.type());
+
+        List<ParsedCommand> commands = Parser.parseBatch(cmd.argument());
+        assertEquals(3, commands.size());
+        assertEquals(CommandType.TODO, commands.get(0).type());
+        assertEquals("a", commands.get(0).argument());
+        assertEquals(CommandType.DEADLINE, commands.get(1).type());
+        assertEquals(CommandType.MARK, commands.get(2).type());
+        assertEquals("1", commands.get(2).argument());
+    }
+
+    @Test
+    void parse_todoWithSemicolonInDescription_returnsTodo() {
+        ParsedCommand cmd = Parser.parse("todo buy milk; bread");
+        assertEquals(CommandType.TODO, cmd.type());
+        assertEquals("buy milk; bread", cmd.argument());
+
+        assertEquals(CommandType.DEADLINE, Parser.parse("deadline pay rent; water /by 2025-02-01").type());
+        assertEquals(CommandType.TODO, Parser.parse("todo a;").type());
+    }
+
+    @Test
+    void parse_todoWithSemicolonBeforeNonBatchKeyword_returnsTodo() {
+        ParsedCommand cmd = Parser.parse("todo buy snacks; on sale");
+        assertEquals(CommandType.TODO, cmd.type());
+        assertEquals("buy snacks; on sale", cmd.argument());
+
+        assertEquals(CommandType.TODO, Parser.parse("todo email bob; find the contract").type());
+        assertEquals(CommandType.TODO, Parser.parse("todo pack; list items; bye to the office").type());
+    }
+
+    @Test
+    void parse_summary_returnsSummary() {
+        assertEquals(CommandType.SUMMARY, Parser.parse("Summary").type());
+    }
+
+    @Test
+    void createTask_deadlineEvery_returnsRecurringDeadline() {
+        Task task = Parser.createTask(new ParsedCommand(CommandType.DEADLINE, "standup /by 2026-10-19 /every weekday"));
+
+        Deadline d = (Deadline) task;
+        assertEquals("standup", d.getDescription());
+        assertEquals(LocalDate.of(2026, 10, 19), d.getBy().toLocalDate());
+        assertEquals(Recurrence.WEEKDAY, d.getRecurrence());
+    }
+
+    @Test
+    void createTask_deadlineUnknownEvery_returnsNull() {
+        assertNull(Parser.createTask(new ParsedCommand(CommandType.DEADLINE, "standup /by 2026-10-19 /every year")));
+    }
+
+    @Test
+    void createTask_labelsInDescription_becomeTagsAndPriority() {
+        Task task = Parser.createTask(new ParsedCommand(CommandType.DEADLINE, "file #Work taxes !high /by 2025-04-15"));
+
+        assertEquals("file taxes", task.getDescription());
+        assertEquals(List.of("work"), task.getTags());
+        assertEquals(Priority.HIGH, task.getPriority());
+        assertEquals("#work !high", task.getLabels());
+    }
+
+    @Test
+    void createTask_hashFollowedByDigit_staysInDescription() {
+        Task task = Parser.createTask(new ParsedCommand(CommandType.TODO, "fix bug #1234 #backend"));
+
+        assertEquals("fix bug #1234", task.getDescription());
+        assertEquals(List.of("backend"), task.getTags());
+    }
+
+    @Test
+    void parse_label_returnsLabelWithArgument() {
+        ParsedCommand parsed = Parser.parse("label 2 #work !high");
+        assertEquals(CommandType.LABEL, parsed.type());
+        assertEquals("2 #work !high", parsed.argument());
+    }
+
+    @Test
+    void parse_nextWithCount_returnsNextWithArgument() {
+        ParsedCommand parsed = Parser.parse("next 3");
+        assertEquals(CommandType.NEXT, parsed.type());
+        assertEquals("3", parsed.argument());
+        assertEquals("", Parser.parse("next").argument());
+    }
 }
@@ -0,0 +1,63 @@
+package spot.command;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link PrefixTrie}.
+ */
+class PrefixTrieTest {
+
+    @Test
+    void complete_returnsMatchesAlphabeticallyInOriginalCase() {
+        PrefixTrie trie = new PrefixTrie();
+        trie.add("Read book");
+        trie.add("return books");
+        trie.add("read notes");
+        trie.add("buy milk");
+
+        assertEquals(List.of("Read book", "read notes", "return books"), trie.complete("RE", 10));
+        assertEquals(List.of("Read book", "read notes"), trie.complete("read", 10));
+        assertEquals(List.of("Read book"), trie.complete("re", 1));
+        assertTrue(trie.complete("rx", 10).isEmpty());
+        assertTrue(trie.complete("read bookshelf", 10).isEmpty());
+    }
+
+    @Test
+    void complete_prefixEndingInsideEdge_findsSubtree() {
+        PrefixTrie trie = new PrefixTrie();
+        trie.add("deadline");
+        assertEquals(List.of("deadline"), trie.complete("dea", 10));
+    }
+
+    @Test
+    void remove_dropsStringOnlyAfterLastCopy() {
+        PrefixTrie trie = new PrefixTrie();
+        trie.add("team meeting");
+        trie.add("team meeting");
+        trie.add("team lunch");
+
+        trie.remove("team meeting");
+        assertEquals(List.of("team lunch", "team meeting"), trie.complete("team", 10));
+        trie.remove("team meeting");
+        assertEquals(List.of("team lunch"), trie.complete("team", 10));
+        trie.remove("team lunch");
+        assertTrue(trie.complete("t", 10).isEmpty());
+
+        trie.add("team");
+        assertEquals(List.of("team"), trie.complete("te", 10));
+    }
+
+    @Test
+    void remove_missingString_isIgnored() {
+        PrefixTrie trie = new PrefixTrie();
+        trie.add("abc");
+        trie.remove("ab");
+        trie.remove("abcd");
+        trie.remove("x");
+        assertEquals(List.of("abc"), trie.complete("a", 10));
+    }
+}
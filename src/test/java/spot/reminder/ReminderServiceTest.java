@@ -0,0 +1,126 @@
+package spot.reminder;
+
+import org.junit.jupiter.api.Test;
+import spot.task.Deadline;
+import spot.task.Recurrence;
+import spot.task.TaskList;
+import spot.task.Todo;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ReminderService}.
+ */
+class ReminderServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 2, 1, 9, 0);
+    private static final Clock CLOCK = Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+
+    private static long millisAt(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    @Test
+    void watch_schedulesOnlyOpenFutureDeadlines() {
+        Deadline future = new Deadline("future", NOW.plusHours(1));
+        Deadline past = new Deadline("past", NOW.minusHours(1));
+        Deadline done = new Deadline("done", NOW.plusHours(2));
+        done.setDone(true);
+        TaskList tasks = new TaskList(List.of(future, past, done, new Todo("todo")));
+
+        ReminderService service = new ReminderService(Deadline::getDescription, text -> { }, CLOCK);
+        service.watch(tasks);
+        assertEquals(1, service.pendingCount());
+    }
+
+    @Test
+    void advanceTo_notifiesDueDeadlines() {
+        Deadline soon = new Deadline("soon", NOW.plusMinutes(30));
+        Deadline later = new Deadline("later", NOW.plusDays(3));
+        List<String> notified = new ArrayList<>();
+        ReminderService service = new ReminderService(Deadline::getDescription, notified::add, CLOCK);
+        service.watch(new TaskList(List.of(soon, later)));
+
+        service.advanceTo(millisAt(NOW.plusMinutes(29)));
+        assertTrue(notified.isEmpty());
+        service.advanceTo(millisAt(NOW.plusMinutes(30)));
+        assertEquals(List.of("soon"), notified);
+        service.advanceTo(millisAt(NOW.plusDays(3)));
+        assertEquals(List.of("soon", "later"), notified);
+        assertEquals(0, service.pendingCount());
+    }
+
+    @Test
+    void listChanges_rescheduleReminders() {
+        Deadline deadline = new Deadline("d", NOW.plusHours(1));
+        TaskList tasks = new TaskList();
+        List<String> notified = new ArrayList<>();
+        ReminderService service = new ReminderService(Deadline::getDescription, notified::add, CLOCK);
+        service.watch(tasks);
+
+        tasks.add(deadline);
+        assertEquals(1, service.pendingCount());
+        deadline.setDone(true);
+        assertEquals(0, service.pendingCount());
+        deadline.setDone(false);
+        assertEquals(1, service.pendingCount());
+        tasks.remove(0);
+        assertEquals(0, service.pendingCount());
+
+        service.advanceTo(millisAt(NOW.plusHours(2)));
+        assertTrue(notified.isEmpty());
+    }
+
+    @Test
+    void advanceTo_recurringDeadline_reschedulesNextOccurrence() {
+        Deadline standup = new Deadline("standup", NOW.minusDays(7).plusMinutes(15), Recurrence.DAY);
+        List<String> notified = new ArrayList<>();
+        ReminderService service = new ReminderService(Deadline::getDescription, notified::add, CLOCK);
+        service.watch(new TaskList(List.of(standup)));
+
+        service.advanceTo(millisAt(NOW.plusMinutes(15)));
+        assertEquals(List.of("standup"), notified);
+        assertEquals(1, service.pendingCount());
+        service.advanceTo(millisAt(NOW.plusDays(1).plusMinutes(15)));
+        assertEquals(List.of("standup", "standup"), notified);
+    }
+
+    @Test
+    void advanceTo_notifiesTextCapturedWhenScheduled() {
+        Deadline standup = new Deadline("standup", NOW.plusMinutes(15), Recurrence.DAY);
+        AtomicInteger described = new AtomicInteger();
+        List<String> notified = new ArrayList<>();
+        ReminderService service = new ReminderService(deadline -> {
+            described.incrementAndGet();
+            return "due: " + deadline.getDescription();
+        }, notified::add, CLOCK);
+        service.watch(new TaskList(List.of(standup)));
+        assertEquals(1, described.get());
+
+        service.advanceTo(millisAt(NOW.plusMinutes(15)));
+        service.advanceTo(millisAt(NOW.plusDays(1).plusMinutes(15)));
+        assertEquals(List.of("due: standup", "due: standup"), notified);
+        assertEquals(1, described.get());
+    }
+
+    @Test
+    void taskLabelsChanged_scheduledDeadline_capturesTextAgain() {
+        Deadline report = new Deadline("report", NOW.plusMinutes(30));
+        List<String> notified = new ArrayList<>();
+        ReminderService service = new ReminderService(deadline -> deadline.getDescription() + " "
+                + deadline.getLabels(), notified::add, CLOCK);
+        service.watch(new TaskList(List.of(report)));
+
+        report.setLabels("#work");
+        service.advanceTo(millisAt(NOW.plusMinutes(30)));
+        assertEquals(List.of("report #work"), notified);
+    }
+}
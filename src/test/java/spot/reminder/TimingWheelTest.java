@@ -0,0 +1,98 @@
+package spot.reminder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link TimingWheel}.
+ */
+class TimingWheelTest {
+
+    @Test
+    void advanceTo_firesOnlyDueEntries() {
+        TimingWheel<String> wheel = new TimingWheel<>(0);
+        wheel.schedule("a", 5);
+        wheel.schedule("b", 10);
+        List<String> fired = new ArrayList<>();
+
+        wheel.advanceTo(7, fired::add);
+        assertEquals(List.of("a"), fired);
+        assertEquals(1, wheel.size());
+
+        wheel.advanceTo(10, fired::add);
+        assertEquals(List.of("a", "b"), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advanceTo_cascadesFromHigherLevels() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1000);
+        long[] expiries = { 1063, 1064, 5000, 300_000, 20_000_000 };
+        for (long expiry : expiries) {
+            wheel.schedule(expiry, expiry);
+        }
+        List<Long> fired = new ArrayList<>();
+        for (long expiry : expiries) {
+            wheel.advanceTo(expiry - 1, fired::add);
+            assertFalse(fired.contains(expiry), "fired early: " + expiry);
+            wheel.advanceTo(expiry, fired::add);
+            assertTrue(fired.contains(expiry), "not fired: " + expiry);
+        }
+    }
+
+    @Test
+    void advanceTo_randomExpiries_fireExactlyOnTheirTick() {
+        Random random = new Random(42);
+        TimingWheel<Long> wheel = new TimingWheel<>(123);
+        for (int i = 0; i < 2000; i++) {
+            long expiry = 123 + random.nextInt(50_000);
+            wheel.schedule(expiry, expiry);
+        }
+        for (long tick = 123; tick <= 50_123; tick++) {
+            long currentTick = tick;
+            wheel.advanceTo(tick, expiry -> assertEquals(currentTick, (long) expiry));
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void schedule_pastTick_firesOnNextAdvance() {
+        TimingWheel<String> wheel = new TimingWheel<>(100);
+        wheel.schedule("late", 50);
+        List<String> fired = new ArrayList<>();
+        wheel.advanceTo(100, fired::add);
+        assertEquals(List.of("late"), fired);
+    }
+
+    @Test
+    void schedule_beyondWheelSpan_stillFiresOnTime() {
+        TimingWheel<String> wheel = new TimingWheel<>(0);
+        long farAway = (1L << 24) + 70;
+        wheel.schedule("far", farAway);
+        List<String> fired = new ArrayList<>();
+        wheel.advanceTo(farAway - 1, fired::add);
+        assertTrue(fired.isEmpty());
+        wheel.advanceTo(farAway, fired::add);
+        assertEquals(List.of("far"), fired);
+    }
+
+    @Test
+    void cancel_preventsFiring() {
+        TimingWheel<String> wheel = new TimingWheel<>(0);
+        TimingWheel.Entry<String> entry = wheel.schedule("x", 200);
+        wheel.schedule("y", 200);
+        wheel.cancel(entry);
+        wheel.cancel(entry);
+        assertFalse(entry.isScheduled());
+        assertEquals(1, wheel.size());
+
+        List<String> fired = new ArrayList<>();
+        wheel.advanceTo(300, fired::add);
+        assertEquals(List.of("y"), fired);
+    }
+}
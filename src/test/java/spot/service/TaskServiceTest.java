@@ -0,0 +1,121 @@
+package spot.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import spot.task.Deadline;
+import spot.task.Task;
+import spot.task.TaskList;
+import spot.task.Todo;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link TaskService}.
+ */
+class TaskServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void changes_returnResultsAndSaveBeforeReturning() {
+        AtomicInteger saves = new AtomicInteger();
+        TaskService service = new TaskService(new TaskList(), tasks -> saves.incrementAndGet(), Runnable::run);
+
+        assertEquals(1, service.add(new Todo("read book")));
+        assertEquals(2, service.add(new Deadline("report", LocalDateTime.of(2025, 2, 1, 18, 0))));
+        Task marked = service.mark(0);
+        Task removed = service.delete(1);
+
+        assertTrue(marked.isDone());
+        assertEquals("report", removed.getDescription());
+        assertEquals(1, service.list().size());
+        assertEquals(4, saves.get());
+    }
+
+    @Test
+    void mark_missingTask_throwsAndDoesNotSave() {
+        AtomicInteger saves = new AtomicInteger();
+        TaskService service = new TaskService(new TaskList(), tasks -> saves.incrementAndGet(), Runnable::run);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> service.mark(0));
+        assertEquals(0, saves.get());
+    }
+
+    @Test
+    void queries_returnMatchingTasks() {
+        TaskService service = new TaskService(new TaskList(), tasks -> { }, Runnable::run);
+        service.add(new Todo("read book"));
+        service.add(new Deadline("return book", LocalDateTime.of(2025, 2, 1, 18, 0)));
+
+        assertEquals(2, service.find("BOOK").size());
+        assertEquals(1, service.deadlinesOn(LocalDate.of(2025, 2, 1)).size());
+        assertEquals(1, service.summary(LocalDateTime.of(2025, 3, 1, 0, 0)).overdue());
+    }
+
+    @Test
+    void deleteAsync_missingTask_completesExceptionally() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            TaskService service = new TaskService(new TaskList(), tasks -> { }, executor);
+
+            CompletableFuture<Task> future = service.deleteAsync(3);
+
+            CompletionException thrown = assertThrows(CompletionException.class, future::join);
+            assertInstanceOf(IndexOutOfBoundsException.class, thrown.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void addAsync_concurrentCallers_shareSaves() {
+        AtomicInteger saves = new AtomicInteger();
+        TaskService service = new TaskService(new TaskList(), tasks -> {
+            saves.incrementAndGet();
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+            }
+        }, Runnable::run);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<CompletableFuture<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                Todo todo = new Todo("task " + i);
+                futures.add(CompletableFuture.supplyAsync(() -> service.add(todo), executor));
+            }
+            futures.forEach(CompletableFuture::join);
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(64, service.list().size());
+        assertTrue(saves.get() < 64, "saves: " + saves.get());
+    }
+
+    @Test
+    void open_savedChanges_visibleToNextOpen() {
+        String dataFile = tempDir.resolve("spot.txt").toString();
+        TaskService first = TaskService.open(dataFile, Runnable::run);
+        first.add(new Todo("persisted"));
+        first.mark(0);
+
+        TaskService second = TaskService.open(dataFile, Runnable::run);
+
+        assertEquals(1, second.list().size());
+        assertTrue(second.list().get(0).isDone());
+    }
+}
@@ -0,0 +1,128 @@
+package spot.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import spot.task.Deadline;
+import spot.task.Task;
+import spot.task.TaskList;
+import spot.task.Todo;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link IndexedStorage}.
+ */
+class IndexedStorageTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path saveTasks(String... descriptions) throws Exception {
+        Path file = tempDir.resolve("data.txt");
+        TaskList list = new TaskList();
+        for (String description : descriptions) {
+            list.add(new Todo(description));
+        }
+        new Storage(file.toString()).save(list);
+        return file;
+    }
+
+    @Test
+    void read_savedFile_returnsTaskAtIndex() throws Exception {
+        Path file = saveTasks("first", "second", "third");
+        try (IndexedStorage indexed = IndexedStorage.open(file.toString())) {
+            assertEquals(3, indexed.size());
+            assertEquals("second", indexed.read(1).getDescription());
+            assertThrows(IndexOutOfBoundsException.class, () -> indexed.read(3));
+        }
+    }
+
+    @Test
+    void setDoneAndDelete_changesSeenByFullLoad() throws Exception {
+        Path file = saveTasks("first", "second", "third");
+        try (IndexedStorage indexed = IndexedStorage.open(file.toString())) {
+            indexed.setDone(2, true);
+            indexed.delete(0);
+            assertEquals(2, indexed.size());
+            assertEquals("second", indexed.read(0).getDescription());
+            assertTrue(indexed.read(1).isDone());
+        }
+
+        List<Task> loaded = new Storage(file.toString()).load();
+        assertEquals(2, loaded.size());
+        assertEquals("second", loaded.get(0).getDescription());
+        assertTrue(loaded.get(1).isDone());
+    }
+
+    @Test
+    void setDoneAndDelete_afterLineLoaderSkips_numbersMatchLoad() throws Exception {
+        Path file = saveTasks("first", "second", "third");
+        List<String> lines = new ArrayList<>(Files.readAllLines(file));
+        lines.add(3, "D | 0 | bad date | someday");
+        lines.add(4, "  T | 0 | indented");
+        lines.add(5, "T |  0 | spaced");
+        Files.write(file, lines);
+
+        try (IndexedStorage indexed = IndexedStorage.open(file.toString())) {
+            assertEquals(5, indexed.size());
+            assertEquals("indented", indexed.read(2).getDescription());
+            indexed.delete(4);
+            indexed.setDone(2, true);
+            assertThrows(IOException.class, () -> indexed.setDone(3, true));
+        }
+
+        List<Task> loaded = new Storage(file.toString()).load();
+        assertEquals(List.of("first", "second", "indented", "spaced"),
+                loaded.stream().map(Task::getDescription).toList());
+        assertTrue(loaded.get(2).isDone());
+    }
+
+    @Test
+    void append_deadline_readBackAndBumpsVersion() throws Exception {
+        Path file = saveTasks("first");
+        long before = Storage.parseVersion(Files.readAllLines(file).get(0));
+        try (IndexedStorage indexed = IndexedStorage.open(file.toString())) {
+            indexed.append(new Deadline("report", LocalDateTime.of(2026, 3, 1, 18, 0)));
+            Task task = indexed.read(1);
+            assertInstanceOf(Deadline.class, task);
+            assertEquals("report", task.getDescription());
+        }
+        assertEquals(before + 1, Storage.parseVersion(Files.readAllLines(file).get(0)));
+        assertEquals(2, new Storage(file.toString()).load().size());
+    }
+
+    @Test
+    void open_fileRewrittenSinceIndexWritten_rescans() throws Exception {
+        Path file = saveTasks("first", "second");
+        IndexedStorage.open(file.toString()).close();
+        assertTrue(Files.exists(tempDir.resolve("data.txt.idx")));
+
+        saveTasks("only");
+        try (IndexedStorage indexed = IndexedStorage.open(file.toString())) {
+            assertEquals(1, indexed.size());
+            assertEquals("only", indexed.read(0).getDescription());
+        }
+    }
+
+    @Test
+    void read_otherWriterChangedFile_seesChange() throws Exception {
+        Path file = saveTasks("first");
+        try (IndexedStorage indexed = IndexedStorage.open(file.toString())) {
+            Storage other = new Storage(file.toString());
+            TaskList list = new TaskList();
+            list.addAll(other.load());
+            list.add(new Todo("from elsewhere"));
+            other.save(list);
+
+            assertEquals(2, indexed.size());
+            assertEquals("from elsewhere", indexed.read(1).getDescription());
+        }
+    }
+}
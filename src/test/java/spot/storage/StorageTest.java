@@ -4,10 +4,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import spot.task.Deadline;
 import spot.task.Event;
+import spot.task.Recurrence;
 import spot.task.Task;
 import spot.task.TaskList;
 import spot.task.Todo;
 
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -117,4 +119,312 @@ class StorageTest {
         assertEquals(1, loaded.size());
         assertEquals("only", loaded.get(0).getDescription());
     }
+
+    private static String numberedTodos(int count) {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            content.append("T | 0 | task ").append(i).append('\n');
+        }
+        return content.toString();
+    }
+
+    @Test
+    void mergeFromDisk_lineEditedOutside_replacesOnlyChangedRegion() throws Exception {
+        Path file = tempDir.resolve("data.txt");
+        java.nio.file.Files.writeString(file, numberedTodos(2000));
+        Storage storage = new Storage(file.toString());
+        TaskList list = new TaskList(storage.load());
+        Task firstBefore = list.get(0);
+        Task lastBefore = list.get(1999);
+
+        java.nio.file.Files.writeString(file,
+                numberedTodos(2000).replace("T | 0 | task 1000\n", "T | 1 | edited elsewhere\n"));
+
+        assertTrue(storage.mergeFromDisk(list));
+        assertEquals(2000, list.size());
+        assertEquals("edited elsewhere", list.get(1000).getDescription());
+        assertTrue(list.get(1000).isDone());
+        assertSame(firstBefore, list.get(0));
+        assertSame(lastBefore, list.get(1999));
+    }
+
+    @Test
+    void mergeFromDisk_linesInsertedAndDeleted_matchesFile() throws Exception {
+        Path file = tempDir.resolve("data.txt");
+        java.nio.file.Files.writeString(file, numberedTodos(500));
+        Storage storage = new Storage(file.toString());
+        TaskList list = new TaskList(storage.load());
+        Task lastBefore = list.get(499);
+
+        String edited = "T | 0 | inserted\n" + numberedTodos(500).replace("T | 0 | task 250\n", "");
+        java.nio.file.Files.writeString(file, edited);
+
+        assertTrue(storage.mergeFromDisk(list));
+        List<Task> expected = new Storage(file.toString()).load();
+        assertEquals(expected.size(), list.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getDisplayString(), list.get(i).getDisplayString());
+        }
+        assertSame(lastBefore, list.get(499));
+    }
+
+    @Test
+    void mergeFromDisk_afterOwnSave_changesNothing() throws Exception {
+        Path file = tempDir.resolve("data.txt");
+        Storage storage = new Storage(file.toString());
+        TaskList list = new TaskList();
+        list.add(new Todo("mine"));
+        storage.save(list);
+
+        assertFalse(storage.mergeFromDisk(list));
+        assertEquals(1, list.size());
+    }
+
+    @Test
+    void reloadChanges_noChangeSeen_returnsFalse() throws Exception {
+        Path file = tempDir.resolve("data.txt");
+        java.nio.file.Files.writeString(file, "T | 0 | a\n");
+        Storage storage = new Storage(file.toString());
+        TaskList list = new TaskList(storage.load());
+        java.nio.file.Files.writeString(file, "T | 0 | a\nT | 0 | b\n");
+
+        assertFalse(storage.reloadChanges(list));
+        assertEquals(1, list.size());
+    }
+
+    @Test
+    void save_writesIncreasingVersionLine_skippedOnLoad() throws Exception {
+        Path file = tempDir.resolve("data.txt");
+        Storage storage = new Storage(file.toString());
+        TaskList list = new TaskList();
+        list.add(new Todo("a"));
+        storage.save(list);
+        storage.save(list);
+
+        List<String> lines = java.nio.file.Files.readAllLines(file);
+        assertEquals("#version 0000000000000000002", lines.get(0));
+        assertEquals(1, new Storage(file.toString()).load().size());
+    }
+
+    @Test
+    void save_otherProcessSavedMeanwhile_reappliesOwnChanges() throws Exception {
+        Path file = tempDir.resolve("data.txt");
+        java.nio.file.Files.writeString(file, "T | 0 | shared\nT | 0 | doomed\n");
+        Storage first = new Storage(file.toString());
+        TaskList firstList = new TaskList(first.load());
+        first.track(firstList);
+        Storage second = new Storage(file.toString());
+        TaskList secondList = new TaskList(second.load());
+        second.track(secondList);
+
+        firstList.add(new Todo("from first"));
+        firstList.get(0).setDone(true);
+        first.save(firstList);
+        secondList.remove(1);
+        secondList.add(new Todo("from second"));
+        second.save(secondList);
+
+        List<String> expected = List.of("shared", "from first", "from second");
+        List<Task> onDisk = new Storage(file.toString()).load();
+        assertEquals(expected.size(), onDisk.size());
+        assertEquals(expected.size(), secondList.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), onDisk.get(i).getDescription());
+            assertEquals(expected.get(i), secondList.get(i).getDescription());
+        }
+        assertTrue(onDisk.get(0).isDone());
+        assertTrue(secondList.get(0).isDone());
+    }
+
+    @Test
+    void save_otherProcessSavedMeanwhile_replaysOntoNearestDuplicateLine() throws Exception {
+        Path file = tempDir.resolve("data.txt");
+        java.nio.file.Files.writeString(file, "T | 0 | dup\nT | 0 | x\nT | 0 | dup\nT | 0 | dup\n");
+        Storage first = new Storage(file.toString());
+        TaskList firstList = new TaskList(first.load());
+        first.track(firstList);
+        Storage second = new Storage(file.toString());
+        TaskList secondList = new TaskList(second.load());
+        second.track(secondList);
+
+        secondList.add(new Todo("from second"));
+        second.save(secondList);
+        firstList.get(2).setDone(true);
+        firstList.remove(3);
+        first.save(firstList);
+
+        List<Task> onDisk = new Storage(file.toString()).load();
+        assertEquals(4, onDisk.size());
+        assertFalse(onDisk.get(0).isDone());
+        assertEquals("x", onDisk.get(1).getDescription());
+        assertEquals("dup", onDisk.get(2).getDescription());
+        assertTrue(onDisk.get(2).isDone());
+        assertEquals("from second", onDisk.get(3).getDescription());
+    }
+
+    @Test
+    void save_otherProcessSavedMeanwhile_reappliesLabelChange() throws Exception {
+        Path file = tempDir.resolve("data.txt");
+        java.nio.file.Files.writeString(file, "T | 0 | report | #home\n");
+        Storage first = new Storage(file.toString());
+        TaskList firstList = new TaskList(first.load());
+        first.track(firstList);
+        Storage second = new Storage(file.toString());
+        TaskList secondList = new TaskList(second.load());
+        second.track(secondList);
+
+        secondList.add(new Todo("from second"));
+        second.save(secondList);
+        firstList.get(0).setLabels("#work !high");
+        first.save(firstList);
+
+        List<Task> onDisk = new Storage(file.toString()).load();
+        assertEquals(2, onDisk.size());
+        assertEquals("#work !high", onDisk.get(0).getLabels());
+        assertEquals("from second", onDisk.get(1).getDescription());
+    }
+
+    @Test
+    void write_listChangedAfterEncode_writesEncodedLines() throws Exception {
+        Path file = tempDir.resolve("data.txt");
+        Storage storage = new Storage(file.toString());
+        TaskList list = new TaskList(storage.load());
+        storage.track(list);
+        list.add(new Todo("a"));
+
+        Storage.EncodedList encoded = storage.encode(list);
+        list.add(new Todo("b"));
+        assertTrue(storage.write(encoded));
+        assertEquals(1, new Storage(file.toString()).load().size());
+
+        storage.save(list);
+        assertEquals(2, new Storage(file.toString()).load().size());
+    }
+
+    @Test
+    void write_otherProcessSavedMeanwhile_writesNothingUntilSaveMerges() throws Exception {
+        Path file = tempDir.resolve("data.txt");
+        java.nio.file.Files.writeString(file, "T | 0 | shared\n");
+        Storage first = new Storage(file.toString());
+        TaskList firstList = new TaskList(first.load());
+        first.track(firstList);
+        Storage second = new Storage(file.toString());
+        TaskList secondList = new TaskList(second.load());
+        second.track(secondList);
+
+        secondList.add(new Todo("from second"));
+        second.save(secondList);
+        firstList.add(new Todo("from first"));
+        assertFalse(first.write(first.encode(firstList)));
+        assertEquals(2, new Storage(file.toString()).load().size());
+
+        first.save(firstList);
+        assertEquals(3, new Storage(file.toString()).load().size());
+        assertEquals(3, firstList.size());
+    }
+
+    @Test
+    void save_changeAlreadyMadeByOtherProcess_isNotAppliedTwice() throws Exception {
+        Path file = tempDir.resolve("data.txt");
+        java.nio.file.Files.writeString(file, "T | 0 | a\nT | 0 | b\n");
+        Storage first = new Storage(file.toString());
+        TaskList firstList = new TaskList(first.load());
+        first.track(firstList);
+        Storage second = new Storage(file.toString());
+        TaskList secondList = new TaskList(second.load());
+        second.track(secondList);
+
+        firstList.remove(0);
+        first.save(firstList);
+        secondList.remove(0);
+        second.save(secondList);
+
+        List<Task> onDisk = new Storage(file.toString()).load();
+        assertEquals(1, onDisk.size());
+        assertEquals("b", onDisk.get(0).getDescription());
+        assertEquals(1, secondList.size());
+    }
+
+    @Test
+    void archive_writesSegmentsSearchableButNotLoaded() throws Exception {
+        Path file = tempDir.resolve("data.txt");
+        Storage storage = new Storage(file.toString());
+        Todo oldReport = new Todo("old report");
+        oldReport.setDone(true);
+        Deadline oldDeadline = new Deadline("tax return", LocalDateTime.of(2020, 4, 15, 0, 0));
+        oldDeadline.setDone(true);
+        storage.archive(List.of(oldReport));
+        storage.archive(List.of(oldDeadline));
+        TaskList list = new TaskList();
+        list.add(new Todo("new report"));
+        storage.save(list);
+
+        assertEquals(2, java.nio.file.Files.list(tempDir.resolve("archive"))
+                .filter(segment -> segment.toString().endsWith(".gz")).count());
+        assertEquals(1, storage.load().size());
+        List<Task> reports = storage.findArchived("REPORT");
+        assertEquals(1, reports.size());
+        assertEquals("old report", reports.get(0).getDescription());
+        assertTrue(reports.get(0).isDone());
+        assertEquals(1, storage.findArchived("apr 15 2020").size());
+        assertTrue(storage.findArchived("nothing").isEmpty());
+    }
+
+    @Test
+    void findArchived_noArchive_returnsEmpty() throws Exception {
+        Storage storage = new Storage(tempDir.resolve("data.txt").toString());
+
+        assertTrue(storage.findArchived("anything").isEmpty());
+    }
+
+    @Test
+    void findArchived_filterRulesOutSegment_doesNotOpenIt() throws Exception {
+        Path file = tempDir.resolve("data.txt");
+        Storage storage = new Storage(file.toString());
+        storage.archive(List.of(new Todo("water the plants")));
+        storage.archive(List.of(new Todo("file taxes")));
+        // Corrupt the first segment: reading it would now fail.
+        java.nio.file.Files.writeString(tempDir.resolve("archive").resolve("segment-000001.gz"), "not gzip");
+
+        List<Task> found = storage.findArchived("taxes");
+
+        assertEquals(1, found.size());
+        assertEquals("file taxes", found.get(0).getDescription());
+        assertTrue(storage.findArchived("no such words").isEmpty());
+        assertThrows(java.io.IOException.class, () -> storage.findArchived("plants"));
+    }
+
+    @Test
+    void saveAndLoad_recurringDeadline_storesOneLineWithRule() throws Exception {
+        Path file = tempDir.resolve("data.txt");
+        Storage storage = new Storage(file.toString());
+        TaskList list = new TaskList();
+        list.add(new Deadline("standup", LocalDateTime.of(2026, 10, 19, 9, 0), Recurrence.WEEKDAY));
+        storage.save(list);
+
+        List<Task> loaded = storage.load();
+
+        assertEquals(1, Files.readAllLines(file).stream().filter(line -> line.startsWith("D")).count());
+        assertEquals(1, loaded.size());
+        assertEquals(Recurrence.WEEKDAY, ((Deadline) loaded.get(0)).getRecurrence());
+        assertEquals(LocalDateTime.of(2026, 10, 19, 9, 0), ((Deadline) loaded.get(0)).getBy());
+    }
+
+    @Test
+    void saveAndLoad_labels_roundTrip() throws Exception {
+        Path file = tempDir.resolve("data.txt");
+        Storage storage = new Storage(file.toString());
+        Todo todo = new Todo("report");
+        todo.setLabels("#work #q3 !high");
+        Deadline standup = new Deadline("standup", LocalDateTime.of(2026, 10, 19, 9, 0), Recurrence.WEEKDAY);
+        standup.setLabels("!low");
+        TaskList list = new TaskList(List.of(todo, standup));
+        storage.save(list);
+
+        List<Task> loaded = storage.load();
+
+        assertEquals("#work #q3 !high", loaded.get(0).getLabels());
+        assertEquals("!low", loaded.get(1).getLabels());
+        assertEquals(Recurrence.WEEKDAY, ((Deadline) loaded.get(1)).getRecurrence());
+    }
 }
@@ -0,0 +1,134 @@
+package spot.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import spot.task.Deadline;
+import spot.task.Event;
+import spot.task.Task;
+import spot.task.TaskList;
+import spot.task.Todo;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link TaskImporter} and {@link TaskExporter}.
+ */
+class TaskImporterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static List<Task> sampleTasks() {
+        Todo todo = new Todo("buy milk, eggs and \"bread\"");
+        todo.setDone(true);
+        Deadline deadline = new Deadline("submit, report", LocalDateTime.of(2025, 2, 1, 14, 30));
+        Event event = new Event("meeting", "Mon 2pm", "3pm");
+        return List.of(todo, deadline, event);
+    }
+
+    private static void assertSameTasks(List<Task> expected, TaskList actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Task want = expected.get(i);
+            Task got = actual.get(i);
+            assertEquals(want.getClass(), got.getClass());
+            assertEquals(want.getDisplayString(), got.getDisplayString());
+            assertEquals(want.isDone(), got.isDone());
+        }
+    }
+
+    @Test
+    void exportThenImport_csv_roundTrips() throws IOException {
+        Path file = tempDir.resolve("tasks.csv");
+        assertEquals(3, TaskExporter.export(file, sampleTasks()));
+
+        TaskList imported = new TaskList();
+        TaskImporter.Result result = TaskImporter.importInto(file, imported);
+        assertEquals(3, result.imported());
+        assertEquals(0, result.skipped());
+        assertNull(result.error());
+        assertSameTasks(sampleTasks(), imported);
+    }
+
+    @Test
+    void exportThenImport_json_roundTrips() throws IOException {
+        Path file = tempDir.resolve("tasks.json");
+        assertEquals(3, TaskExporter.export(file, sampleTasks()));
+
+        TaskList imported = new TaskList();
+        TaskImporter.Result result = TaskImporter.importInto(file, imported);
+        assertEquals(3, result.imported());
+        assertSameTasks(sampleTasks(), imported);
+    }
+
+    @Test
+    void importInto_csvWithInvalidRows_skipsThem() throws IOException {
+        Path file = tempDir.resolve("tasks.csv");
+        Files.writeString(file, "description,type,by\n"
+                + "read book,todo,\n"
+                + ",todo,\n"
+                + "submit,deadline,not-a-date\n"
+                + "submit,deadline,2025-02-01\n");
+
+        TaskList imported = new TaskList();
+        TaskImporter.Result result = TaskImporter.importInto(file, imported);
+        assertEquals(2, result.imported());
+        assertEquals(2, result.skipped());
+        assertEquals("read book", imported.get(0).getDescription());
+        assertEquals(LocalDateTime.of(2025, 2, 1, 0, 0), ((Deadline) imported.get(1)).getBy());
+    }
+
+    @Test
+    void importInto_lineBreaksInDescription_flattenedToSpaces() throws IOException {
+        Path file = tempDir.resolve("tasks.csv");
+        Files.writeString(file, "type,description\ntodo,\"two\nlines\"\n");
+
+        TaskList imported = new TaskList();
+        TaskImporter.importInto(file, imported);
+        assertEquals("two lines", imported.get(0).getDescription());
+    }
+
+    @Test
+    void importInto_storageDelimiterInFields_survivesSaveAndReload() throws IOException {
+        Path file = tempDir.resolve("tasks.csv");
+        Files.writeString(file, "type,description,from,to\n"
+                + "todo,Q3 | budget | | review,,\n"
+                + "event,sync | planning,Mon | 2pm,3pm\n");
+        TaskList imported = new TaskList();
+        TaskImporter.importInto(file, imported);
+
+        Path data = tempDir.resolve("spot.txt");
+        new Storage(data.toString()).save(imported);
+        List<Task> reloaded = new Storage(data.toString()).load();
+
+        assertEquals(2, reloaded.size());
+        assertEquals("Q3 / budget / / review", reloaded.get(0).getDescription());
+        assertEquals("", reloaded.get(0).getLabels());
+        Event event = (Event) reloaded.get(1);
+        assertEquals("sync / planning", event.getDescription());
+        assertEquals("Mon / 2pm", event.getFrom());
+    }
+
+    @Test
+    void importInto_malformedJson_keepsRecordsBeforeError() throws IOException {
+        Path file = tempDir.resolve("tasks.json");
+        Files.writeString(file, "[{\"type\": \"todo\", \"description\": \"a\", \"done\": true}, {\"type\": ");
+
+        TaskList imported = new TaskList();
+        TaskImporter.Result result = TaskImporter.importInto(file, imported);
+        assertEquals(1, result.imported());
+        assertTrue(imported.get(0).isDone());
+        assertNotNull(result.error());
+    }
+
+    @Test
+    void importInto_unsupportedExtension_throws() {
+        assertThrows(IOException.class, () -> TaskImporter.importInto(tempDir.resolve("x.txt"), new TaskList()));
+    }
+}
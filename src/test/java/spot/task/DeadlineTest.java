@@ -2,6 +2,7 @@ package spot.task;
 
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 
@@ -56,4 +57,68 @@ class DeadlineTest {
         d.setDone(true);
         assertTrue(d.isDone());
     }
+
+    @Test
+    void getBy_preEpochDate_roundTrips() {
+        LocalDateTime by = LocalDateTime.of(1969, 12, 31, 23, 59);
+        assertEquals(by, new Deadline("old", by).getBy());
+    }
+
+    @Test
+    void getBy_dropsSeconds() {
+        Deadline d = new Deadline("x", LocalDateTime.of(2025, 2, 1, 14, 30, 45));
+        assertEquals(LocalDateTime.of(2025, 2, 1, 14, 30), d.getBy());
+    }
+
+    @Test
+    void setDone_keepsPackedKind() {
+        Deadline d = new Deadline("x", LocalDateTime.of(2025, 2, 1, 14, 30));
+        d.setDone(true);
+        assertTrue(d.isDone());
+        assertEquals(Task.KIND_DEADLINE, d.kind());
+        d.setDone(false);
+        assertFalse(d.isDone());
+        assertEquals(Task.KIND_DEADLINE, d.kind());
+    }
+
+    @Test
+    void isDueOn_weekdaySeries_skipsWeekendsAndDatesBeforeStart() {
+        // 2026-10-19 is a Monday.
+        Deadline standup = new Deadline("standup", LocalDateTime.of(2026, 10, 19, 9, 0), Recurrence.WEEKDAY);
+
+        assertTrue(standup.isDueOn(LocalDate.of(2026, 10, 19)));
+        assertTrue(standup.isDueOn(LocalDate.of(2031, 3, 14)));
+        assertFalse(standup.isDueOn(LocalDate.of(2026, 10, 24)));
+        assertFalse(standup.isDueOn(LocalDate.of(2026, 10, 16)));
+    }
+
+    @Test
+    void isDueOn_monthlySeriesOn31st_fallsOnLastDayOfShorterMonths() {
+        Deadline rent = new Deadline("rent", LocalDateTime.of(2025, 1, 31, 0, 0), Recurrence.MONTH);
+
+        assertTrue(rent.isDueOn(LocalDate.of(2025, 2, 28)));
+        assertTrue(rent.isDueOn(LocalDate.of(2025, 3, 31)));
+        assertFalse(rent.isDueOn(LocalDate.of(2025, 3, 28)));
+    }
+
+    @Test
+    void nextDueAtOrAfter_weeklySeries_returnsNextOccurrenceAtSameTime() {
+        Deadline review = new Deadline("review", LocalDateTime.of(2025, 1, 6, 14, 0), Recurrence.WEEK);
+
+        assertEquals(LocalDateTime.of(2025, 1, 13, 14, 0), review.nextDueAtOrAfter(LocalDateTime.of(2025, 1, 7, 0, 0)));
+        assertEquals(LocalDateTime.of(2025, 1, 20, 14, 0),
+                review.nextDueAtOrAfter(LocalDateTime.of(2025, 1, 13, 14, 1)));
+    }
+
+    @Test
+    void nextDueAtOrAfter_pastOneOff_returnsNull() {
+        Deadline d = new Deadline("x", LocalDateTime.of(2025, 2, 1, 14, 30));
+        assertNull(d.nextDueAtOrAfter(LocalDateTime.of(2025, 2, 2, 0, 0)));
+    }
+
+    @Test
+    void getDisplayString_recurring_showsRule() {
+        Deadline d = new Deadline("standup", LocalDate.of(2026, 10, 19).atStartOfDay(), Recurrence.WEEKDAY);
+        assertTrue(d.getDisplayString().endsWith(", every weekday)"));
+    }
 }
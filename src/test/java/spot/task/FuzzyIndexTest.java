@@ -0,0 +1,62 @@
+package spot.task;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link FuzzyIndex}.
+ */
+class FuzzyIndexTest {
+
+    @Test
+    void editDistance_countsInsertionsDeletionsAndSubstitutions() {
+        assertEquals(0, FuzzyIndex.editDistance("book", "book"));
+        assertEquals(1, FuzzyIndex.editDistance("book", "bok"));
+        assertEquals(1, FuzzyIndex.editDistance("book", "books"));
+        assertEquals(1, FuzzyIndex.editDistance("book", "look"));
+        assertEquals(3, FuzzyIndex.editDistance("kitten", "sitting"));
+        assertEquals(4, FuzzyIndex.editDistance("", "milk"));
+    }
+
+    @Test
+    void tokenize_splitsOnNonAlphanumericsAndLowercases() {
+        assertEquals(List.of("submit", "cs2103", "report"), FuzzyIndex.tokenize("Submit CS2103-report!"));
+    }
+
+    @Test
+    void search_afterManyRemovals_stillFindsLiveWords() {
+        FuzzyIndex index = new FuzzyIndex();
+        Todo keep = new Todo("keeper");
+        index.add(keep);
+        for (int i = 0; i < 3000; i++) {
+            Todo temporary = new Todo("word" + i);
+            index.add(temporary);
+            index.remove(temporary);
+        }
+        assertEquals(List.of(keep), index.search("keper", 5));
+        assertTrue(index.search("word1", 5).isEmpty());
+    }
+
+    @Test
+    void search_limitBelowMatches_keepsBestRanked() {
+        FuzzyIndex index = new FuzzyIndex();
+        Todo milkOnly = indexed(index, "milk", 0);
+        Todo typo = indexed(index, "buy mild", 1);
+        Todo laterExact = indexed(index, "buy milk today", 2);
+        Todo exact = indexed(index, "buy milk", 3);
+
+        assertEquals(List.of(laterExact, exact, typo), index.search("buy milk", 3));
+        assertEquals(List.of(laterExact), index.search("buy milk", 1));
+        assertEquals(List.of(laterExact, exact, typo, milkOnly), index.search("buy milk", 10));
+    }
+
+    private static Todo indexed(FuzzyIndex index, String description, long sequence) {
+        Todo todo = new Todo(description);
+        todo.sequence = sequence;
+        index.add(todo);
+        return todo;
+    }
+}
@@ -0,0 +1,48 @@
+package spot.task;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link QueryCache}.
+ */
+class QueryCacheTest {
+
+    @Test
+    void get_sameGeneration_hits() {
+        QueryCache cache = new QueryCache(4);
+        List<Task> result = List.of(new Todo("x"));
+        assertSame(result, cache.get("k", 1, () -> result));
+        assertSame(result, cache.get("k", 1, () -> fail("should not recompute")));
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+    }
+
+    @Test
+    void get_newerGeneration_recomputes() {
+        QueryCache cache = new QueryCache(4);
+        cache.get("k", 1, List::of);
+        List<Task> fresh = List.of(new Todo("y"));
+        assertSame(fresh, cache.get("k", 2, () -> fresh));
+        assertEquals(2, cache.misses());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void get_overCapacity_evictsLeastRecentlyUsed() {
+        QueryCache cache = new QueryCache(2);
+        cache.get("a", 0, List::of);
+        cache.get("b", 0, List::of);
+        cache.get("a", 0, List::of);
+        cache.get("c", 0, List::of);
+
+        assertEquals(2, cache.size());
+        cache.get("a", 0, List::of);
+        assertEquals(2, cache.hits());
+        cache.get("b", 0, List::of);
+        assertEquals(4, cache.misses());
+    }
+}
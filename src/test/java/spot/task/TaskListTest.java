@@ -4,7 +4,9 @@ import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -12,6 +14,8 @@ import static org.junit.jupiter.api.Assertions.*;
  * Tests for {@link TaskList}.
  */
 class TaskListTest {
+    /** Before every fixed deadline in these tests, so only recurring deadlines are re-ranked. */
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 0, 0);
 
     @Test
     void constructor_default_createsEmptyList() {
@@ -140,4 +144,416 @@ class TaskListTest {
         assertTrue(onDate.contains(d1));
         assertTrue(onDate.contains(d2));
     }
+
+    @Test
+    void sortedByDeadline_ordersDeadlinesFirstByDueDate() {
+        Todo todo = new Todo("todo");
+        Deadline later = new Deadline("later", LocalDateTime.of(2025, 3, 1, 0, 0));
+        Deadline sooner = new Deadline("sooner", LocalDateTime.of(2025, 2, 1, 0, 0));
+        TaskList list = new TaskList(List.of(todo, later, sooner));
+
+        assertEquals(List.of(sooner, later, todo), List.copyOf(list.sortedByDeadline(NOW)));
+    }
+
+    @Test
+    void sortedByDeadline_afterRemove_dropsTask() {
+        Deadline d = new Deadline("d", LocalDateTime.of(2025, 2, 1, 0, 0));
+        Todo todo = new Todo("todo");
+        TaskList list = new TaskList(List.of(d, todo));
+        list.remove(0);
+
+        assertEquals(List.of(todo), List.copyOf(list.sortedByDeadline(NOW)));
+    }
+
+    @Test
+    void sortedByStatus_followsMarking() {
+        Todo first = new Todo("first");
+        Todo second = new Todo("second");
+        Todo third = new Todo("third");
+        TaskList list = new TaskList(List.of(first, second, third));
+
+        first.setDone(true);
+        assertEquals(List.of(second, third, first), List.copyOf(list.sortedByStatus()));
+
+        first.setDone(false);
+        third.setDone(true);
+        assertEquals(List.of(first, second, third), List.copyOf(list.sortedByStatus()));
+    }
+
+    @Test
+    void sortedByStatus_isUnmodifiable() {
+        TaskList list = new TaskList(List.of(new Todo("x")));
+        assertThrows(UnsupportedOperationException.class, () -> list.sortedByStatus().clear());
+    }
+
+    @Test
+    void fuzzyFind_toleratesTypos_andRanksCloserMatchesFirst() {
+        Todo book = new Todo("read book");
+        Todo books = new Todo("return books");
+        Todo milk = new Todo("buy milk");
+        TaskList list = new TaskList(List.of(book, books, milk));
+
+        List<Task> results = list.fuzzyFind("retrn bookz", 10);
+        assertEquals(List.of(books, book), results);
+        assertEquals(List.of(milk), list.fuzzyFind("mlk", 10));
+    }
+
+    @Test
+    void fuzzyFind_respectsLimitAndRemovals() {
+        TaskList list = new TaskList(List.of(new Todo("meeting"), new Todo("meting"), new Todo("meetings")));
+        assertEquals(2, list.fuzzyFind("meeting", 2).size());
+
+        list.remove(0);
+        List<Task> results = list.fuzzyFind("meeting", 10);
+        assertEquals(2, results.size());
+        assertEquals("meting", results.get(0).getDescription());
+    }
+
+    @Test
+    void fuzzyFind_blankQuery_returnsEmpty() {
+        TaskList list = new TaskList(List.of(new Todo("a")));
+        assertTrue(list.fuzzyFind(" ", 5).isEmpty());
+    }
+
+    @Test
+    void findTasks_repeatedQuery_servedFromCache() {
+        TaskList list = new TaskList(List.of(new Todo("read book"), new Todo("buy milk")));
+        List<Task> first = list.findTasks("BOOK");
+        List<Task> second = list.findTasks("book");
+
+        assertSame(first, second);
+        assertEquals(1, list.queryCache().hits());
+        assertEquals(1, list.queryCache().misses());
+    }
+
+    @Test
+    void queryCache_invalidatedByAddRemoveAndMark() {
+        LocalDate date = LocalDate.of(2025, 2, 1);
+        Deadline deadline = new Deadline("submit", date.atStartOfDay());
+        TaskList list = new TaskList(List.of(deadline));
+        assertEquals(1, list.getDeadlinesOn(date).size());
+
+        list.add(new Deadline("second", date.atTime(9, 0)));
+        assertEquals(2, list.getDeadlinesOn(date).size());
+
+        deadline.setDone(true);
+        list.getDeadlinesOn(date);
+        list.remove(1);
+        assertEquals(List.of(deadline), list.getDeadlinesOn(date));
+
+        assertEquals(0, list.queryCache().hits());
+        assertEquals(4, list.queryCache().misses());
+    }
+
+    @Test
+    void replaceRange_splicesTasksAndUpdatesViews() {
+        Todo first = new Todo("first");
+        Todo last = new Todo("last");
+        Deadline old = new Deadline("old", LocalDateTime.of(2025, 1, 1, 0, 0));
+        TaskList list = new TaskList(List.of(first, old, new Todo("middle"), last));
+        Deadline replacement = new Deadline("new", LocalDateTime.of(2025, 3, 1, 0, 0));
+
+        list.replaceRange(1, 3, List.of(replacement, new Todo("extra")));
+
+        assertEquals(4, list.size());
+        assertSame(first, list.get(0));
+        assertSame(replacement, list.get(1));
+        assertEquals("extra", list.get(2).getDescription());
+        assertSame(last, list.get(3));
+        assertSame(replacement, list.sortedByDeadline(NOW).iterator().next());
+        assertTrue(list.findTasks("old").isEmpty());
+        assertEquals(1, list.fuzzyFind("extra", 5).size());
+    }
+
+    @Test
+    void removeMatching_removesDoneTasksInOnePass() {
+        Todo open = new Todo("open");
+        Todo done = new Todo("done");
+        done.setDone(true);
+        Todo alsoOpen = new Todo("also open");
+        TaskList list = new TaskList(List.of(open, done, alsoOpen));
+
+        List<Task> removed = list.removeMatching(Task::isDone);
+
+        assertEquals(List.of(done), removed);
+        assertEquals(2, list.size());
+        assertSame(open, list.get(0));
+        assertSame(alsoOpen, list.get(1));
+        assertEquals(2, list.sortedByStatus().size());
+        assertTrue(list.findTasks("done").isEmpty());
+    }
+
+    @Test
+    void indexOf_afterRemovalsAndSplice_matchesListPosition() {
+        TaskList list = new TaskList();
+        for (int i = 0; i < 8; i++) {
+            Todo todo = new Todo("task " + i);
+            todo.setDone(i % 3 == 0);
+            list.add(todo);
+        }
+        Todo removed = (Todo) list.remove(1);
+        list.removeMatching(Task::isDone);
+        list.replaceRange(1, 2, List.of(new Todo("a"), new Todo("b")));
+
+        for (int i = 0; i < list.size(); i++) {
+            assertEquals(i, list.indexOf(list.get(i)));
+        }
+        assertEquals(-1, list.indexOf(removed));
+        assertEquals(-1, list.indexOf(new Todo("elsewhere")));
+    }
+
+    @Test
+    void summary_afterAddMarkAndRemove_countsByKindAndStatus() {
+        TaskList list = new TaskList();
+        Todo todo = new Todo("read");
+        Deadline deadline = new Deadline("report", LocalDateTime.of(2025, 2, 1, 18, 0));
+        list.add(todo);
+        list.add(deadline);
+        list.add(new Event("meeting", "Mon 2pm", "3pm"));
+        todo.setDone(true);
+        list.remove(2);
+
+        TaskSummary summary = list.summary(LocalDateTime.of(2025, 1, 1, 0, 0));
+
+        assertEquals(2, summary.total());
+        assertEquals(1, summary.done());
+        assertEquals(1, summary.open());
+        assertEquals(1, summary.todos());
+        assertEquals(1, summary.doneTodos());
+        assertEquals(1, summary.deadlines());
+        assertEquals(0, summary.events());
+        assertEquals(0, summary.overdue());
+    }
+
+    @Test
+    void summary_timeMovesForwardAndBack_countsOpenOverdueDeadlines() {
+        Deadline early = new Deadline("early", LocalDateTime.of(2025, 1, 10, 9, 0));
+        Deadline late = new Deadline("late", LocalDateTime.of(2025, 3, 1, 9, 0));
+        TaskList list = new TaskList(List.of(early, late));
+
+        assertEquals(1, list.summary(LocalDateTime.of(2025, 2, 1, 0, 0)).overdue());
+        assertEquals(2, list.summary(LocalDateTime.of(2025, 4, 1, 0, 0)).overdue());
+        early.setDone(true);
+        assertEquals(1, list.summary(LocalDateTime.of(2025, 4, 1, 0, 0)).overdue());
+        list.add(new Deadline("older", LocalDateTime.of(2024, 12, 1, 9, 0)));
+        assertEquals(2, list.summary(LocalDateTime.of(2025, 4, 1, 0, 0)).overdue());
+        assertEquals(1, list.summary(LocalDateTime.of(2025, 1, 1, 0, 0)).overdue());
+        assertEquals(1, list.summary(LocalDateTime.of(2025, 3, 1, 9, 0)).overdue());
+    }
+
+    @Test
+    void getDeadlinesOn_recurringSeries_matchesOccurrencesByTimeOfDay() {
+        LocalDate target = LocalDate.of(2027, 6, 2);
+        Deadline standup = new Deadline("standup", LocalDateTime.of(2026, 10, 19, 9, 0), Recurrence.WEEKDAY);
+        Deadline report = new Deadline("report", target.atTime(8, 0));
+        Deadline review = new Deadline("review", LocalDateTime.of(2026, 10, 20, 17, 0), Recurrence.WEEK);
+        TaskList list = new TaskList(List.of(standup, report, review));
+
+        assertEquals(List.of(report, standup), list.getDeadlinesOn(target));
+        assertEquals(List.of(standup, review), list.getDeadlinesOn(LocalDate.of(2026, 10, 27)));
+        assertEquals(List.of(), list.getDeadlinesOn(LocalDate.of(2026, 10, 31)));
+    }
+
+    @Test
+    void summary_recurringSeriesPastFirstDate_notOverdue() {
+        Deadline standup = new Deadline("standup", LocalDateTime.of(2025, 1, 6, 9, 0), Recurrence.DAY);
+        TaskList list = new TaskList(List.of(standup));
+
+        TaskSummary summary = list.summary(LocalDateTime.of(2025, 4, 1, 0, 0));
+
+        assertEquals(1, summary.deadlines());
+        assertEquals(0, summary.overdue());
+    }
+
+    private static Todo labelled(String description, String labels) {
+        Todo todo = new Todo(description);
+        todo.setLabels(labels);
+        return todo;
+    }
+
+    @Test
+    void findTasks_labelQuery_combinesTagsPriorityAndStatus() {
+        Todo report = labelled("report", "#work !high");
+        Todo slides = labelled("slides", "#work !low");
+        Todo groceries = labelled("groceries", "#home !high");
+        Todo plants = labelled("water plants", "#home");
+        TaskList list = new TaskList(List.of(report, slides, groceries, plants));
+        report.setDone(true);
+
+        assertEquals(List.of(report, slides), list.findTasks("#WORK"));
+        assertEquals(List.of(groceries), list.findTasks("#work|#home !high undone"));
+        assertEquals(List.of(report), list.findTasks("!high done"));
+        assertEquals(List.of(plants), list.findTasks("#home plants"));
+        assertEquals(List.of(), list.findTasks("#missing"));
+    }
+
+    @Test
+    void findTasks_labelQueryAfterRemoveAndAdd_reusesSlots() {
+        Todo first = labelled("first", "#work");
+        Todo second = labelled("second", "#home");
+        TaskList list = new TaskList(List.of(first, second));
+
+        list.remove(0);
+        Todo third = labelled("third", "#home");
+        list.add(third);
+
+        assertEquals(List.of(), list.findTasks("#work"));
+        assertEquals(List.of(second, third), list.findTasks("#home"));
+    }
+
+    @Test
+    void setLabels_taskInList_reindexesTagsAndUrgency() {
+        Todo first = new Todo("first");
+        Todo second = labelled("second", "#work");
+        TaskList list = new TaskList(List.of(first, second));
+        assertEquals(List.of(first, second), list.next(2, NOW));
+
+        first.setLabels("#work #home !high");
+        second.setTags(List.of("home"));
+
+        assertEquals(List.of(first), list.findTasks("#work"));
+        assertEquals(List.of(first, second), list.findTasks("#home"));
+        assertEquals(List.of(first), list.findTasks("!high"));
+        second.setPriority(Priority.HIGH);
+        first.setLabels("");
+        assertEquals(List.of(second, first), list.next(2, NOW));
+        assertEquals(List.of(), list.findTasks("#work"));
+    }
+
+    @Test
+    void next_ordersDeadlinesThenPriorityAndSkipsDone() {
+        Deadline later = new Deadline("later", LocalDateTime.of(2025, 3, 1, 9, 0));
+        Deadline sooner = new Deadline("sooner", LocalDateTime.of(2025, 2, 1, 9, 0));
+        Todo plain = new Todo("plain");
+        Todo urgent = labelled("urgent", "!high");
+        Todo done = labelled("done", "!high");
+        done.setDone(true);
+        TaskList list = new TaskList(List.of(later, plain, sooner, urgent, done));
+
+        assertEquals(List.of(sooner, later, urgent, plain), list.next(10, NOW));
+        assertEquals(List.of(sooner, later), list.next(2, NOW));
+    }
+
+    @Test
+    void next_afterMarkUnmarkAndRemove_followsChanges() {
+        Deadline first = new Deadline("first", LocalDateTime.of(2025, 2, 1, 9, 0));
+        Deadline second = new Deadline("second", LocalDateTime.of(2025, 2, 2, 9, 0));
+        Todo todo = new Todo("todo");
+        TaskList list = new TaskList(List.of(first, second, todo));
+
+        first.setDone(true);
+        assertEquals(List.of(second, todo), list.next(5, NOW));
+        list.remove(1);
+        assertEquals(List.of(todo), list.next(5, NOW));
+        first.setDone(false);
+        assertEquals(List.of(first, todo), list.next(5, NOW));
+    }
+
+    @Test
+    void next_randomChanges_matchesSortedOpenTasks() {
+        Random random = new Random(3);
+        TaskList list = new TaskList();
+        for (int step = 0; step < 2_000; step++) {
+            int action = random.nextInt(4);
+            if (action == 0 || list.isEmpty()) {
+                list.add(new Deadline("d" + step, LocalDateTime.of(2025, 1, 1, 0, 0).plusHours(random.nextInt(500))));
+            } else if (action == 1) {
+                list.add(labelled("t" + step, random.nextBoolean() ? "!high" : "!low"));
+            } else if (action == 2) {
+                Task task = list.get(random.nextInt(list.size()));
+                task.setDone(!task.isDone());
+            } else {
+                list.remove(random.nextInt(list.size()));
+            }
+        }
+
+        List<Task> expected = list.asUnmodifiableList().stream()
+                .filter(task -> !task.isDone())
+                .sorted(Comparator
+                        .comparingLong((Task task) -> task instanceof Deadline deadline
+                                ? deadline.byEpochMinute() : Long.MAX_VALUE)
+                        .thenComparing(task -> task.getPriority() != Priority.HIGH)
+                        .thenComparingLong(task -> task.sequence))
+                .limit(50)
+                .toList();
+        assertEquals(expected, list.next(50, NOW));
+    }
+
+    @Test
+    void limitDescriptionMemory_manyTasks_staysWithinBudget() throws Exception {
+        TaskList list = new TaskList();
+        list.limitDescriptionMemory(16_384);
+        for (int i = 0; i < 5_000; i++) {
+            list.add(new Todo("task number " + i + " with a fairly long description"));
+            assertTrue(list.descriptionBytesInMemory() <= 16_384);
+        }
+        for (int i = 0; i < 5_000; i += 7) {
+            list.findTasks("number " + i + " ");
+            assertTrue(list.descriptionBytesInMemory() <= 16_384);
+        }
+    }
+
+    @Test
+    void limitDescriptionMemory_spilledDescriptions_readBackForFindAndRemove() throws Exception {
+        TaskList list = new TaskList();
+        list.limitDescriptionMemory(4_096);
+        for (int i = 0; i < 1_000; i++) {
+            list.add(new Todo("item " + i));
+        }
+
+        assertEquals("item 3", list.get(3).getDescription());
+        assertEquals(List.of(list.get(999)), list.findTasks("item 999"));
+        assertEquals(List.of(list.get(0)), list.fuzzyFind("item 0", 1));
+        Task removed = list.remove(5);
+        assertEquals("item 5", removed.getDescription());
+        assertEquals("item 6", list.get(5).getDescription());
+    }
+
+    @Test
+    void peekDescription_spilledDescriptions_bypassesReadBackCache() throws Exception {
+        TaskList list = new TaskList();
+        list.limitDescriptionMemory(4_096);
+        for (int i = 0; i < 1_000; i++) {
+            list.add(new Todo("item " + i));
+        }
+        long before = list.descriptionBytesInMemory();
+
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals("item " + i, list.get(i).peekDescription());
+        }
+        assertEquals(before, list.descriptionBytesInMemory());
+    }
+
+    @Test
+    void limitDescriptionMemory_overBudget_spillsDoneTasksFirst() throws Exception {
+        TaskList list = new TaskList();
+        for (int i = 0; i < 200; i++) {
+            Todo todo = new Todo(String.format("task %03d", i));
+            todo.setDone(i % 2 == 0);
+            list.add(todo);
+        }
+        // 100 open descriptions of 48 estimated bytes fit in 90% of the 7/8 of this budget not used for caching.
+        list.limitDescriptionMemory(6_126);
+
+        for (Task task : list.asUnmodifiableList()) {
+            assertEquals(task.isDone(), task.heldDescription() == null, task.getDescription());
+        }
+    }
+
+    @Test
+    void next_oldWeeklySeries_ranksByNextOccurrence() {
+        Deadline weekly = new Deadline("standup", LocalDateTime.of(2020, 1, 6, 9, 0), Recurrence.WEEK);
+        Deadline soon = new Deadline("soon", LocalDateTime.of(2026, 10, 20, 12, 0));
+        Deadline farther = new Deadline("farther", LocalDateTime.of(2026, 10, 30, 12, 0));
+        TaskList list = new TaskList(List.of(weekly, soon, farther));
+        LocalDateTime now = LocalDateTime.of(2026, 10, 19, 10, 0);
+
+        // 2020-01-06 was a Monday, so the next occurrence after Monday 2026-10-19 10:00 is 2026-10-26 09:00.
+        assertEquals(List.of(soon, weekly, farther), list.next(3, now));
+        assertEquals(List.of(soon, weekly, farther), List.copyOf(list.sortedByDeadline(now)));
+        // Once that occurrence passes, the series moves behind the deadline on 2026-10-30.
+        LocalDateTime weekLater = now.plusWeeks(1);
+        assertEquals(List.of(soon, farther, weekly), list.next(3, weekLater));
+        assertEquals(List.of(soon, farther, weekly), List.copyOf(list.sortedByDeadline(weekLater)));
+    }
 }
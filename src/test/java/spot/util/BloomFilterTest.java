@@ -0,0 +1,61 @@
+package spot.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link BloomFilter}.
+ */
+class BloomFilterTest {
+
+    @Test
+    void mightContain_addedKeys_alwaysTrue() {
+        BloomFilter filter = new BloomFilter(1000);
+        for (long key = 0; key < 1000; key++) {
+            filter.add(key * 7919);
+        }
+        for (long key = 0; key < 1000; key++) {
+            assertTrue(filter.mightContain(key * 7919));
+        }
+    }
+
+    @Test
+    void mightContain_absentKeys_rarelyTrue() {
+        BloomFilter filter = new BloomFilter(1000);
+        for (long key = 0; key < 1000; key++) {
+            filter.add(key);
+        }
+        int falsePositives = 0;
+        for (long key = 1_000_000; key < 1_010_000; key++) {
+            falsePositives += filter.mightContain(key) ? 1 : 0;
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void writeToAndReadFrom_roundTrips() throws IOException {
+        BloomFilter filter = new BloomFilter(10);
+        filter.add(42);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        filter.writeTo(new DataOutputStream(bytes));
+
+        BloomFilter read = BloomFilter.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertTrue(read.mightContain(42));
+        assertFalse(read.mightContain(43));
+    }
+
+    @Test
+    void readFrom_garbage_throws() {
+        byte[] garbage = { 0, 0, 0, 0, 1, 2, 3, 4 };
+        assertThrows(IOException.class,
+                () -> BloomFilter.readFrom(new DataInputStream(new ByteArrayInputStream(garbage))));
+    }
+}
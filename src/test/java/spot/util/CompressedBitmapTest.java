@@ -0,0 +1,100 @@
+package spot.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link CompressedBitmap}.
+ */
+class CompressedBitmapTest {
+
+    private static CompressedBitmap randomBitmap(Random random, BitSet expected, int count, int range) {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int i = 0; i < count; i++) {
+            int value = random.nextInt(range);
+            bitmap.add(value);
+            expected.set(value);
+        }
+        return bitmap;
+    }
+
+    private static List<Integer> values(CompressedBitmap bitmap) {
+        List<Integer> values = new ArrayList<>();
+        bitmap.forEach(values::add);
+        return values;
+    }
+
+    private static List<Integer> values(BitSet bits) {
+        List<Integer> values = new ArrayList<>();
+        bits.stream().forEach(values::add);
+        return values;
+    }
+
+    @Test
+    void addRemove_acrossDenseChunk_keepsValuesAndCardinality() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int value = 0; value < 10_000; value++) {
+            assertTrue(bitmap.add(value * 3));
+        }
+        assertFalse(bitmap.add(30));
+        assertEquals(10_000, bitmap.cardinality());
+        assertTrue(bitmap.contains(29_997));
+        assertFalse(bitmap.contains(29_998));
+
+        for (int value = 0; value < 9_000; value++) {
+            assertTrue(bitmap.remove(value * 3));
+        }
+        assertFalse(bitmap.remove(0));
+        assertEquals(1_000, bitmap.cardinality());
+        assertEquals(27_000, (int) values(bitmap).get(0));
+    }
+
+    @Test
+    void andOrAndNot_randomSets_matchBitSet() {
+        Random random = new Random(7);
+        BitSet left = new BitSet();
+        BitSet right = new BitSet();
+        // Mix of sparse and dense chunks on both sides.
+        CompressedBitmap a = randomBitmap(random, left, 20_000, 300_000);
+        CompressedBitmap b = randomBitmap(random, right, 3_000, 300_000);
+        for (int value = 131_072; value < 140_000; value++) {
+            b.add(value);
+            right.set(value);
+        }
+
+        BitSet and = (BitSet) left.clone();
+        and.and(right);
+        BitSet or = (BitSet) left.clone();
+        or.or(right);
+        BitSet andNot = (BitSet) left.clone();
+        andNot.andNot(right);
+
+        assertEquals(values(and), values(a.and(b)));
+        assertEquals(values(or), values(a.or(b)));
+        assertEquals(values(andNot), values(a.andNot(b)));
+        assertEquals(or.cardinality(), a.or(b).cardinality());
+        assertEquals(values(left), values(a));
+    }
+
+    @Test
+    void sizeInBytes_sparseValuesOverMillionSlots_staysSmall() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int value = 0; value < 1_000_000; value += 1_000) {
+            bitmap.add(value);
+        }
+
+        // 1000 values: a few bytes each plus per-chunk overhead, versus 125 KB for a flat bitmap.
+        assertTrue(bitmap.sizeInBytes() < 8_192, "size: " + bitmap.sizeInBytes());
+    }
+
+    @Test
+    void add_negativeValue_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new CompressedBitmap().add(-1));
+    }
+}
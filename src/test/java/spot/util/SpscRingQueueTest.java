@@ -0,0 +1,51 @@
+package spot.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link SpscRingQueue}.
+ */
+class SpscRingQueueTest {
+
+    @Test
+    void offer_beyondCapacity_returnsFalseUntilPolled() {
+        SpscRingQueue<String> queue = new SpscRingQueue<>(3);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer("item" + i));
+        }
+        assertFalse(queue.offer("overflow"));
+        assertEquals("item0", queue.poll());
+        assertTrue(queue.offer("overflow"));
+    }
+
+    @Test
+    void poll_emptyQueue_returnsNull() {
+        SpscRingQueue<String> queue = new SpscRingQueue<>(4);
+
+        assertNull(queue.poll());
+        queue.put("only");
+        assertEquals("only", queue.take());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    void putAndTake_acrossThreads_preservesOrder() throws InterruptedException {
+        SpscRingQueue<Integer> queue = new SpscRingQueue<>(8);
+        int count = 100_000;
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < count; i++) {
+                queue.put(i);
+            }
+        });
+        producer.start();
+
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, (int) queue.take());
+        }
+        producer.join();
+        assertNull(queue.poll());
+    }
+}
@@ -0,0 +1,46 @@
+package spot.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link StringPool}.
+ */
+class StringPoolTest {
+
+    @Test
+    void intern_equalStrings_returnsFirstInstance() {
+        StringPool pool = new StringPool(4);
+        String first = new String("Mon 2pm");
+        String second = new String("Mon 2pm");
+
+        assertSame(first, pool.intern(first));
+        assertSame(first, pool.intern(second));
+        assertEquals(1, pool.hits());
+        assertTrue(pool.savedBytes() > 0);
+    }
+
+    @Test
+    void intern_sameInstanceTwice_isNotCountedAsSaving() {
+        StringPool pool = new StringPool(4);
+        String value = "3pm";
+        pool.intern(value);
+        pool.intern(value);
+        assertEquals(0, pool.hits());
+    }
+
+    @Test
+    void intern_null_returnsNull() {
+        assertNull(new StringPool(4).intern(null));
+    }
+
+    @Test
+    void intern_collidingValues_replaceEachOtherButStayCorrect() {
+        StringPool pool = new StringPool(1);
+        for (int i = 0; i < 100; i++) {
+            String value = "value" + i;
+            assertEquals(value, pool.intern(new String(value)));
+        }
+    }
+}